@@ -0,0 +1,70 @@
+package com.kt.damim.notification.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kt.damim.notification.service.CborPayloadEncoder;
+import com.kt.damim.notification.service.PayloadEncoding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class NotificationResponseSerializationBenchmark {
+
+    private static final String DESTINATION = "/topic/notifications/bench-receiver";
+
+    private ObjectMapper objectMapper;
+    private CborPayloadEncoder cborPayloadEncoder;
+    private NotificationResponse response;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        // Spring Boot 기본 설정과 동일하게 날짜를 ISO 문자열로 직렬화
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cborPayloadEncoder = new CborPayloadEncoder(objectMapper, Jackson2ObjectMapperBuilder.json());
+        response = NotificationResponse.builder()
+                .id(1L)
+                .senderId("bench-sender")
+                .receiverId("bench-receiver")
+                .message("벤치마크 알림 메시지입니다.")
+                .type("MESSAGE")
+                .isRead(false)
+                .createdAt(LocalDateTime.now())
+                .build();
+        json = objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeToJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeToCbor() {
+        return cborPayloadEncoder.encode(response, PayloadEncoding.CBOR);
+    }
+
+    @Benchmark
+    public byte[] serializeToCompactCbor() {
+        return cborPayloadEncoder.encode(response, PayloadEncoding.COMPACT_CBOR);
+    }
+
+    /**
+     * STOMP 경로: 브로커가 만든 JSON 본문을 CBOR 구독용으로 변환하는 추가 비용
+     */
+    @Benchmark
+    public byte[] transcodeJsonToCompactCbor() {
+        return cborPayloadEncoder.transcode(json, DESTINATION, PayloadEncoding.COMPACT_CBOR);
+    }
+}
@@ -0,0 +1,60 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.BenchmarkContext;
+import com.kt.damim.notification.dto.NotificationRequest;
+import com.kt.damim.notification.dto.NotificationResponse;
+import com.kt.damim.notification.entity.Notification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class NotificationServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private NotificationService notificationService;
+    private NotificationRequest request;
+    private Notification notification;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        notificationService = context.getBean(NotificationService.class);
+        request = new NotificationRequest("bench-sender", "bench-receiver", "벤치마크 알림 메시지입니다.", "MESSAGE", null, null, null, null);
+        notification = Notification.builder()
+                .id(1L)
+                .senderId("bench-sender")
+                .receiverId("bench-receiver")
+                .message("벤치마크 알림 메시지입니다.")
+                .type("MESSAGE")
+                .isRead(false)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public NotificationResponse sendNotification() {
+        return notificationService.sendNotification(request);
+    }
+
+    @Benchmark
+    public NotificationResponse convertToResponse() {
+        return notificationService.convertToResponse(notification);
+    }
+}
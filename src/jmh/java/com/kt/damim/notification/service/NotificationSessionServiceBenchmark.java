@@ -0,0 +1,61 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.BenchmarkContext;
+import com.kt.damim.notification.dto.NotificationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class NotificationSessionServiceBenchmark {
+
+    private static final String ONLINE_USER_ID = "bench-online";
+    private static final String OFFLINE_USER_ID = "bench-offline";
+
+    private ConfigurableApplicationContext context;
+    private NotificationSessionService notificationSessionService;
+    private NotificationResponse payload;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        notificationSessionService = context.getBean(NotificationSessionService.class);
+        // 실제 STOMP 클라이언트 없이 레지스트리에만 접속 상태를 등록
+        context.getBean(SessionRegistry.class).bind("bench-session", ONLINE_USER_ID);
+        payload = NotificationResponse.builder()
+                .id(1L)
+                .senderId("bench-sender")
+                .receiverId(ONLINE_USER_ID)
+                .message("벤치마크 알림 메시지입니다.")
+                .type("MESSAGE")
+                .isRead(false)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean sendMessageToOnlineUser() {
+        return notificationSessionService.sendMessageToUser(ONLINE_USER_ID, "/topic/notifications/" + ONLINE_USER_ID, payload);
+    }
+
+    @Benchmark
+    public boolean sendMessageToOfflineUser() {
+        return notificationSessionService.sendMessageToUser(OFFLINE_USER_ID, "/topic/notifications/" + OFFLINE_USER_ID, payload);
+    }
+}
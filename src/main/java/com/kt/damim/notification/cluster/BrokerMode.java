@@ -0,0 +1,11 @@
+package com.kt.damim.notification.cluster;
+
+/**
+ * STOMP 브로커 모드 (notification.broker.mode)
+ */
+public enum BrokerMode {
+    /** 노드 내장 심플 브로커 (단일 노드 또는 클러스터 버스로 노드 간 전달) */
+    SIMPLE,
+    /** 외부 STOMP 브로커(ActiveMQ/Artemis, RabbitMQ)로 중계 */
+    RELAY
+}
@@ -0,0 +1,31 @@
+package com.kt.damim.notification.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * 노드 간 메시지 버스
+ * <p>
+ * notification.cluster.mode 에 해당하는 구현이 있을 때만 빈으로 등록된다. (없으면 단일 노드)
+ */
+public interface ClusterBus {
+
+    /**
+     * 모든 노드에 전송 (자기 자신은 받지 않음)
+     *
+     * @return 전송하지 못했으면 false (페이로드 초과, 연결 오류)
+     */
+    boolean broadcast(ClusterMessage message);
+
+    /**
+     * 특정 노드에만 전송
+     *
+     * @return 전송하지 못했으면 false (페이로드 초과, 연결 오류)
+     */
+    boolean send(String nodeId, ClusterMessage message);
+
+    /**
+     * @param listener    다른 노드에서 받은 메시지 처리
+     * @param onConnected 수신 연결이 수립(재수립 포함)될 때마다 호출
+     */
+    void subscribe(Consumer<ClusterMessage> listener, Runnable onConnected);
+}
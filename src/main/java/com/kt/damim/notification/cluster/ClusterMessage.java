@@ -0,0 +1,56 @@
+package com.kt.damim.notification.cluster;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * 노드 간 메시지
+ * <p>
+ * 접속 정보(ONLINE/OFFLINE/JOIN/SYNC/HEARTBEAT/LEAVE), 세그먼트, 알림함 변경 메시지는 모든 노드에, DELIVER 는 사용자가 접속한 노드에만 보낸다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ClusterMessage(Type type,
+                             String nodeId,
+                             List<String> userIds,
+                             String destination,
+                             String payload) {
+
+    public enum Type {
+        /** 사용자들이 보낸 노드에 접속함 */
+        ONLINE,
+        /** 사용자들이 보낸 노드에서 모두 해제됨 */
+        OFFLINE,
+        /** 노드 기동: 이전 기동의 접속 정보를 버리고 다른 노드의 접속 정보를 요청 */
+        JOIN,
+        /** 다른 노드의 접속 정보 재요청 (수신 연결 재수립 후) */
+        SYNC,
+        HEARTBEAT,
+        /** 노드 종료 */
+        LEAVE,
+        /** 사용자에게 전달할 직렬화된 메시지 */
+        DELIVER,
+        /** 세그먼트(destination) 멤버 변경, 받은 노드는 비트맵을 다시 읽음 */
+        SEGMENT_CHANGED,
+        /** 세그먼트(destination) 전체 발송, 받은 노드는 자기 노드에 접속한 멤버에게 전송 */
+        SEGMENT_BROADCAST,
+        /** 사용자들의 알림함이 바뀜, 받은 노드는 최신 알림 캐시를 버림 */
+        INBOX_CHANGED
+    }
+
+    public static ClusterMessage of(Type type, String nodeId) {
+        return new ClusterMessage(type, nodeId, null, null, null);
+    }
+
+    public static ClusterMessage presence(Type type, String nodeId, List<String> userIds) {
+        return new ClusterMessage(type, nodeId, userIds, null, null);
+    }
+
+    public static ClusterMessage segment(Type type, String nodeId, String segmentId, String payload) {
+        return new ClusterMessage(type, nodeId, null, segmentId, payload);
+    }
+
+    public static ClusterMessage deliver(String nodeId, String userId, String destination, String payload) {
+        return new ClusterMessage(Type.DELIVER, nodeId, List.of(userId), destination, payload);
+    }
+}
@@ -0,0 +1,36 @@
+package com.kt.damim.notification.cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.UUID;
+
+/**
+ * 현재 노드 식별자
+ * <p>
+ * notification.cluster.node-id 가 없으면 기동할 때마다 새로 만든다.
+ * LISTEN 채널 이름에 쓰이므로 영숫자, '_' 만 남기고 32자로 자른다.
+ */
+@Component
+public class ClusterNode {
+
+    private static final int MAX_NODE_ID_LENGTH = 32;
+
+    private final String nodeId;
+
+    public ClusterNode(@Value("${notification.cluster.node-id:}") String configuredNodeId) {
+        String nodeId = StringUtils.hasText(configuredNodeId)
+                ? configuredNodeId.replaceAll("[^A-Za-z0-9_]", "_")
+                : UUID.randomUUID().toString().replace("-", "");
+        this.nodeId = nodeId.length() > MAX_NODE_ID_LENGTH ? nodeId.substring(0, MAX_NODE_ID_LENGTH) : nodeId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isSelf(String nodeId) {
+        return this.nodeId.equals(nodeId);
+    }
+}
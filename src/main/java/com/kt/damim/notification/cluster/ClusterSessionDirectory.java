@@ -0,0 +1,289 @@
+package com.kt.damim.notification.cluster;
+
+import com.kt.damim.notification.event.ClusterDeliveryEvent;
+import com.kt.damim.notification.event.ClusterInboxEvent;
+import com.kt.damim.notification.event.ClusterSegmentEvent;
+import com.kt.damim.notification.event.UserPresenceChangedEvent;
+import com.kt.damim.notification.service.SessionRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 다른 노드에 접속한 사용자 목록
+ * <p>
+ * 각 노드는 자기 노드의 접속/해제 변화만 버스로 알리고, 다른 노드의 알림으로 이 목록을 유지한다.
+ * 접속/해제 변화는 호출 스레드(WebSocket 연결 처리)에서 보내지 않고 사용자별 최신 상태만 모아
+ * 전용 발행 스레드가 presence-flush-interval 마다 묶어서 알린다.
+ * 하트비트도 같은 스레드에서 보내므로 Spring 스케줄러의 긴 작업(보존 작업, outbox 재전송)에 밀리지 않는다.
+ * 하트비트가 node-timeout 동안 끊긴 노드의 사용자는 목록에서 제거하고, 제거한 노드의 메시지가 다시 오면
+ * 그 노드에 SYNC 를 보내 접속 사용자를 다시 받는다.
+ * 클러스터 버스가 없으면(notification.cluster.mode=NONE) 항상 비어 있다.
+ */
+@Component
+@Slf4j
+public class ClusterSessionDirectory {
+
+    // 사용자 ID 목록 메시지 하나에 담을 ID 길이 합 (NOTIFY 페이로드 상한 이내)
+    private static final int USER_IDS_CHUNK_CHARS = 6000;
+
+    private final ClusterNode clusterNode;
+    private final SessionRegistry sessionRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    // 단일 노드면 null
+    private final ClusterBus clusterBus;
+    private final long nodeTimeoutNanos;
+
+    private final ConcurrentHashMap<String, Set<String>> nodeIdsByUserId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> lastSeenByNodeId = new ConcurrentHashMap<>();
+    // 아직 알리지 않은 이 노드의 접속 변화 (사용자별 마지막 상태, true 면 접속)
+    private final ConcurrentHashMap<String, Boolean> pendingPresence = new ConcurrentHashMap<>();
+    // 접속 변화 발행과 하트비트, 단일 노드면 null
+    private final ScheduledExecutorService clusterExecutor;
+    private volatile boolean joined;
+
+    public ClusterSessionDirectory(ClusterNode clusterNode,
+                                   SessionRegistry sessionRegistry,
+                                   ApplicationEventPublisher eventPublisher,
+                                   ObjectProvider<ClusterBus> clusterBus,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${notification.cluster.heartbeat-interval:5s}") Duration heartbeatInterval,
+                                   @Value("${notification.cluster.node-timeout:15s}") Duration nodeTimeout,
+                                   @Value("${notification.cluster.presence-flush-interval:100ms}") Duration presenceFlushInterval) {
+        this.clusterNode = clusterNode;
+        this.sessionRegistry = sessionRegistry;
+        this.eventPublisher = eventPublisher;
+        this.clusterBus = clusterBus.getIfAvailable();
+        this.nodeTimeoutNanos = nodeTimeout.toNanos();
+        this.clusterExecutor = this.clusterBus != null
+                ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "notification-cluster-publisher");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+        if (this.clusterBus != null) {
+            this.clusterBus.subscribe(this::onMessage, this::onConnected);
+            long flushMillis = presenceFlushInterval.toMillis();
+            clusterExecutor.scheduleWithFixedDelay(this::publishPresenceChanges, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+            long heartbeatMillis = heartbeatInterval.toMillis();
+            clusterExecutor.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+            Gauge.builder("notification.cluster.remote.users", nodeIdsByUserId, ConcurrentHashMap::size)
+                    .description("다른 노드에 접속 중인 사용자 수")
+                    .register(meterRegistry);
+            Gauge.builder("notification.cluster.nodes", lastSeenByNodeId, nodes -> nodes.size() + 1)
+                    .description("하트비트가 확인된 노드 수 (자신 포함)")
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isEnabled() {
+        return clusterBus != null;
+    }
+
+    /**
+     * 사용자가 접속한 다른 노드 ID, 없으면 null
+     */
+    public String findNode(String userId) {
+        Set<String> nodeIds = nodeIdsByUserId.get(userId);
+        if (nodeIds == null) {
+            return null;
+        }
+        return nodeIds.stream().findFirst().orElse(null);
+    }
+
+    /**
+     * 직렬화된 메시지를 사용자가 접속한 노드로 전달
+     */
+    public boolean forward(String nodeId, String userId, String destination, byte[] payload) {
+        return clusterBus != null && clusterBus.send(nodeId,
+                ClusterMessage.deliver(clusterNode.getNodeId(), userId, destination, new String(payload, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 세그먼트 멤버 변경 또는 전체 발송을 다른 노드에 알림 (payload 가 null 이면 멤버 변경)
+     */
+    public void publishSegment(String segmentId, byte[] payload) {
+        if (clusterBus != null) {
+            ClusterMessage.Type type = payload == null ? ClusterMessage.Type.SEGMENT_CHANGED : ClusterMessage.Type.SEGMENT_BROADCAST;
+            clusterBus.broadcast(ClusterMessage.segment(type, clusterNode.getNodeId(), segmentId,
+                    payload == null ? null : new String(payload, StandardCharsets.UTF_8)));
+        }
+    }
+
+    /**
+     * 알림함이 바뀐 사용자를 다른 노드에 알림 (다른 노드의 최신 알림 캐시 무효화)
+     */
+    public void publishInboxChanged(Collection<String> userIds) {
+        if (clusterBus != null && !userIds.isEmpty()) {
+            broadcastUserIds(ClusterMessage.Type.INBOX_CHANGED, userIds);
+        }
+    }
+
+    /**
+     * 접속 변화는 모아 두기만 하고 발행 스레드가 알림 (같은 사용자의 연속 변화는 마지막 상태만 보냄)
+     */
+    @EventListener
+    public void onPresenceChanged(UserPresenceChangedEvent event) {
+        if (clusterBus != null) {
+            pendingPresence.put(event.userId(), event.online());
+        }
+    }
+
+    void heartbeat() {
+        clusterBus.broadcast(ClusterMessage.of(ClusterMessage.Type.HEARTBEAT, clusterNode.getNodeId()));
+
+        long now = System.nanoTime();
+        lastSeenByNodeId.forEach((nodeId, lastSeen) -> {
+            if (now - lastSeen > nodeTimeoutNanos) {
+                log.warn("하트비트 없는 노드 제거: nodeId={}", nodeId);
+                removeNode(nodeId);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void leave() {
+        if (clusterBus != null) {
+            // LEAVE 를 받은 노드는 이 노드의 사용자를 모두 지우므로 남은 접속 변화는 보내지 않음
+            clusterExecutor.shutdownNow();
+            clusterBus.broadcast(ClusterMessage.of(ClusterMessage.Type.LEAVE, clusterNode.getNodeId()));
+        }
+    }
+
+    private void onConnected() {
+        // 최초 연결이면 같은 ID 로 이전에 기동했던 노드의 접속 정보도 버리게 함
+        ClusterMessage.Type type = joined ? ClusterMessage.Type.SYNC : ClusterMessage.Type.JOIN;
+        joined = true;
+        clusterBus.broadcast(ClusterMessage.of(type, clusterNode.getNodeId()));
+    }
+
+    private void onMessage(ClusterMessage message) {
+        String nodeId = message.nodeId();
+        if (message.type() != ClusterMessage.Type.LEAVE) {
+            Long lastSeen = lastSeenByNodeId.put(nodeId, System.nanoTime());
+            // 하트비트가 밀려 제거했던 노드면 접속 사용자를 다시 받음 (새로 기동한 노드의 JOIN 은 제외)
+            if (lastSeen == null && message.type() != ClusterMessage.Type.JOIN) {
+                requestSync(nodeId);
+            }
+        }
+
+        switch (message.type()) {
+            case ONLINE -> message.userIds().forEach(userId -> addUserNode(userId, nodeId));
+            case OFFLINE -> message.userIds().forEach(userId -> removeUserNode(userId, nodeId));
+            case JOIN -> {
+                removeUserNodes(nodeId);
+                publishLocalUsers();
+            }
+            case SYNC -> publishLocalUsers();
+            case LEAVE -> removeNode(nodeId);
+            case DELIVER -> eventPublisher.publishEvent(new ClusterDeliveryEvent(message.userIds().get(0),
+                    message.destination(), message.payload().getBytes(StandardCharsets.UTF_8)));
+            case SEGMENT_CHANGED -> eventPublisher.publishEvent(new ClusterSegmentEvent(message.destination(), null));
+            case SEGMENT_BROADCAST -> eventPublisher.publishEvent(new ClusterSegmentEvent(message.destination(),
+                    message.payload().getBytes(StandardCharsets.UTF_8)));
+            case INBOX_CHANGED -> eventPublisher.publishEvent(new ClusterInboxEvent(message.userIds()));
+            case HEARTBEAT -> {
+                // lastSeen 갱신만
+            }
+        }
+    }
+
+    private void requestSync(String nodeId) {
+        log.info("알 수 없는 노드의 메시지, 접속 사용자 재전송 요청: nodeId={}", nodeId);
+        clusterExecutor.execute(() -> clusterBus.send(nodeId, ClusterMessage.of(ClusterMessage.Type.SYNC, clusterNode.getNodeId())));
+    }
+
+    private void publishPresenceChanges() {
+        if (pendingPresence.isEmpty()) {
+            return;
+        }
+        List<String> online = new ArrayList<>();
+        List<String> offline = new ArrayList<>();
+        for (Map.Entry<String, Boolean> entry : pendingPresence.entrySet()) {
+            // 그사이 상태가 바뀌었으면 다음 주기에 보냄
+            if (pendingPresence.remove(entry.getKey(), entry.getValue())) {
+                (entry.getValue() ? online : offline).add(entry.getKey());
+            }
+        }
+        // 실패하면 다음 주기에 다시 보냄 (ONLINE/OFFLINE 은 여러 번 받아도 결과가 같음)
+        if (!broadcastUserIds(ClusterMessage.Type.ONLINE, online)) {
+            online.forEach(userId -> pendingPresence.putIfAbsent(userId, true));
+        }
+        if (!broadcastUserIds(ClusterMessage.Type.OFFLINE, offline)) {
+            offline.forEach(userId -> pendingPresence.putIfAbsent(userId, false));
+        }
+    }
+
+    /**
+     * 이 노드의 접속 사용자 전체를 나누어 다시 알림
+     */
+    private void publishLocalUsers() {
+        broadcastUserIds(ClusterMessage.Type.ONLINE, sessionRegistry.getOnlineUserIds());
+    }
+
+    /**
+     * @return 모든 조각을 보냈으면 true
+     */
+    private boolean broadcastUserIds(ClusterMessage.Type type, Collection<String> userIds) {
+        boolean sent = true;
+        List<String> chunk = new ArrayList<>();
+        int chunkChars = 0;
+        for (String userId : userIds) {
+            if (chunkChars + userId.length() > USER_IDS_CHUNK_CHARS && !chunk.isEmpty()) {
+                sent &= clusterBus.broadcast(ClusterMessage.presence(type, clusterNode.getNodeId(), chunk));
+                chunk = new ArrayList<>();
+                chunkChars = 0;
+            }
+            chunk.add(userId);
+            // 따옴표, 구분자 포함 대략치
+            chunkChars += userId.length() + 3;
+        }
+        if (!chunk.isEmpty()) {
+            sent &= clusterBus.broadcast(ClusterMessage.presence(type, clusterNode.getNodeId(), chunk));
+        }
+        return sent;
+    }
+
+    private void removeNode(String nodeId) {
+        lastSeenByNodeId.remove(nodeId);
+        removeUserNodes(nodeId);
+    }
+
+    private void removeUserNodes(String nodeId) {
+        nodeIdsByUserId.keySet().forEach(userId -> removeUserNode(userId, nodeId));
+    }
+
+    private void addUserNode(String userId, String nodeId) {
+        nodeIdsByUserId.compute(userId, (key, nodeIds) -> {
+            Set<String> result = nodeIds != null ? nodeIds : ConcurrentHashMap.newKeySet();
+            result.add(nodeId);
+            return result;
+        });
+    }
+
+    private void removeUserNode(String userId, String nodeId) {
+        nodeIdsByUserId.computeIfPresent(userId, (key, nodeIds) -> {
+            nodeIds.remove(nodeId);
+            return nodeIds.isEmpty() ? null : nodeIds;
+        });
+    }
+}
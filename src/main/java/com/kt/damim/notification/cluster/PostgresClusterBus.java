@@ -0,0 +1,207 @@
+package com.kt.damim.notification.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * PostgreSQL LISTEN/NOTIFY 기반 노드 간 버스
+ * <p>
+ * 공용 채널(notification_cluster)과 노드 전용 채널(notification_node_{nodeId})을 LISTEN 한다.
+ * LISTEN 은 연결을 계속 점유하므로 커넥션 풀과 별도의 전용 연결을 사용하고,
+ * NOTIFY 도 호출 스레드의 트랜잭션(AFTER_COMMIT 콜백 등)에 섞이지 않도록 별도 연결로 보낸다.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.cluster.mode", havingValue = "POSTGRES")
+@Slf4j
+public class PostgresClusterBus implements ClusterBus {
+
+    private static final String BROADCAST_CHANNEL = "notification_cluster";
+    private static final String NODE_CHANNEL_PREFIX = "notification_node_";
+    // NOTIFY 페이로드 상한 (기본 설정에서 8000 바이트 미만)
+    private static final int MAX_PAYLOAD_BYTES = 7999;
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    private static final long RECONNECT_DELAY_MILLIS = 1000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectMapper objectMapper;
+    private final ClusterNode clusterNode;
+    private final List<Consumer<ClusterMessage>> listeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> connectionListeners = new CopyOnWriteArrayList<>();
+    private final Thread listenerThread;
+
+    private final ReentrantLock publishLock = new ReentrantLock();
+    // publishLock 으로 보호
+    private Connection publishConnection;
+
+    private volatile boolean running = true;
+
+    public PostgresClusterBus(DataSourceProperties dataSourceProperties, ObjectMapper objectMapper, ClusterNode clusterNode) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.objectMapper = objectMapper;
+        this.clusterNode = clusterNode;
+        this.listenerThread = new Thread(this::listenLoop, "notification-cluster-listener");
+        this.listenerThread.setDaemon(true);
+    }
+
+    @Override
+    public boolean broadcast(ClusterMessage message) {
+        return publish(BROADCAST_CHANNEL, message);
+    }
+
+    @Override
+    public boolean send(String nodeId, ClusterMessage message) {
+        return publish(NODE_CHANNEL_PREFIX + nodeId, message);
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterMessage> listener, Runnable onConnected) {
+        listeners.add(listener);
+        connectionListeners.add(onConnected);
+    }
+
+    /**
+     * 모든 구독자가 등록된 뒤 수신 시작
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        listenerThread.join(TimeUnit.SECONDS.toMillis(2));
+        publishLock.lock();
+        try {
+            closeQuietly(publishConnection);
+            publishConnection = null;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private boolean publish(String channel, ClusterMessage message) {
+        String payload = toJson(message);
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            log.warn("클러스터 메시지 크기 초과로 전송 생략: type={}, channel={}", message.type(), channel);
+            return false;
+        }
+
+        publishLock.lock();
+        try {
+            if (publishConnection == null) {
+                publishConnection = openConnection();
+            }
+            try (PreparedStatement statement = publishConnection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                statement.setString(1, channel);
+                statement.setString(2, payload);
+                statement.execute();
+            }
+            return true;
+        } catch (SQLException e) {
+            log.warn("클러스터 메시지 전송 실패: type={}, channel={}, error={}", message.type(), channel, e.getMessage());
+            closeQuietly(publishConnection);
+            publishConnection = null;
+            return false;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = openConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + BROADCAST_CHANNEL);
+                statement.execute("LISTEN \"" + NODE_CHANNEL_PREFIX + clusterNode.getNodeId() + "\"");
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("클러스터 버스 수신 시작: nodeId={}", clusterNode.getNodeId());
+                connectionListeners.forEach(Runnable::run);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("클러스터 버스 수신 연결 끊김, 재연결 예정: error={}", e.getMessage());
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        try {
+            ClusterMessage message = objectMapper.readValue(payload, ClusterMessage.class);
+            // 공용 채널에는 자신이 보낸 메시지도 들어옴
+            if (clusterNode.isSelf(message.nodeId())) {
+                return;
+            }
+            listeners.forEach(listener -> listener.accept(message));
+        } catch (Exception e) {
+            log.warn("클러스터 메시지 처리 실패: error={}", e.getMessage());
+        }
+    }
+
+    private Connection openConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        connection.setAutoCommit(true);
+        return connection;
+    }
+
+    private String toJson(ClusterMessage message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // 이미 끊긴 연결
+        }
+    }
+}
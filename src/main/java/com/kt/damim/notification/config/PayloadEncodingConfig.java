@@ -0,0 +1,31 @@
+package com.kt.damim.notification.config;
+
+import com.kt.damim.notification.service.CborPayloadEncoder;
+import com.kt.damim.notification.service.PayloadEncoding;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.util.List;
+
+/**
+ * REST 응답 인코딩 (Accept: application/cbor, application/vnd.notification.compact+cbor)
+ * <p>
+ * 기본 CBOR 컨버터와 같은 타입이라 Spring Boot 가 JSON 컨버터 뒤에 두므로, Accept 가 없거나 모든 형식을 허용하면 그대로 JSON 으로 응답한다.
+ */
+@Configuration
+public class PayloadEncodingConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(CborPayloadEncoder cborPayloadEncoder) {
+        return new MappingJackson2CborHttpMessageConverter(cborPayloadEncoder.mapperFor(PayloadEncoding.CBOR));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter compactCborHttpMessageConverter(CborPayloadEncoder cborPayloadEncoder) {
+        MappingJackson2CborHttpMessageConverter converter =
+                new MappingJackson2CborHttpMessageConverter(cborPayloadEncoder.mapperFor(PayloadEncoding.COMPACT_CBOR));
+        converter.setSupportedMediaTypes(List.of(PayloadEncoding.COMPACT_CBOR.getMediaType()));
+        return converter;
+    }
+}
@@ -1,7 +1,19 @@
 package com.kt.damim.notification.config;
 
+import com.kt.damim.notification.cluster.BrokerMode;
+import com.kt.damim.notification.websocket.OutboundBackpressure;
+import com.kt.damim.notification.websocket.PayloadEncodingNegotiation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.StringUtils;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
@@ -9,8 +21,35 @@ import org.springframework.web.socket.config.annotation.WebSocketTransportRegist
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     
+    private final Environment environment;
+    private final OutboundBackpressure outboundBackpressure;
+    private final PayloadEncodingNegotiation payloadEncodingNegotiation;
+    
+    // 가상 스레드 모드에서 채널별 동시 처리 한도 (스레드 생성 비용이 없으므로 플랫폼 기본값보다 크게)
+    @Value("${notification.websocket.virtual-channel-concurrency:256}")
+    private int virtualChannelConcurrency;
+    
+    @Value("${notification.broker.mode:SIMPLE}")
+    private BrokerMode brokerMode;
+    
+    @Value("${notification.broker.relay.host:localhost}")
+    private String relayHost;
+    
+    @Value("${notification.broker.relay.port:61613}")
+    private int relayPort;
+    
+    @Value("${notification.broker.relay.login:guest}")
+    private String relayLogin;
+    
+    @Value("${notification.broker.relay.passcode:guest}")
+    private String relayPasscode;
+    
+    @Value("${notification.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+    
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
@@ -20,13 +59,60 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         registry.setApplicationDestinationPrefixes("/app");
-        registry.enableSimpleBroker("/topic");
+        if (brokerMode == BrokerMode.RELAY) {
+            // 외부 STOMP 브로커가 모든 노드의 구독자에게 전달
+            StompBrokerRelayRegistration relay = registry.enableStompBrokerRelay("/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode);
+            if (StringUtils.hasText(relayVirtualHost)) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+        } else {
+            registry.enableSimpleBroker("/topic");
+        }
     }
     
     @Override
     public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // 세션별 송신 큐와 비동기 전송은 OutboundBackpressure 가 담당하고,
+        // 아래 버퍼/시간 제한은 비동기 전송을 지원하지 않는 세션에만 적용됨
         registration.setMessageSizeLimit(64 * 1024)     // 64KB
                    .setSendBufferSizeLimit(512 * 1024)  // 512KB
-                   .setSendTimeLimit(20000);            // 20 seconds
+                   .setSendTimeLimit(20000)             // 20 seconds
+                   // 먼저 등록한 데코레이터의 세션이 STOMP 처리기 쪽에 놓이므로 CBOR 바이너리 프레임 변환을 송신 큐보다 앞에 둠
+                   .addDecoratorFactory(payloadEncodingNegotiation)
+                   .addDecoratorFactory(outboundBackpressure);
+    }
+    
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(payloadEncodingNegotiation);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            registration.taskExecutor(virtualThreadChannelExecutor("ws-inbound-"));
+        }
+    }
+    
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(payloadEncodingNegotiation);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            registration.taskExecutor(virtualThreadChannelExecutor("ws-outbound-"));
+        }
+    }
+    
+    /**
+     * spring.threads.virtual.enabled=true 이고 Java 21 이상일 때 채널 작업을 가상 스레드에서 실행
+     */
+    private ThreadPoolTaskExecutor virtualThreadChannelExecutor(String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        executor.setCorePoolSize(virtualChannelConcurrency);
+        executor.setMaxPoolSize(virtualChannelConcurrency);
+        executor.setAllowCoreThreadTimeOut(true);
+        return executor;
     }
 }
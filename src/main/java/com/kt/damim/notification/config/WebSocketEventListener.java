@@ -1,6 +1,8 @@
 package com.kt.damim.notification.config;
 
+import com.kt.damim.notification.metrics.NotificationMetrics;
 import com.kt.damim.notification.service.NotificationSessionService;
+import com.kt.damim.notification.service.OfflineReplayService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
@@ -16,6 +18,8 @@ import org.springframework.web.socket.messaging.SessionSubscribeEvent;
 public class WebSocketEventListener {
     
     private final NotificationSessionService notificationSessionService;
+    private final NotificationMetrics notificationMetrics;
+    private final OfflineReplayService offlineReplayService;
     
     /**
      * WebSocket 연결 완료 시 임시 세션 등록
@@ -25,7 +29,8 @@ public class WebSocketEventListener {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
         String socketSessionId = headerAccessor.getSessionId();
         
-        log.info("WebSocket 연결 완료: socketSessionId={}", socketSessionId);
+        log.debug("WebSocket 연결 완료: socketSessionId={}", socketSessionId);
+        notificationMetrics.recordConnect();
         notificationSessionService.registerTemporarySession(socketSessionId);
     }
     
@@ -38,11 +43,22 @@ public class WebSocketEventListener {
         String socketSessionId = headerAccessor.getSessionId();
         String destination = headerAccessor.getDestination();
         
-        // 알림 토픽 구독 시 사용자 ID 추출
+        // 알림 토픽(/topic/notifications/{id}, /topic/notifications/{id}/unread-count) 구독 시 사용자 ID 추출
         if (destination != null && destination.startsWith("/topic/notifications/")) {
             String socketUserId = destination.substring("/topic/notifications/".length());
-            log.info("사용자 구독: socketUserId={}, socketSessionId={}", socketUserId, socketSessionId);
+            int suffixIndex = socketUserId.indexOf('/');
+            boolean notificationTopic = suffixIndex < 0;
+            if (!notificationTopic) {
+                socketUserId = socketUserId.substring(0, suffixIndex);
+            }
+            log.debug("사용자 구독: socketUserId={}, socketSessionId={}", socketUserId, socketSessionId);
+            notificationMetrics.recordSubscribe();
             notificationSessionService.updateSessionWithUserId(socketSessionId, socketUserId);
+            
+            // 오프라인 동안 놓친 알림은 구독한 세션에만 재전송
+            if (notificationTopic) {
+                offlineReplayService.replay(socketUserId, socketSessionId, headerAccessor.getSubscriptionId(), destination);
+            }
         }
     }
     
@@ -54,7 +70,8 @@ public class WebSocketEventListener {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
         String socketSessionId = headerAccessor.getSessionId();
         
-        log.info("WebSocket 연결 해제: socketSessionId={}", socketSessionId);
+        log.debug("WebSocket 연결 해제: socketSessionId={}", socketSessionId);
+        notificationMetrics.recordDisconnect();
         notificationSessionService.unregisterUserSession(socketSessionId);
     }
 }
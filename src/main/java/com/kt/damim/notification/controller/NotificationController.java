@@ -1,13 +1,30 @@
 package com.kt.damim.notification.controller;
 
+import com.kt.damim.notification.dto.BroadcastPageResponse;
+import com.kt.damim.notification.dto.MulticastNotificationRequest;
+import com.kt.damim.notification.dto.NotificationCursor;
+import com.kt.damim.notification.dto.NotificationPageResponse;
 import com.kt.damim.notification.dto.NotificationRequest;
 import com.kt.damim.notification.dto.NotificationResponse;
 import com.kt.damim.notification.service.NotificationService;
+import com.kt.damim.notification.service.NotificationSessionService;
+import com.kt.damim.notification.service.OfflineReplayService;
+import com.kt.damim.notification.service.ScheduledNotificationService;
+import com.kt.damim.notification.service.SegmentService;
+import com.kt.damim.notification.service.SseConnectionRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -16,35 +33,88 @@ import java.util.List;
 public class NotificationController {
     
     private final NotificationService notificationService;
+    private final SegmentService segmentService;
+    private final NotificationSessionService notificationSessionService;
+    private final OfflineReplayService offlineReplayService;
+    private final ScheduledNotificationService scheduledNotificationService;
     
+    // deliverAt 이 미래면 예약만 하고 202 와 예약 정보(ScheduledNotificationResponse) 반환, 같은 멱등 키로 이미 발송된 예약이면 200 과 발송된 알림 반환
     @PostMapping("/send")
-    public ResponseEntity<NotificationResponse> sendNotification(@RequestBody NotificationRequest request) {
+    public ResponseEntity<?> sendNotification(@RequestBody NotificationRequest request,
+                                              @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey != null && request.getIdempotencyKey() == null) {
+            request.setIdempotencyKey(idempotencyKey);
+        }
+        if (scheduledNotificationService.isScheduled(request)) {
+            Optional<NotificationResponse> released = scheduledNotificationService.findReleased(request);
+            if (released.isPresent()) {
+                return ResponseEntity.ok(released.get());
+            }
+            return ResponseEntity.accepted().body(scheduledNotificationService.schedule(request));
+        }
         NotificationResponse response = notificationService.sendNotification(request);
         return ResponseEntity.ok(response);
     }
     
+    @DeleteMapping("/scheduled/{scheduledId}")
+    public ResponseEntity<Integer> cancelScheduled(@PathVariable Long scheduledId) {
+        int canceled = scheduledNotificationService.cancel(scheduledId);
+        return ResponseEntity.ok(canceled);
+    }
+    
+    @PostMapping("/send-batch")
+    public ResponseEntity<List<NotificationResponse>> sendNotifications(@RequestBody List<NotificationRequest> requests) {
+        List<NotificationResponse> responses = notificationService.sendNotifications(requests);
+        return ResponseEntity.ok(responses);
+    }
+    
+    @PostMapping("/send-multicast")
+    public ResponseEntity<List<NotificationResponse>> multicastNotification(@Valid @RequestBody MulticastNotificationRequest request) {
+        List<NotificationResponse> responses = notificationService.multicastNotification(request);
+        return ResponseEntity.ok(responses);
+    }
+    
     @GetMapping("/user/{receiverId}")
-    public ResponseEntity<List<NotificationResponse>> getNotificationsByReceiverId(@PathVariable String receiverId) {
-        List<NotificationResponse> notifications = notificationService.getNotificationsByReceiverId(receiverId);
+    public ResponseEntity<NotificationPageResponse> getNotificationsByReceiverId(@PathVariable String receiverId,
+                                                                                 @RequestParam(required = false) String cursor,
+                                                                                 @RequestParam(defaultValue = "20") int limit) {
+        NotificationPageResponse notifications = notificationService.getNotificationsByReceiverId(receiverId, cursor, limit);
         return ResponseEntity.ok(notifications);
     }
     
     @GetMapping("/user/{receiverId}/unread")
-    public ResponseEntity<List<NotificationResponse>> getUnreadNotifications(@PathVariable String receiverId) {
-        List<NotificationResponse> notifications = notificationService.getUnreadNotifications(receiverId);
+    public ResponseEntity<NotificationPageResponse> getUnreadNotifications(@PathVariable String receiverId,
+                                                                           @RequestParam(required = false) String cursor,
+                                                                           @RequestParam(defaultValue = "20") int limit) {
+        NotificationPageResponse notifications = notificationService.getUnreadNotifications(receiverId, cursor, limit);
         return ResponseEntity.ok(notifications);
     }
     
     @PutMapping("/{notificationId}/read")
-    public ResponseEntity<Void> markAsRead(@PathVariable Long notificationId) {
-        notificationService.markAsRead(notificationId);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Integer> markAsRead(@PathVariable Long notificationId) {
+        int updated = notificationService.markAsRead(notificationId);
+        return ResponseEntity.ok(updated);
+    }
+    
+    @PutMapping("/user/{receiverId}/read")
+    public ResponseEntity<Integer> markAsRead(@PathVariable String receiverId, @RequestBody List<Long> notificationIds) {
+        int updated = notificationService.markAsRead(receiverId, notificationIds);
+        return ResponseEntity.ok(updated);
     }
     
     @PutMapping("/user/{receiverId}/read-all")
-    public ResponseEntity<Void> markAllAsRead(@PathVariable String receiverId) {
-        notificationService.markAllAsRead(receiverId);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Integer> markAllAsRead(@PathVariable String receiverId,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        int updated;
+        if (cursor != null) {
+            updated = notificationService.markAllAsRead(receiverId, NotificationCursor.decode(cursor));
+        } else if (before != null) {
+            updated = notificationService.markAllAsRead(receiverId, new NotificationCursor(before, Long.MAX_VALUE));
+        } else {
+            updated = notificationService.markAllAsRead(receiverId);
+        }
+        return ResponseEntity.ok(updated);
     }
     
     @GetMapping("/user/{receiverId}/unread-count")
@@ -52,4 +122,26 @@ public class NotificationController {
         long count = notificationService.getUnreadCount(receiverId);
         return ResponseEntity.ok(count);
     }
+    
+    @GetMapping(value = "/user/{receiverId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void stream(@PathVariable String receiverId,
+                       @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        SseConnectionRegistry.SseStream stream = notificationSessionService.openStream(receiverId, request, response);
+        offlineReplayService.replay(receiverId, lastEventId, stream);
+    }
+    
+    @GetMapping("/user/{receiverId}/broadcasts")
+    public ResponseEntity<BroadcastPageResponse> getBroadcasts(@PathVariable String receiverId,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(defaultValue = "20") int limit) {
+        BroadcastPageResponse broadcasts = segmentService.getBroadcasts(receiverId, cursor, limit);
+        return ResponseEntity.ok(broadcasts);
+    }
+    
+    @PutMapping("/user/{receiverId}/broadcasts/{broadcastId}/read")
+    public ResponseEntity<Integer> markBroadcastAsRead(@PathVariable String receiverId, @PathVariable Long broadcastId) {
+        int updated = segmentService.markBroadcastAsRead(receiverId, broadcastId);
+        return ResponseEntity.ok(updated);
+    }
 }
@@ -0,0 +1,44 @@
+package com.kt.damim.notification.controller;
+
+import com.kt.damim.notification.dto.BroadcastNotificationResponse;
+import com.kt.damim.notification.dto.SegmentBroadcastRequest;
+import com.kt.damim.notification.dto.SegmentResponse;
+import com.kt.damim.notification.service.SegmentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/segments")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class SegmentController {
+    
+    private final SegmentService segmentService;
+    
+    @GetMapping("/{segmentId}")
+    public ResponseEntity<SegmentResponse> getSegment(@PathVariable String segmentId) {
+        return ResponseEntity.ok(segmentService.getSegment(segmentId));
+    }
+    
+    @PostMapping("/{segmentId}/members")
+    public ResponseEntity<Integer> addMembers(@PathVariable String segmentId, @RequestBody List<String> userIds) {
+        int added = segmentService.addMembers(segmentId, userIds);
+        return ResponseEntity.ok(added);
+    }
+    
+    @DeleteMapping("/{segmentId}/members")
+    public ResponseEntity<Integer> removeMembers(@PathVariable String segmentId, @RequestBody List<String> userIds) {
+        int removed = segmentService.removeMembers(segmentId, userIds);
+        return ResponseEntity.ok(removed);
+    }
+    
+    @PostMapping("/{segmentId}/broadcast")
+    public ResponseEntity<BroadcastNotificationResponse> broadcast(@PathVariable String segmentId,
+                                                                   @RequestBody SegmentBroadcastRequest request) {
+        BroadcastNotificationResponse response = segmentService.broadcast(segmentId, request);
+        return ResponseEntity.ok(response);
+    }
+}
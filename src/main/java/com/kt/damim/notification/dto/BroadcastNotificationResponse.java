@@ -0,0 +1,26 @@
+package com.kt.damim.notification.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 압축 CBOR(배열) 형식은 이 순서대로 값만 보내므로 새 필드는 끝에 추가
+@JsonPropertyOrder({"id", "segmentId", "senderId", "message", "type", "read", "createdAt"})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastNotificationResponse {
+    private Long id;
+    private String segmentId;
+    private String senderId;
+    private String message;
+    private String type;
+    // 조회한 사용자 기준 (실시간 전송 시에는 항상 false)
+    private boolean isRead;
+    private LocalDateTime createdAt;
+}
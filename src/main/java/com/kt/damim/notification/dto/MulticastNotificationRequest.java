@@ -0,0 +1,20 @@
+package com.kt.damim.notification.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MulticastNotificationRequest {
+    private String senderId;
+    // 비어 있으면 400 (컨트롤러 @Valid)
+    @NotEmpty
+    private List<String> receiverIds;
+    private String message;
+    private String type;
+}
@@ -0,0 +1,18 @@
+package com.kt.damim.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPageResponse {
+    private List<NotificationResponse> notifications;
+    // 다음 페이지가 없으면 null
+    private String nextCursor;
+}
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,4 +14,12 @@ public class NotificationRequest {
     private String receiverId;
     private String message;
     private String type;
+    // 집계 대상 type 일 때 묶음 기준 (예: 게시글 ID), 없으면 집계하지 않음
+    private String groupKey;
+    // 발신자 기준 멱등 키, 같은 키로 재요청하면 새로 저장하지 않고 처음 저장된 알림을 반환 (/send 만 적용)
+    private String idempotencyKey;
+    // 이 시각에 발송 (없거나 지난 시각이면 즉시 발송, /send 만 적용)
+    private LocalDateTime deliverAt;
+    // 예약 알림을 이 시각까지 발송하지 못하면 버림 (deliverAt 이 있을 때만 적용)
+    private LocalDateTime expiresAt;
 }
@@ -1,5 +1,6 @@
 package com.kt.damim.notification.dto;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -7,6 +8,8 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+// 압축 CBOR(배열) 형식은 이 순서대로 값만 보내므로 새 필드는 끝에 추가
+@JsonPropertyOrder({"id", "senderId", "receiverId", "message", "type", "read", "createdAt", "groupKey", "aggregateCount"})
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,4 +22,7 @@ public class NotificationResponse {
     private String type;
     private boolean isRead;
     private LocalDateTime createdAt;
+    private String groupKey;
+    // 하나로 합쳐진 이벤트 수 (집계되지 않은 알림은 1)
+    private int aggregateCount;
 }
@@ -0,0 +1,15 @@
+package com.kt.damim.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 느린 클라이언트에게 밀린 알림 프레임 대신 보내는 요약 ("새 알림 N건")
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationSummaryResponse {
+    private int missedCount;
+}
@@ -0,0 +1,24 @@
+package com.kt.damim.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 예약 접수 응답 (id 는 예약 ID, 발송 시 만들어지는 알림 ID 와 다름)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledNotificationResponse {
+    private Long id;
+    private String senderId;
+    private String receiverId;
+    private String message;
+    private String type;
+    private LocalDateTime deliverAt;
+    private LocalDateTime expiresAt;
+    private LocalDateTime createdAt;
+}
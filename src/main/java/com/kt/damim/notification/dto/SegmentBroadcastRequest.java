@@ -0,0 +1,14 @@
+package com.kt.damim.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SegmentBroadcastRequest {
+    private String senderId;
+    private String message;
+    private String type;
+}
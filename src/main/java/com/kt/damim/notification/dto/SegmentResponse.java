@@ -0,0 +1,15 @@
+package com.kt.damim.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SegmentResponse {
+    private String segmentId;
+    private long memberCount;
+    // 이 노드에 접속 중인 멤버 수
+    private long onlineMemberCount;
+}
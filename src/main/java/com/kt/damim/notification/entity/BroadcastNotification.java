@@ -0,0 +1,40 @@
+package com.kt.damim.notification.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// 세그먼트 전체 발송 한 건, 사용자별 읽음은 broadcast_reads 에 읽은 사용자만 기록
+@Entity
+@Table(name = "broadcast_notifications")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastNotification {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "segment_id", nullable = false, length = 100)
+    private String segmentId;
+    
+    @Column(nullable = false)
+    private String senderId;
+    
+    @Column(nullable = false)
+    private String message;
+    
+    @Column(nullable = false)
+    private String type;
+    
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
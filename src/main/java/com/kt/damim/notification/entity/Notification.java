@@ -9,6 +9,7 @@ import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
+// 테이블, 인덱스, 월 파티션은 Flyway 마이그레이션(db/migration/{vendor})에서 관리
 @Entity
 @Table(name = "notifications")
 @Data
@@ -17,8 +18,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Notification {
     
+    // IDENTITY 는 JDBC 배치 insert 를 막으므로 pooled 시퀀스 사용 (allocationSize 는 hibernate.jdbc.batch_size 와 맞춤)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -39,4 +42,12 @@ public class Notification {
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
+    
+    // 집계 알림 묶음 키, 집계 대상이 아니면 null
+    private String groupKey;
+    
+    // 이 행으로 합쳐진 이벤트 수
+    @Builder.Default
+    @Column(nullable = false)
+    private int aggregateCount = 1;
 }
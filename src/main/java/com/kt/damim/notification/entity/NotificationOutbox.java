@@ -0,0 +1,76 @@
+package com.kt.damim.notification.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 알림 전송 outbox (알림과 같은 트랜잭션에서 저장되고 전송 결과를 기록)
+ */
+@Entity
+@Table(name = "notification_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutbox implements Persistable<Long> {
+    
+    public enum Status {
+        /** 전송 결과 미기록 (재전송 대상) */
+        PENDING,
+        /** 접속 중인 세션으로 전송 */
+        DELIVERED,
+        /** 미접속, 재접속 시 OfflineReplayService 가 재전송 */
+        OFFLINE,
+        /** 재시도 한도 초과 또는 알림 삭제, 알림이 남아 있으면 재접속 시 재전송 */
+        FAILED
+    }
+    
+    // 알림 ID 를 그대로 키로 사용
+    @Id
+    @Column(name = "notification_id")
+    private Long notificationId;
+    
+    @Column(name = "receiver_id", nullable = false)
+    private String receiverId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+    
+    @Column(nullable = false)
+    private int attempts;
+    
+    // 이 시각까지 전송 결과가 없으면 OutboxRelay 가 재전송
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // 키를 직접 지정하므로 save 시 존재 확인 SELECT 를 하지 않도록 새 엔티티 여부를 직접 관리
+    @Transient
+    @Builder.Default
+    private boolean newEntity = true;
+    
+    @Override
+    public Long getId() {
+        return notificationId;
+    }
+    
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+    
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
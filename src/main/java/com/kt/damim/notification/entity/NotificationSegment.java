@@ -0,0 +1,26 @@
+package com.kt.damim.notification.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 멤버(notification_segment_members)는 행이 많아 엔티티 없이 NotificationSegmentRepository 의 네이티브 쿼리로만 다룸
+@Entity
+@Table(name = "notification_segments")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationSegment {
+    
+    @Id
+    @Column(name = "segment_id", length = 100)
+    private String segmentId;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,51 @@
+package com.kt.damim.notification.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// 발송 시각 전까지 보관하는 예약 알림, 발송(또는 만료)하면 삭제
+@Entity
+@Table(name = "scheduled_notifications")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledNotification {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private String senderId;
+    
+    @Column(nullable = false)
+    private String receiverId;
+    
+    @Column(nullable = false)
+    private String message;
+    
+    @Column(nullable = false)
+    private String type;
+    
+    private String groupKey;
+    
+    // 발송 시 notification_idempotency_keys 에 옮겨 기록
+    private String idempotencyKey;
+    
+    @Column(nullable = false)
+    private LocalDateTime deliverAt;
+    
+    // 이 시각까지 발송하지 못하면 버림 (null 이면 만료 없음)
+    private LocalDateTime expiresAt;
+    
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,7 @@
+package com.kt.damim.notification.event;
+
+/**
+ * 다른 노드에서 전달받은, 이 노드에 접속한 사용자에게 보낼 직렬화된 메시지
+ */
+public record ClusterDeliveryEvent(String userId, String destination, byte[] payload) {
+}
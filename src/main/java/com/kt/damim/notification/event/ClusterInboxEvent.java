@@ -0,0 +1,9 @@
+package com.kt.damim.notification.event;
+
+import java.util.List;
+
+/**
+ * 다른 노드에서 알림함이 바뀐 사용자 (이 노드의 최신 알림 캐시를 버림)
+ */
+public record ClusterInboxEvent(List<String> userIds) {
+}
@@ -0,0 +1,7 @@
+package com.kt.damim.notification.event;
+
+/**
+ * 다른 노드에서 받은 세그먼트 메시지 (payload 가 null 이면 멤버 변경, 아니면 직렬화된 전체 발송 알림)
+ */
+public record ClusterSegmentEvent(String segmentId, byte[] payload) {
+}
@@ -0,0 +1,21 @@
+package com.kt.damim.notification.event;
+
+import com.kt.damim.notification.dto.NotificationResponse;
+
+import java.util.List;
+
+/**
+ * 알림 저장 이벤트 (트랜잭션 커밋 후 전송 단계로 전달)
+ * <p>
+ * multicast 이면 모든 알림이 수신자별 필드(id, receiverId, createdAt)만 다르다.
+ */
+public record NotificationCreatedEvent(List<NotificationResponse> notifications, boolean multicast) {
+
+    public NotificationCreatedEvent(List<NotificationResponse> notifications) {
+        this(notifications, false);
+    }
+
+    public NotificationCreatedEvent(NotificationResponse notification) {
+        this(List.of(notification), false);
+    }
+}
@@ -0,0 +1,9 @@
+package com.kt.damim.notification.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * 예약 알림 접수/취소 이벤트 (트랜잭션 커밋 후 타이밍 휠에 반영, 취소면 deliverAt 은 null)
+ */
+public record NotificationScheduleChangedEvent(Long scheduledId, LocalDateTime deliverAt, boolean canceled) {
+}
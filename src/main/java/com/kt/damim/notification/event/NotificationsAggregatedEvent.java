@@ -0,0 +1,11 @@
+package com.kt.damim.notification.event;
+
+import com.kt.damim.notification.dto.NotificationResponse;
+
+import java.util.List;
+
+/**
+ * 집계 알림 갱신 이벤트 (기존 행에 합쳐진 최신 상태, 트랜잭션 커밋 후 전송/개수 캐시에 반영)
+ */
+public record NotificationsAggregatedEvent(List<NotificationResponse> notifications) {
+}
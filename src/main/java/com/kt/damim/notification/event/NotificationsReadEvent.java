@@ -0,0 +1,17 @@
+package com.kt.damim.notification.event;
+
+import com.kt.damim.notification.dto.NotificationCursor;
+
+import java.util.List;
+
+/**
+ * 읽음 처리 이벤트 (트랜잭션 커밋 후 읽지 않은 개수 캐시와 최신 알림 캐시에 반영)
+ * <p>
+ * notificationIds 가 있으면 그 알림만, upTo 가 있으면 그 위치(포함)까지, 둘 다 null 이면 보존 기간 안의 모든 알림을 읽음 처리한 것이다.
+ */
+public record NotificationsReadEvent(String receiverId, int count, List<Long> notificationIds, NotificationCursor upTo) {
+
+    public NotificationsReadEvent(String receiverId, int count) {
+        this(receiverId, count, null, null);
+    }
+}
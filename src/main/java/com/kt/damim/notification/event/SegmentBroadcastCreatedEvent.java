@@ -0,0 +1,9 @@
+package com.kt.damim.notification.event;
+
+import com.kt.damim.notification.dto.BroadcastNotificationResponse;
+
+/**
+ * 세그먼트 전체 발송 저장 이벤트 (트랜잭션 커밋 후 접속 중인 멤버에게 전송)
+ */
+public record SegmentBroadcastCreatedEvent(BroadcastNotificationResponse broadcast) {
+}
@@ -0,0 +1,9 @@
+package com.kt.damim.notification.event;
+
+import java.util.List;
+
+/**
+ * 세그먼트 멤버 추가/삭제 이벤트 (트랜잭션 커밋 후 비트맵 인덱스에 반영)
+ */
+public record SegmentMembershipChangedEvent(String segmentId, List<String> userIds, boolean added) {
+}
@@ -0,0 +1,7 @@
+package com.kt.damim.notification.event;
+
+/**
+ * 이 노드에서 사용자의 첫 세션이 연결되거나 마지막 세션이 해제됨 (클러스터 접속 정보 전파용)
+ */
+public record UserPresenceChangedEvent(String userId, boolean online) {
+}
@@ -0,0 +1,15 @@
+package com.kt.damim.notification.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 일괄 전송 요청 건수가 허용치를 넘을 때 사용 (400)
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BatchTooLargeException extends RuntimeException {
+
+    public BatchTooLargeException(int size, int maxSize) {
+        super("일괄 전송 최대 건수를 초과했습니다: size=" + size + ", max=" + maxSize);
+    }
+}
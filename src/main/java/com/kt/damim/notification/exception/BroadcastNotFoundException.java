@@ -0,0 +1,15 @@
+package com.kt.damim.notification.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 없거나 보존 기간이 지났거나 사용자가 멤버가 아닌 세그먼트의 발송을 읽음 처리할 때 (404)
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class BroadcastNotFoundException extends RuntimeException {
+
+    public BroadcastNotFoundException(Long broadcastId) {
+        super("전체 발송이 없습니다: " + broadcastId);
+    }
+}
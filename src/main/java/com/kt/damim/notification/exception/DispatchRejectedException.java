@@ -0,0 +1,15 @@
+package com.kt.damim.notification.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 전송 큐 포화로 요청을 거부할 때 사용 (429)
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class DispatchRejectedException extends RuntimeException {
+
+    public DispatchRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.kt.damim.notification.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 이미 사용된 멱등 키의 원래 알림을 찾을 수 없을 때 사용 (409)
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String idempotencyKey) {
+        super("이미 사용된 멱등 키입니다: " + idempotencyKey);
+    }
+}
@@ -0,0 +1,15 @@
+package com.kt.damim.notification.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 페이지네이션 커서를 해석할 수 없을 때 사용 (400)
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor) {
+        super("잘못된 커서입니다: " + cursor);
+    }
+}
@@ -0,0 +1,15 @@
+package com.kt.damim.notification.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 예약 발송 시각/만료 시각이 올바르지 않을 때 사용 (400)
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidScheduleException extends RuntimeException {
+
+    public InvalidScheduleException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.kt.damim.notification.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 발신자/수신자별 발송 한도를 넘었을 때 사용 (429)
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class RateLimitExceededException extends RuntimeException {
+
+    public RateLimitExceededException(String scope, String id) {
+        super("발송 한도를 초과했습니다: " + scope + "=" + id);
+    }
+}
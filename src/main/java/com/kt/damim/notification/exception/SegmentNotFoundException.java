@@ -0,0 +1,15 @@
+package com.kt.damim.notification.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 멤버가 한 번도 등록되지 않은 세그먼트를 사용할 때 (404)
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class SegmentNotFoundException extends RuntimeException {
+
+    public SegmentNotFoundException(String segmentId) {
+        super("세그먼트가 없습니다: " + segmentId);
+    }
+}
@@ -0,0 +1,143 @@
+package com.kt.damim.notification.metrics;
+
+import com.kt.damim.notification.service.SessionRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * 알림 저장/전송/세션 단계 메트릭
+ */
+@Component
+public class NotificationMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Timer persistTimer;
+    private final Timer pushTimer;
+    // 전송 결과는 목적지 종류별로 나눔 (읽지 않은 개수/세그먼트 발송이 알림 전송 수에 섞이지 않도록)
+    private final Map<String, Counter> deliveredOnline;
+    private final Map<String, Counter> deliveredOffline;
+    private final Map<String, Counter> deliveryFailed;
+    private final Counter aggregationMerged;
+    private final Counter sessionConnects;
+    private final Counter sessionSubscribes;
+    private final Counter sessionDisconnects;
+
+    public NotificationMetrics(MeterRegistry meterRegistry, SessionRegistry sessionRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.persistTimer = Timer.builder("notification.persist")
+                .description("알림 저장 트랜잭션 시작부터 커밋까지의 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.pushTimer = Timer.builder("notification.push")
+                .description("브로커로 메시지를 넘기는 데 걸린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.deliveredOnline = deliveryCounters("online");
+        this.deliveredOffline = deliveryCounters("offline");
+        this.deliveryFailed = deliveryCounters("failed");
+        this.aggregationMerged = Counter.builder("notification.aggregation.merged")
+                .description("새 행 대신 기존 집계 알림에 합쳐진 알림 수")
+                .register(meterRegistry);
+        this.sessionConnects = sessionEventCounter("connect");
+        this.sessionSubscribes = sessionEventCounter("subscribe");
+        this.sessionDisconnects = sessionEventCounter("disconnect");
+
+        Gauge.builder("notification.sessions.active", sessionRegistry, SessionRegistry::getConnectedSessionCount)
+                .description("연결된 WebSocket 세션 수")
+                .register(meterRegistry);
+        Gauge.builder("notification.users.online", sessionRegistry, SessionRegistry::getOnlineUserCount)
+                .description("알림 토픽을 구독 중인 사용자 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 현재 트랜잭션의 커밋 시점까지 저장 시간을 측정
+     */
+    public void timePersistUntilCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sample.stop(persistTimer);
+            }
+        });
+    }
+
+    /**
+     * 새 행 없이 집계 알림에 합쳐진 요청 (저장 시간은 재지 않음)
+     */
+    public void recordMerged() {
+        aggregationMerged.increment();
+    }
+
+    public Timer.Sample startPush() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void recordPushed(Timer.Sample sample, String destination) {
+        sample.stop(pushTimer);
+        deliveredOnline.get(topicOf(destination)).increment();
+    }
+
+    public void recordOffline(String destination) {
+        deliveredOffline.get(topicOf(destination)).increment();
+    }
+
+    public void recordPushFailed(String destination) {
+        deliveryFailed.get(topicOf(destination)).increment();
+    }
+
+    public void recordConnect() {
+        sessionConnects.increment();
+    }
+
+    public void recordSubscribe() {
+        sessionSubscribes.increment();
+    }
+
+    public void recordDisconnect() {
+        sessionDisconnects.increment();
+    }
+
+    private Map<String, Counter> deliveryCounters(String outcome) {
+        return Map.of(
+                "notification", deliveryCounter(outcome, "notification"),
+                "unread-count", deliveryCounter(outcome, "unread-count"),
+                "broadcast", deliveryCounter(outcome, "broadcast"));
+    }
+
+    private Counter deliveryCounter(String outcome, String topic) {
+        return Counter.builder("notification.delivery")
+                .description("실시간 전송 결과")
+                .tag("outcome", outcome)
+                .tag("topic", topic)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 목적지 토픽 종류 (/topic/notifications/{userId} 뒤의 접미사)
+     */
+    private static String topicOf(String destination) {
+        if (destination.endsWith("/unread-count")) {
+            return "unread-count";
+        }
+        return destination.endsWith("/broadcasts") ? "broadcast" : "notification";
+    }
+
+    private Counter sessionEventCounter(String event) {
+        return Counter.builder("notification.sessions.events")
+                .description("WebSocket 세션 이벤트 수")
+                .tag("event", event)
+                .register(meterRegistry);
+    }
+}
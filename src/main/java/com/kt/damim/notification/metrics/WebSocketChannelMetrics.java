@@ -0,0 +1,67 @@
+package com.kt.damim.notification.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * STOMP 채널 실행기와 simple broker 스케줄러의 대기열 길이 게이지
+ */
+@Component
+public class WebSocketChannelMetrics implements MeterBinder {
+
+    private final AbstractSubscribableChannel clientInboundChannel;
+    private final AbstractSubscribableChannel clientOutboundChannel;
+    private final TaskScheduler messageBrokerTaskScheduler;
+
+    public WebSocketChannelMetrics(@Qualifier("clientInboundChannel") AbstractSubscribableChannel clientInboundChannel,
+                                   @Qualifier("clientOutboundChannel") AbstractSubscribableChannel clientOutboundChannel,
+                                   @Qualifier("messageBrokerTaskScheduler") TaskScheduler messageBrokerTaskScheduler) {
+        this.clientInboundChannel = clientInboundChannel;
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("notification.channel.queue.size", clientInboundChannel, WebSocketChannelMetrics::queueSize)
+                .description("STOMP 채널 실행기 대기열 길이")
+                .tag("channel", "inbound")
+                .register(registry);
+        Gauge.builder("notification.channel.queue.size", clientOutboundChannel, WebSocketChannelMetrics::queueSize)
+                .description("STOMP 채널 실행기 대기열 길이")
+                .tag("channel", "outbound")
+                .register(registry);
+        Gauge.builder("notification.broker.task.backlog", messageBrokerTaskScheduler, WebSocketChannelMetrics::schedulerBacklog)
+                .description("simple broker 스케줄러 대기 작업 수")
+                .register(registry);
+    }
+
+    private static double queueSize(AbstractSubscribableChannel channel) {
+        Executor executor = channel instanceof ExecutorSubscribableChannel executorChannel ? executorChannel.getExecutor() : null;
+        if (executor instanceof ThreadPoolTaskExecutor taskExecutor) {
+            return taskExecutor.getThreadPoolExecutor().getQueue().size();
+        }
+        if (executor instanceof ThreadPoolExecutor threadPoolExecutor) {
+            return threadPoolExecutor.getQueue().size();
+        }
+        return 0;
+    }
+
+    private static double schedulerBacklog(TaskScheduler scheduler) {
+        if (scheduler instanceof ThreadPoolTaskScheduler taskScheduler) {
+            return taskScheduler.getScheduledThreadPoolExecutor().getQueue().size();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,57 @@
+package com.kt.damim.notification.repository;
+
+import com.kt.damim.notification.entity.BroadcastNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BroadcastNotificationRepository extends JpaRepository<BroadcastNotification, Long> {
+    
+    // 사용자가 속한 세그먼트의 발송을 키셋 페이지로 조회 (보존 기간 이후만)
+    @Query("SELECT b FROM BroadcastNotification b WHERE b.segmentId IN :segmentIds AND b.createdAt >= :since " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BroadcastNotification> findFirstPage(@Param("segmentIds") Collection<String> segmentIds,
+                                              @Param("since") LocalDateTime since,
+                                              Pageable pageable);
+    
+    @Query("SELECT b FROM BroadcastNotification b WHERE b.segmentId IN :segmentIds AND b.createdAt >= :since " +
+           "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BroadcastNotification> findPageAfter(@Param("segmentIds") Collection<String> segmentIds,
+                                              @Param("since") LocalDateTime since,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+    
+    // 읽음 기록이 있는 발송 ID (행이 없으면 읽지 않음)
+    @Query(value = "SELECT broadcast_id FROM broadcast_reads WHERE user_id = :userId AND broadcast_id IN (:broadcastIds)",
+           nativeQuery = true)
+    List<Long> findReadIds(@Param("userId") String userId, @Param("broadcastIds") Collection<Long> broadcastIds);
+    
+    @Modifying
+    @Query(value = "INSERT INTO broadcast_reads (broadcast_id, user_id, read_at) VALUES (:broadcastId, :userId, :readAt) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int markAsRead(@Param("broadcastId") Long broadcastId, @Param("userId") String userId, @Param("readAt") LocalDateTime readAt);
+    
+    // 보존 기간이 지난 발송의 읽음 기록 (발송보다 먼저 삭제)
+    @Modifying
+    @Query(value = "DELETE FROM broadcast_reads WHERE (broadcast_id, user_id) IN (" +
+                   "SELECT r.broadcast_id, r.user_id FROM broadcast_reads r JOIN broadcast_notifications b ON b.id = r.broadcast_id " +
+                   "WHERE b.created_at < :before LIMIT :limit)",
+           nativeQuery = true)
+    int deleteReadsOfBroadcastsBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+    
+    @Modifying
+    @Query(value = "DELETE FROM broadcast_notifications WHERE id IN (" +
+                   "SELECT id FROM broadcast_notifications WHERE created_at < :before LIMIT :limit)",
+           nativeQuery = true)
+    int deleteBroadcastsBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -0,0 +1,56 @@
+package com.kt.damim.notification.repository;
+
+import com.kt.damim.notification.entity.NotificationOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+    
+    // 재전송 시각이 지난 미기록 행을 알림 ID 순으로 잠금, 다른 노드가 잡은 행은 건너뜀 (SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM NotificationOutbox o WHERE o.status = com.kt.damim.notification.entity.NotificationOutbox.Status.PENDING " +
+           "AND o.nextAttemptAt <= :now ORDER BY o.notificationId")
+    List<NotificationOutbox> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    // 실시간/재전송 결과 기록 (이미 결과가 기록된 행은 그대로 둠)
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.status = :status, o.updatedAt = :now " +
+           "WHERE o.notificationId IN :ids AND o.status = com.kt.damim.notification.entity.NotificationOutbox.Status.PENDING")
+    int recordOutcome(@Param("ids") Collection<Long> ids,
+                      @Param("status") NotificationOutbox.Status status,
+                      @Param("now") LocalDateTime now);
+    
+    // 전송 완료 기록 (미접속/포기로 기록된 알림도 재접속 재전송으로 전달되면 DELIVERED 로 바꿈)
+    @Modifying
+    @Query("UPDATE NotificationOutbox o SET o.status = com.kt.damim.notification.entity.NotificationOutbox.Status.DELIVERED, o.updatedAt = :now " +
+           "WHERE o.notificationId IN :ids AND o.status <> com.kt.damim.notification.entity.NotificationOutbox.Status.DELIVERED")
+    int recordDelivered(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+    
+    // 보존 작업: 전송 완료된 지 오래된 행을 배치 단위로 삭제
+    @Modifying
+    @Query(value = "DELETE FROM notification_outbox WHERE notification_id IN (" +
+                   "SELECT notification_id FROM notification_outbox WHERE status = 'DELIVERED' AND updated_at < :before LIMIT :limit)",
+           nativeQuery = true)
+    int deleteDeliveredBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+    
+    // 보존 작업: 재접속 재전송 대상(OFFLINE/FAILED) 중 보존 기간 밖 행을 배치 단위로 삭제
+    @Modifying
+    @Query(value = "DELETE FROM notification_outbox WHERE notification_id IN (" +
+                   "SELECT notification_id FROM notification_outbox WHERE status IN ('OFFLINE', 'FAILED') AND updated_at < :before LIMIT :limit)",
+           nativeQuery = true)
+    int deleteUndeliveredBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -1,20 +1,150 @@
 package com.kt.damim.notification.repository;
 
+import com.kt.damim.notification.dto.NotificationResponse;
 import com.kt.damim.notification.entity.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     
-    List<Notification> findByReceiverIdOrderByCreatedAtDesc(String receiverId);
+    // 키셋 페이지네이션 조회는 엔티티 대신 NotificationResponse 로 바로 프로젝션
+    // 목록/개수 조회는 since(보존 기간 시작) 이후만 보므로 보존 기간 안의 월 파티션만 스캔
+    @Query("SELECT new com.kt.damim.notification.dto.NotificationResponse(n.id, n.senderId, n.receiverId, n.message, n.type, n.isRead, n.createdAt, n.groupKey, n.aggregateCount) " +
+           "FROM Notification n WHERE n.receiverId = :receiverId AND n.createdAt >= :since " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationResponse> findFirstPage(@Param("receiverId") String receiverId,
+                                             @Param("since") LocalDateTime since,
+                                             Pageable pageable);
     
-    List<Notification> findByReceiverIdAndIsReadFalseOrderByCreatedAtDesc(String receiverId);
+    @Query("SELECT new com.kt.damim.notification.dto.NotificationResponse(n.id, n.senderId, n.receiverId, n.message, n.type, n.isRead, n.createdAt, n.groupKey, n.aggregateCount) " +
+           "FROM Notification n WHERE n.receiverId = :receiverId AND n.createdAt >= :since " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationResponse> findPageAfter(@Param("receiverId") String receiverId,
+                                             @Param("since") LocalDateTime since,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
     
-    @Query("SELECT COUNT(n) FROM Notification n WHERE n.receiverId = :receiverId AND n.isRead = false")
-    long countUnreadNotifications(@Param("receiverId") String receiverId);
+    @Query("SELECT new com.kt.damim.notification.dto.NotificationResponse(n.id, n.senderId, n.receiverId, n.message, n.type, n.isRead, n.createdAt, n.groupKey, n.aggregateCount) " +
+           "FROM Notification n WHERE n.receiverId = :receiverId AND n.isRead = false AND n.createdAt >= :since " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationResponse> findUnreadFirstPage(@Param("receiverId") String receiverId,
+                                                   @Param("since") LocalDateTime since,
+                                                   Pageable pageable);
+    
+    @Query("SELECT new com.kt.damim.notification.dto.NotificationResponse(n.id, n.senderId, n.receiverId, n.message, n.type, n.isRead, n.createdAt, n.groupKey, n.aggregateCount) " +
+           "FROM Notification n WHERE n.receiverId = :receiverId AND n.isRead = false AND n.createdAt >= :since " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationResponse> findUnreadPageAfter(@Param("receiverId") String receiverId,
+                                                   @Param("since") LocalDateTime since,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
+    
+    // 재접속 시 재전송할 알림: outbox 에 전송 완료(DELIVERED)로 기록되지 않은 알림과 resumeAfterId(SSE Last-Event-ID) 이후 알림 (ID 오름차순)
+    // 알림 ID 는 노드별로 미리 할당되어 커밋/전송 순서와 다르므로 ID 커서만으로 판단하지 않는다.
+    @Query("SELECT new com.kt.damim.notification.dto.NotificationResponse(n.id, n.senderId, n.receiverId, n.message, n.type, n.isRead, n.createdAt, n.groupKey, n.aggregateCount) " +
+           "FROM NotificationOutbox o JOIN Notification n ON n.id = o.notificationId " +
+           "WHERE o.receiverId = :receiverId AND n.createdAt >= :since " +
+           "AND (o.status <> com.kt.damim.notification.entity.NotificationOutbox.Status.DELIVERED OR o.notificationId > :resumeAfterId) " +
+           "ORDER BY n.id ASC")
+    List<NotificationResponse> findUndelivered(@Param("receiverId") String receiverId,
+                                               @Param("resumeAfterId") Long resumeAfterId,
+                                               @Param("since") LocalDateTime since,
+                                               Pageable pageable);
+    
+    // 읽음 처리는 엔티티를 로드하지 않고 단일 UPDATE 로 수행
+    // ID 로만 찾는 쿼리도 since 조건을 붙여 보존 기간 안의 월 파티션만 스캔 (ID 만으로는 파티션을 고를 수 없음)
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :id AND n.isRead = false AND n.createdAt >= :since")
+    int markAsRead(@Param("id") Long id, @Param("since") LocalDateTime since);
+    
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.receiverId = :receiverId AND n.id IN :ids AND n.isRead = false " +
+           "AND n.createdAt >= :since")
+    int markAsReadByIds(@Param("receiverId") String receiverId,
+                        @Param("ids") Collection<Long> ids,
+                        @Param("since") LocalDateTime since);
+    
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.receiverId = :receiverId AND n.isRead = false " +
+           "AND n.createdAt >= :since")
+    int markAllAsRead(@Param("receiverId") String receiverId, @Param("since") LocalDateTime since);
+    
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.receiverId = :receiverId AND n.isRead = false " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id <= :id))")
+    int markAllAsReadUpTo(@Param("receiverId") String receiverId,
+                          @Param("createdAt") LocalDateTime createdAt,
+                          @Param("id") Long id);
+    
+    // 집계 창이 열려 있는 행에 합쳐진 최신 상태 반영 (다시 읽지 않음으로 표시)
+    @Modifying
+    @Query("UPDATE Notification n SET n.aggregateCount = :aggregateCount, n.senderId = :senderId, n.message = :message, " +
+           "n.isRead = false WHERE n.id = :id AND n.createdAt = :createdAt")
+    int updateAggregate(@Param("id") Long id,
+                        @Param("createdAt") LocalDateTime createdAt,
+                        @Param("aggregateCount") int aggregateCount,
+                        @Param("senderId") String senderId,
+                        @Param("message") String message);
+    
+    // outbox 재전송용 (ID 순)
+    @Query("SELECT new com.kt.damim.notification.dto.NotificationResponse(n.id, n.senderId, n.receiverId, n.message, n.type, n.isRead, n.createdAt, n.groupKey, n.aggregateCount) " +
+           "FROM Notification n WHERE n.id IN :ids AND n.createdAt >= :since ORDER BY n.id")
+    List<NotificationResponse> findResponsesByIds(@Param("ids") Collection<Long> ids, @Param("since") LocalDateTime since);
+    
+    // 멱등 키 선점: 이미 있으면 0 (같은 키의 동시 요청은 먼저 들어온 트랜잭션이 끝날 때까지 대기)
+    @Modifying
+    @Query(value = "INSERT INTO notification_idempotency_keys (sender_id, idempotency_key, notification_id, created_at) " +
+                   "VALUES (:senderId, :idempotencyKey, :notificationId, :createdAt) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int claimIdempotencyKey(@Param("senderId") String senderId,
+                            @Param("idempotencyKey") String idempotencyKey,
+                            @Param("notificationId") Long notificationId,
+                            @Param("createdAt") LocalDateTime createdAt);
+    
+    @Query(value = "SELECT notification_id FROM notification_idempotency_keys WHERE sender_id = :senderId AND idempotency_key = :idempotencyKey",
+           nativeQuery = true)
+    Optional<Long> findIdByIdempotencyKey(@Param("senderId") String senderId, @Param("idempotencyKey") String idempotencyKey);
+    
+    // 보존 작업: 보관 기간이 지난 멱등 키를 배치 단위로 삭제
+    @Modifying
+    @Query(value = "DELETE FROM notification_idempotency_keys WHERE (sender_id, idempotency_key) IN (" +
+                   "SELECT sender_id, idempotency_key FROM notification_idempotency_keys WHERE created_at < :before LIMIT :limit)",
+           nativeQuery = true)
+    int deleteIdempotencyKeysBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+    
+    @Query("SELECT n.receiverId FROM Notification n WHERE n.id = :id AND n.createdAt >= :since")
+    Optional<String> findReceiverIdById(@Param("id") Long id, @Param("since") LocalDateTime since);
+    
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.receiverId = :receiverId AND n.isRead = false " +
+           "AND n.createdAt >= :since")
+    long countUnreadNotifications(@Param("receiverId") String receiverId, @Param("since") LocalDateTime since);
+    
+    // 최신 알림 캐시에 올린 링보다 오래된 (createdAt, id) 읽지 않은 알림 수
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.receiverId = :receiverId AND n.isRead = false " +
+           "AND n.createdAt >= :since AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id))")
+    long countUnreadBefore(@Param("receiverId") String receiverId,
+                           @Param("since") LocalDateTime since,
+                           @Param("createdAt") LocalDateTime createdAt,
+                           @Param("id") Long id);
+    
+    // 보존 작업: 읽은 지 오래된 알림을 배치 단위로 삭제 (created_at 조건으로 대상 파티션만 스캔, 읽은 행 부분 인덱스 사용)
+    @Modifying
+    @Query(value = "DELETE FROM notifications WHERE created_at < :before AND id IN (" +
+                   "SELECT id FROM notifications WHERE is_read = true AND created_at < :before LIMIT :limit)",
+           nativeQuery = true)
+    int deleteReadBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
 }
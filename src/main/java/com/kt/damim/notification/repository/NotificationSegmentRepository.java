@@ -0,0 +1,47 @@
+package com.kt.damim.notification.repository;
+
+import com.kt.damim.notification.entity.NotificationSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationSegmentRepository extends JpaRepository<NotificationSegment, String> {
+    
+    @Modifying
+    @Query(value = "INSERT INTO notification_segments (segment_id, created_at) VALUES (:segmentId, :createdAt) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int createIfAbsent(@Param("segmentId") String segmentId, @Param("createdAt") LocalDateTime createdAt);
+    
+    // 이미 멤버면 무시
+    @Modifying
+    @Query(value = "INSERT INTO notification_segment_members (segment_id, user_id) VALUES (:segmentId, :userId) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int addMember(@Param("segmentId") String segmentId, @Param("userId") String userId);
+    
+    @Modifying
+    @Query(value = "DELETE FROM notification_segment_members WHERE segment_id = :segmentId AND user_id IN (:userIds)",
+           nativeQuery = true)
+    int removeMembers(@Param("segmentId") String segmentId, @Param("userIds") Collection<String> userIds);
+    
+    // 기본 키 순서의 키셋 페이지
+    @Query(value = "SELECT user_id FROM notification_segment_members WHERE segment_id = :segmentId AND user_id > :afterUserId " +
+                   "ORDER BY user_id LIMIT :limit",
+           nativeQuery = true)
+    List<String> findMemberIdsAfter(@Param("segmentId") String segmentId,
+                                    @Param("afterUserId") String afterUserId,
+                                    @Param("limit") int limit);
+    
+    @Query(value = "SELECT COUNT(*) FROM notification_segment_members WHERE segment_id = :segmentId AND user_id = :userId",
+           nativeQuery = true)
+    int countMember(@Param("segmentId") String segmentId, @Param("userId") String userId);
+    
+    @Query(value = "SELECT segment_id FROM notification_segment_members WHERE user_id = :userId", nativeQuery = true)
+    List<String> findSegmentIdsByUserId(@Param("userId") String userId);
+}
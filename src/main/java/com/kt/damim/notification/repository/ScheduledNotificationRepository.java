@@ -0,0 +1,56 @@
+package com.kt.damim.notification.repository;
+
+import com.kt.damim.notification.entity.ScheduledNotification;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ScheduledNotificationRepository extends JpaRepository<ScheduledNotification, Long> {
+    
+    /**
+     * 타이밍 휠에 올릴 때 필요한 값만 조회
+     */
+    interface PendingTimer {
+        Long getId();
+        
+        LocalDateTime getDeliverAt();
+    }
+    
+    // 발송 시각이 until 이전인 예약을 (deliverAt, id) 키셋 페이지로 조회
+    @Query("SELECT s.id AS id, s.deliverAt AS deliverAt FROM ScheduledNotification s WHERE s.deliverAt < :until " +
+           "ORDER BY s.deliverAt, s.id")
+    List<PendingTimer> findTimersFirstPage(@Param("until") LocalDateTime until, Pageable pageable);
+    
+    @Query("SELECT s.id AS id, s.deliverAt AS deliverAt FROM ScheduledNotification s WHERE s.deliverAt < :until " +
+           "AND (s.deliverAt > :deliverAt OR (s.deliverAt = :deliverAt AND s.id > :id)) " +
+           "ORDER BY s.deliverAt, s.id")
+    List<PendingTimer> findTimersAfter(@Param("deliverAt") LocalDateTime deliverAt,
+                                       @Param("id") Long id,
+                                       @Param("until") LocalDateTime until,
+                                       Pageable pageable);
+    
+    // 발송할 예약을 잠금, 다른 노드가 발송 중인 행은 건너뜀 (SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT s FROM ScheduledNotification s WHERE s.id IN :ids")
+    List<ScheduledNotification> lockByIds(@Param("ids") Collection<Long> ids);
+    
+    Optional<ScheduledNotification> findBySenderIdAndIdempotencyKey(String senderId, String idempotencyKey);
+    
+    @Modifying
+    @Query("DELETE FROM ScheduledNotification s WHERE s.id = :id")
+    int deleteScheduled(@Param("id") Long id);
+}
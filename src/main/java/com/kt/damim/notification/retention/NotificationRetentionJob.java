@@ -0,0 +1,330 @@
+package com.kt.damim.notification.retention;
+
+import com.kt.damim.notification.repository.BroadcastNotificationRepository;
+import com.kt.damim.notification.repository.NotificationOutboxRepository;
+import com.kt.damim.notification.repository.NotificationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 알림 보존 작업
+ * <p>
+ * PostgreSQL 에서는 앞으로 쓸 월 파티션을 미리 만들고, 보존 기간(hot-months)이 지난 파티션은 분리해
+ * notification_archive 스키마(선택적으로 별도 테이블스페이스)로 옮긴 뒤 보관 기간이 지나면 삭제한다.
+ * 읽은 지 read-ttl 이 지난 알림, 전송 완료된 outbox 행, 보관 기간이 지난 멱등 키는 DB 종류와 관계없이 배치 단위로 삭제한다.
+ * 전송되지 않은 outbox 행(OFFLINE/FAILED)은 재접속 재전송 대상이므로 보존 기간 밖이 될 때까지 둔다.
+ * 세그먼트 전체 발송과 읽음 기록은 알림함 조회 범위인 보존 기간 밖이 되면 삭제한다.
+ * (H2 에서는 삭제만 수행)
+ * <p>
+ * 오래 걸리는 삭제와 DDL 이 공유 스케줄러 스레드를 붙잡지 않도록 cron 트리거는 전용 스레드에 넘기기만 한다.
+ */
+@Component
+@Slf4j
+public class NotificationRetentionJob {
+
+    private static final String PARENT_TABLE = "notifications";
+    private static final String DEFAULT_PARTITION = "notifications_default";
+    private static final String ARCHIVE_SCHEMA = "notification_archive";
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("notifications_(\\d{6})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    // 여러 노드가 동시에 파티션 DDL 을 실행하지 않도록 잡는 advisory lock 키
+    private static final long MAINTENANCE_LOCK_KEY = 7_305_001L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationRepository notificationRepository;
+    private final NotificationOutboxRepository outboxRepository;
+    private final BroadcastNotificationRepository broadcastRepository;
+    private final RetentionWindow retentionWindow;
+    private final int premakeMonths;
+    private final Duration readTtl;
+    private final int purgeBatchSize;
+    private final String archiveTablespace;
+    private final int archiveDropAfterMonths;
+    private final Duration outboxRetention;
+    private final Duration idempotencyKeyTtl;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-retention");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile Boolean postgres;
+
+    public NotificationRetentionJob(JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    NotificationRepository notificationRepository,
+                                    NotificationOutboxRepository outboxRepository,
+                                    BroadcastNotificationRepository broadcastRepository,
+                                    RetentionWindow retentionWindow,
+                                    @Value("${notification.retention.premake-months:3}") int premakeMonths,
+                                    @Value("${notification.retention.read-ttl:90d}") Duration readTtl,
+                                    @Value("${notification.retention.purge-batch-size:5000}") int purgeBatchSize,
+                                    @Value("${notification.retention.archive-tablespace:}") String archiveTablespace,
+                                    @Value("${notification.retention.archive-drop-after-months:0}") int archiveDropAfterMonths,
+                                    @Value("${notification.outbox.retention:1d}") Duration outboxRetention,
+                                    @Value("${notification.idempotency.ttl:24h}") Duration idempotencyKeyTtl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.notificationRepository = notificationRepository;
+        this.outboxRepository = outboxRepository;
+        this.broadcastRepository = broadcastRepository;
+        this.retentionWindow = retentionWindow;
+        this.premakeMonths = premakeMonths;
+        this.readTtl = readTtl;
+        this.purgeBatchSize = purgeBatchSize;
+        this.archiveTablespace = archiveTablespace;
+        this.archiveDropAfterMonths = archiveDropAfterMonths;
+        this.outboxRetention = outboxRetention;
+        this.idempotencyKeyTtl = idempotencyKeyTtl;
+    }
+
+    /**
+     * 기동 시 이번 달과 다음 premake-months 개월 파티션 확보
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareUpcomingPartitions() {
+        if (isPostgres()) {
+            withMaintenanceLock(this::createUpcomingPartitions);
+        }
+    }
+
+    @Scheduled(cron = "${notification.retention.cron:0 30 3 * * *}")
+    public void trigger() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("이전 보존 작업이 아직 실행 중이므로 생략");
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                run();
+            } catch (RuntimeException e) {
+                log.warn("보존 작업 실패: error={}", e.getMessage(), e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public void run() {
+        if (isPostgres()) {
+            boolean ran = withMaintenanceLock(connection -> {
+                createUpcomingPartitions(connection);
+                archiveExpiredPartitions(connection);
+                dropExpiredArchives(connection);
+                warnIfDefaultPartitionUsed(connection);
+            });
+            if (!ran) {
+                log.info("다른 노드에서 파티션 보존 작업 실행 중이므로 생략");
+                return;
+            }
+        }
+        purgeReadNotifications();
+        purgeDeliveryRecords();
+        purgeBroadcasts();
+    }
+
+    /**
+     * 읽은 지 read-ttl 이 지난 알림 삭제 (배치마다 별도 트랜잭션)
+     *
+     * @return 삭제한 건수
+     */
+    public int purgeReadNotifications() {
+        LocalDateTime before = LocalDateTime.now().minus(readTtl);
+        int total = purgeInBatches(() -> notificationRepository.deleteReadBefore(before, purgeBatchSize));
+        log.info("읽은 알림 정리 완료: before={}, deleted={}", before, total);
+        return total;
+    }
+
+    /**
+     * 전송 완료된 지 outbox.retention 이 지난 outbox 행, 보존 기간 밖의 미전송 outbox 행, idempotency.ttl 이 지난 멱등 키 삭제
+     */
+    public void purgeDeliveryRecords() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime outboxBefore = now.minus(outboxRetention);
+        LocalDateTime undeliveredBefore = retentionWindow.since();
+        LocalDateTime keysBefore = now.minus(idempotencyKeyTtl);
+        int outboxDeleted = purgeInBatches(() -> outboxRepository.deleteDeliveredBefore(outboxBefore, purgeBatchSize))
+                + purgeInBatches(() -> outboxRepository.deleteUndeliveredBefore(undeliveredBefore, purgeBatchSize));
+        int keysDeleted = purgeInBatches(() -> notificationRepository.deleteIdempotencyKeysBefore(keysBefore, purgeBatchSize));
+        log.info("전송 기록 정리 완료: outbox={}, idempotencyKeys={}", outboxDeleted, keysDeleted);
+    }
+
+    /**
+     * 보존 기간 밖의 세그먼트 전체 발송과 그 읽음 기록 삭제
+     */
+    public void purgeBroadcasts() {
+        LocalDateTime before = retentionWindow.since();
+        int readsDeleted = purgeInBatches(() -> broadcastRepository.deleteReadsOfBroadcastsBefore(before, purgeBatchSize));
+        int broadcastsDeleted = purgeInBatches(() -> broadcastRepository.deleteBroadcastsBefore(before, purgeBatchSize));
+        log.info("전체 발송 정리 완료: before={}, broadcasts={}, reads={}", before, broadcastsDeleted, readsDeleted);
+    }
+
+    // 배치마다 별도 트랜잭션으로 삭제, 마지막 배치가 가득 차지 않을 때까지 반복
+    private int purgeInBatches(IntSupplier deleteBatch) {
+        int total = 0;
+        int deleted;
+        do {
+            Integer batch = transactionTemplate.execute(status -> deleteBatch.getAsInt());
+            deleted = batch != null ? batch : 0;
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+        return total;
+    }
+
+    private void createUpcomingPartitions(Connection connection) throws SQLException {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= premakeMonths; i++) {
+            YearMonth month = current.plusMonths(i);
+            execute(connection, String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                    partitionName(month), PARENT_TABLE, month.atDay(1), month.plusMonths(1).atDay(1)));
+        }
+    }
+
+    /**
+     * 보존 기간이 지난 파티션을 분리해 보관 스키마로 이동 (조회/인덱스 유지 대상에서 제외)
+     */
+    private void archiveExpiredPartitions(Connection connection) throws SQLException {
+        YearMonth oldestHotMonth = retentionWindow.oldestHotMonth();
+        List<String> partitions = queryNames(connection,
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = '" + PARENT_TABLE + "'::regclass");
+        for (String partition : partitions) {
+            YearMonth month = monthOf(partition);
+            if (month == null || !month.isBefore(oldestHotMonth)) {
+                continue;
+            }
+            execute(connection, "ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partition);
+            execute(connection, "ALTER TABLE " + partition + " SET SCHEMA " + ARCHIVE_SCHEMA);
+            if (StringUtils.hasText(archiveTablespace)) {
+                // 분리된 테이블이라 이동 중에도 notifications 조회/저장을 막지 않음
+                execute(connection, "ALTER TABLE " + ARCHIVE_SCHEMA + "." + partition + " SET TABLESPACE " + archiveTablespace);
+            }
+            log.info("알림 파티션 보관 이동: partition={}", partition);
+        }
+    }
+
+    private void dropExpiredArchives(Connection connection) throws SQLException {
+        if (archiveDropAfterMonths <= 0) {
+            return;
+        }
+        YearMonth dropBefore = retentionWindow.oldestHotMonth().minusMonths(archiveDropAfterMonths);
+        List<String> archives = queryNames(connection,
+                "SELECT tablename FROM pg_tables WHERE schemaname = '" + ARCHIVE_SCHEMA + "'");
+        for (String archive : archives) {
+            YearMonth month = monthOf(archive);
+            if (month != null && month.isBefore(dropBefore)) {
+                execute(connection, "DROP TABLE " + ARCHIVE_SCHEMA + "." + archive);
+                log.info("보관 기간이 지난 알림 파티션 삭제: partition={}", archive);
+            }
+        }
+    }
+
+    private void warnIfDefaultPartitionUsed(Connection connection) throws SQLException {
+        List<String> rows = queryNames(connection, "SELECT 'x' FROM " + DEFAULT_PARTITION + " LIMIT 1");
+        if (!rows.isEmpty()) {
+            log.warn("기본 파티션에 알림이 저장됨: 월 파티션 생성 상태 확인 필요 ({})", DEFAULT_PARTITION);
+        }
+    }
+
+    /**
+     * 세션 advisory lock 을 잡은 연결 하나에서 DDL 을 문장 단위 자동 커밋으로 실행
+     *
+     * @return 다른 노드가 실행 중이라 잠금을 얻지 못했으면 false
+     */
+    private boolean withMaintenanceLock(MaintenanceTask task) {
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!tryLock(connection)) {
+                return false;
+            }
+            try {
+                task.run(connection);
+                return true;
+            } finally {
+                execute(connection, "SELECT pg_advisory_unlock(" + MAINTENANCE_LOCK_KEY + ")");
+            }
+        });
+        return Boolean.TRUE.equals(ran);
+    }
+
+    private boolean tryLock(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT pg_try_advisory_lock(" + MAINTENANCE_LOCK_KEY + ")")) {
+            return resultSet.next() && resultSet.getBoolean(1);
+        }
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            String productName = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            postgres = "PostgreSQL".equalsIgnoreCase(productName);
+        }
+        return postgres;
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static List<String> queryNames(Connection connection, String sql) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                names.add(resultSet.getString(1));
+            }
+        }
+        return names;
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARENT_TABLE + "_" + month.format(PARTITION_SUFFIX);
+    }
+
+    private static YearMonth monthOf(String partition) {
+        Matcher matcher = MONTHLY_PARTITION.matcher(partition);
+        return matcher.matches() ? YearMonth.parse(matcher.group(1), PARTITION_SUFFIX) : null;
+    }
+
+    @FunctionalInterface
+    private interface MaintenanceTask {
+        void run(Connection connection) throws SQLException;
+    }
+}
@@ -0,0 +1,39 @@
+package com.kt.damim.notification.retention;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * 조회/유지 대상 기간 (현재 월 포함 hot-months 개월)
+ * <p>
+ * 이보다 오래된 월 파티션은 보존 작업이 분리하므로, 조회 쿼리도 이 시각 이후로 제한해 파티션 프루닝이 되게 한다.
+ */
+@Component
+public class RetentionWindow {
+
+    private final int hotMonths;
+
+    public RetentionWindow(@Value("${notification.retention.hot-months:12}") int hotMonths) {
+        if (hotMonths < 1) {
+            throw new IllegalArgumentException("notification.retention.hot-months must be >= 1");
+        }
+        this.hotMonths = hotMonths;
+    }
+
+    /**
+     * 유지 대상 중 가장 오래된 월
+     */
+    public YearMonth oldestHotMonth() {
+        return YearMonth.now().minusMonths(hotMonths - 1L);
+    }
+
+    /**
+     * 조회 대상 최소 생성 시각
+     */
+    public LocalDateTime since() {
+        return oldestHotMonth().atDay(1).atStartOfDay();
+    }
+}
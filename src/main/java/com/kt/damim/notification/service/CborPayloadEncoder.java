@@ -0,0 +1,119 @@
+package com.kt.damim.notification.service;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.kt.damim.notification.dto.BroadcastNotificationResponse;
+import com.kt.damim.notification.dto.NotificationResponse;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * CBOR 본문 인코더
+ * <p>
+ * 시각(LocalDateTime)은 서버 기본 시간대 기준 epoch millis 로, 압축 형식은 알림 DTO 를 필드 이름 없는 배열로 쓴다.
+ * STOMP 는 브로커가 JSON 으로 만든 본문을 CBOR 을 요청한 구독에 보낼 때만 {@link #transcode} 로 바꾼다.
+ */
+@Component
+public class CborPayloadEncoder {
+
+    private static final String TOPIC_PREFIX = "/topic/notifications/";
+    private static final List<Class<?>> POSITIONAL_TYPES = List.of(NotificationResponse.class, BroadcastNotificationResponse.class);
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper compactMapper;
+
+    public CborPayloadEncoder(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.jsonMapper = objectMapper;
+        // Spring Boot 의 Jackson 설정을 그대로 쓰고 팩토리와 시각 형식만 바꿈
+        this.cborMapper = objectMapperBuilder
+                .factory(new CBORFactory())
+                .serializerByType(LocalDateTime.class, new EpochMillisSerializer(ZoneId.systemDefault()))
+                .build();
+        this.compactMapper = cborMapper.copy();
+        POSITIONAL_TYPES.forEach(type ->
+                compactMapper.configOverride(type).setFormat(JsonFormat.Value.forShape(JsonFormat.Shape.ARRAY)));
+    }
+
+    /**
+     * REST 메시지 컨버터와 벤치마크용
+     */
+    public ObjectMapper mapperFor(PayloadEncoding encoding) {
+        return switch (encoding) {
+            case JSON -> jsonMapper;
+            case CBOR -> cborMapper;
+            case COMPACT_CBOR -> compactMapper;
+        };
+    }
+
+    public byte[] encode(Object payload, PayloadEncoding encoding) {
+        try {
+            return mapperFor(encoding).writeValueAsBytes(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 브로커가 만든 JSON 본문을 요청한 인코딩으로 변환
+     * <p>
+     * 알림/세그먼트 발송 토픽의 알림(또는 배열)은 DTO 로 읽어 시각과 배열 형식을 적용하고, 그 밖의 본문은 구조 그대로 옮긴다.
+     */
+    public byte[] transcode(byte[] json, String destination, PayloadEncoding encoding) {
+        try {
+            JsonNode tree = jsonMapper.readTree(json);
+            return mapperFor(encoding).writeValueAsBytes(typed(tree, destination));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Object typed(JsonNode tree, String destination) throws IOException {
+        Class<?> type = payloadType(destination);
+        JsonNode sample = tree.isArray() && !tree.isEmpty() ? tree.get(0) : tree;
+        if (type == null || !sample.isObject() || !sample.has("id") || !sample.has("createdAt")) {
+            return tree;
+        }
+        JavaType javaType = tree.isArray()
+                ? jsonMapper.getTypeFactory().constructCollectionType(List.class, type)
+                : jsonMapper.constructType(type);
+        return jsonMapper.readerFor(javaType).readValue(tree);
+    }
+
+    private static Class<?> payloadType(String destination) {
+        if (destination == null || !destination.startsWith(TOPIC_PREFIX)) {
+            return null;
+        }
+        if (destination.endsWith("/broadcasts")) {
+            return BroadcastNotificationResponse.class;
+        }
+        return destination.indexOf('/', TOPIC_PREFIX.length()) < 0 ? NotificationResponse.class : null;
+    }
+
+    private static final class EpochMillisSerializer extends StdSerializer<LocalDateTime> {
+
+        private final ZoneId zone;
+
+        EpochMillisSerializer(ZoneId zone) {
+            super(LocalDateTime.class);
+            this.zone = zone;
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(value.atZone(zone).toInstant().toEpochMilli());
+        }
+    }
+}
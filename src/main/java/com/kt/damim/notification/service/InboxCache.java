@@ -0,0 +1,293 @@
+package com.kt.damim.notification.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.kt.damim.notification.cluster.BrokerMode;
+import com.kt.damim.notification.cluster.ClusterSessionDirectory;
+import com.kt.damim.notification.dto.NotificationResponse;
+import com.kt.damim.notification.event.ClusterInboxEvent;
+import com.kt.damim.notification.event.NotificationCreatedEvent;
+import com.kt.damim.notification.event.NotificationsAggregatedEvent;
+import com.kt.damim.notification.event.NotificationsReadEvent;
+import com.kt.damim.notification.event.UserPresenceChangedEvent;
+import com.kt.damim.notification.repository.NotificationRepository;
+import com.kt.damim.notification.retention.RetentionWindow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 수신자별 최신 알림 캐시 (이력/읽지 않은 알림 첫 페이지용)
+ * <p>
+ * 수신자마다 최신 ring-size 건을 {@link InboxRing} 에 두고, 커밋된 저장/읽음/집계 이벤트를 링에 바로 반영한다.
+ * 캐시에 없으면 첫 페이지 조회 때 ring-size + 1 건과 링 밖 읽지 않은 알림 수를 읽어 채우고,
+ * 접속한 사용자는 연결 직후 미리 채워 첫 조회부터 DB 를 거치지 않는다.
+ * 전체 크기는 알림 문자열 길이로 어림한 max-bytes 안에서 오래 안 쓴 수신자부터 내보내고, TTL 마다 DB 값으로 다시 채운다.
+ * 클러스터 모드에서는 바뀐 수신자를 모아 다른 노드에 알려 그 노드의 링을 버리게 한다.
+ * 외부 브로커(RELAY)로 여러 노드를 띄우면서 클러스터 모드를 쓰지 않으면 다른 노드의 변경을 알 수 없으므로 캐시를 끈다.
+ */
+@Component
+@Slf4j
+public class InboxCache {
+
+    private static final int WARM_UP_QUEUE_SIZE = 10_000;
+
+    private final NotificationRepository notificationRepository;
+    private final RetentionWindow retentionWindow;
+    private final SessionRegistry sessionRegistry;
+    private final ClusterSessionDirectory clusterSessionDirectory;
+    private final boolean enabled;
+    private final int ringSize;
+    private final Cache<String, InboxRing> inboxes;
+    private final ExecutorService warmUpExecutor;
+    private final Counter servedPages;
+    private final Counter fallbackPages;
+    // 다른 노드에 알릴 알림함이 바뀐 수신자 (클러스터 모드에서만)
+    private final Set<String> changedReceiverIds = ConcurrentHashMap.newKeySet();
+
+    public InboxCache(NotificationRepository notificationRepository,
+                      RetentionWindow retentionWindow,
+                      SessionRegistry sessionRegistry,
+                      ClusterSessionDirectory clusterSessionDirectory,
+                      MeterRegistry meterRegistry,
+                      @Value("${notification.broker.mode:SIMPLE}") BrokerMode brokerMode,
+                      @Value("${notification.inbox-cache.enabled:true}") boolean enabled,
+                      @Value("${notification.inbox-cache.ring-size:50}") int ringSize,
+                      @Value("${notification.inbox-cache.max-bytes:256MB}") DataSize maxBytes,
+                      @Value("${notification.inbox-cache.idle-timeout:10m}") Duration idleTimeout,
+                      @Value("${notification.inbox-cache.ttl:30m}") Duration ttl) {
+        this.notificationRepository = notificationRepository;
+        this.retentionWindow = retentionWindow;
+        this.sessionRegistry = sessionRegistry;
+        this.clusterSessionDirectory = clusterSessionDirectory;
+        // SIMPLE 브로커는 클러스터 모드가 아니면 단일 노드
+        this.enabled = enabled && (clusterSessionDirectory.isEnabled() || brokerMode == BrokerMode.SIMPLE);
+        if (enabled && !this.enabled) {
+            log.warn("클러스터 모드 없이 RELAY 브로커를 쓰면 다른 노드의 변경을 알 수 없어 최신 알림 캐시를 끕니다");
+        }
+        this.ringSize = ringSize;
+        this.inboxes = Caffeine.newBuilder()
+                .maximumWeight(maxBytes.toBytes())
+                .<String, InboxRing>weigher((receiverId, ring) -> ring.bytes())
+                .expireAfter(expireAfterAccess(idleTimeout, ttl))
+                .recordStats()
+                .build();
+        this.warmUpExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(WARM_UP_QUEUE_SIZE),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notification-inbox-warm-up");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // 접속이 몰려 밀리면 미리 채우지 않고 첫 조회 때 채움
+                new ThreadPoolExecutor.DiscardPolicy());
+
+        CaffeineCacheMetrics.monitor(meterRegistry, inboxes, "notification.inbox");
+        Gauge.builder("notification.inbox.bytes", inboxes,
+                        cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+                .description("최신 알림 캐시가 차지하는 메모리 (바이트 대략치)")
+                .register(meterRegistry);
+        this.servedPages = Counter.builder("notification.inbox.pages")
+                .description("첫 페이지 조회 중 최신 알림 캐시로 답한 수(served)와 DB 로 넘긴 수(fallback)")
+                .tag("result", "served")
+                .register(meterRegistry);
+        this.fallbackPages = Counter.builder("notification.inbox.pages")
+                .description("첫 페이지 조회 중 최신 알림 캐시로 답한 수(served)와 DB 로 넘긴 수(fallback)")
+                .tag("result", "fallback")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 첫 페이지 (다음 페이지 판단용으로 limit + 1 건까지), 링에 없으면 DB 에서 링을 채운 뒤 답함
+     *
+     * @return 링만으로 답할 수 없으면(링보다 큰 limit, 링 밖 읽지 않은 알림 등) null
+     */
+    public List<NotificationResponse> firstPage(String receiverId, int limit, boolean unreadOnly) {
+        if (!enabled) {
+            return null;
+        }
+        List<NotificationResponse> page = inboxes.get(receiverId, this::load)
+                .firstPage(limit, unreadOnly, retentionWindow.since());
+        (page != null ? servedPages : fallbackPages).increment();
+        return page;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        for (NotificationResponse notification : event.notifications()) {
+            inboxes.asMap().computeIfPresent(notification.getReceiverId(), (receiverId, ring) -> {
+                ring.add(notification);
+                return ring;
+            });
+            markChanged(notification.getReceiverId());
+        }
+    }
+
+    /**
+     * 링 밖 알림까지 바뀌어 링 밖 읽지 않은 알림 수를 알 수 없으면 링을 버림
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNotificationsRead(NotificationsReadEvent event) {
+        if (!enabled) {
+            return;
+        }
+        inboxes.asMap().computeIfPresent(event.receiverId(), (receiverId, ring) -> {
+            if (event.notificationIds() != null) {
+                return ring.markRead(event.notificationIds(), event.count()) ? ring : null;
+            }
+            if (event.upTo() != null) {
+                return ring.markReadUpTo(event.upTo(), event.count()) ? ring : null;
+            }
+            ring.markAllRead();
+            return ring;
+        });
+        markChanged(event.receiverId());
+    }
+
+    /**
+     * 링 밖의 읽은 알림이 다시 읽지 않음이 되었을 수 있으므로 링에 없는 알림이면 링을 버림
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNotificationsAggregated(NotificationsAggregatedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        for (NotificationResponse notification : event.notifications()) {
+            inboxes.asMap().computeIfPresent(notification.getReceiverId(),
+                    (receiverId, ring) -> ring.replace(notification) ? ring : null);
+            markChanged(notification.getReceiverId());
+        }
+    }
+
+    @EventListener
+    public void onPresenceChanged(UserPresenceChangedEvent event) {
+        if (enabled && event.online()) {
+            warmUp(event.userId());
+        }
+    }
+
+    /**
+     * 다른 노드에서 바뀐 알림함은 버리고, 이 노드에 접속한 사용자면 다시 채움
+     */
+    @EventListener
+    public void onClusterInbox(ClusterInboxEvent event) {
+        if (!enabled) {
+            return;
+        }
+        for (String receiverId : event.userIds()) {
+            inboxes.invalidate(receiverId);
+            if (sessionRegistry.isOnline(receiverId)) {
+                warmUp(receiverId);
+            }
+        }
+    }
+
+    /**
+     * 모아 둔 알림함 변경을 다른 노드에 알림
+     */
+    @Scheduled(fixedDelayString = "${notification.inbox-cache.invalidate-interval:200ms}")
+    public void publishChanges() {
+        if (changedReceiverIds.isEmpty()) {
+            return;
+        }
+        List<String> receiverIds = new ArrayList<>(changedReceiverIds);
+        receiverIds.forEach(changedReceiverIds::remove);
+        try {
+            clusterSessionDirectory.publishInboxChanged(receiverIds);
+        } catch (RuntimeException e) {
+            // 다른 노드의 링은 TTL 이 지나면 다시 채워짐
+            log.warn("알림함 변경 전파 실패: count={}, error={}", receiverIds.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        warmUpExecutor.shutdownNow();
+    }
+
+    private void warmUp(String receiverId) {
+        warmUpExecutor.execute(() -> {
+            try {
+                inboxes.get(receiverId, this::load);
+            } catch (RuntimeException e) {
+                log.debug("최신 알림 캐시 미리 채우기 실패: receiverId={}, error={}", receiverId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 링 밖 읽지 않은 알림은 링의 가장 오래된 알림보다 앞선 것만 세므로, 적재 중 커밋된 새 알림/읽음과 섞이지 않음
+     * (적재 중 커밋된 변경의 이벤트는 캐시의 키 단위 compute 가 적재가 끝날 때까지 기다렸다가 반영)
+     */
+    private InboxRing load(String receiverId) {
+        LocalDateTime since = retentionWindow.since();
+        List<NotificationResponse> newest = notificationRepository.findFirstPage(receiverId, since, PageRequest.ofSize(ringSize + 1));
+        if (newest.size() <= ringSize) {
+            return new InboxRing(ringSize, newest, false, 0);
+        }
+        List<NotificationResponse> ring = newest.subList(0, ringSize);
+        NotificationResponse oldest = ring.get(ringSize - 1);
+        long olderUnread = notificationRepository.countUnreadBefore(receiverId, since, oldest.getCreatedAt(), oldest.getId());
+        return new InboxRing(ringSize, ring, true, olderUnread);
+    }
+
+    private void markChanged(String receiverId) {
+        if (clusterSessionDirectory.isEnabled()) {
+            changedReceiverIds.add(receiverId);
+        }
+    }
+
+    /**
+     * 마지막 접근 후 idleTimeout, 적재 후 최대 ttl
+     */
+    private static Expiry<String, InboxRing> expireAfterAccess(Duration idleTimeout, Duration ttl) {
+        long idleNanos = idleTimeout.toNanos();
+        long ttlNanos = ttl.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String key, InboxRing ring, long currentTime) {
+                return Math.min(idleNanos, ttlNanos);
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, InboxRing ring, long currentTime, long currentDuration) {
+                return remaining(ring, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String key, InboxRing ring, long currentTime, long currentDuration) {
+                return remaining(ring, currentTime);
+            }
+
+            private long remaining(InboxRing ring, long currentTime) {
+                return Math.max(0L, Math.min(idleNanos, ring.loadedAtNanos() + ttlNanos - currentTime));
+            }
+        };
+    }
+}
@@ -0,0 +1,262 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.dto.NotificationCursor;
+import com.kt.damim.notification.dto.NotificationResponse;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 한 수신자의 최신 알림 링 (createdAt, id 내림차순, 0 번이 가장 최신)
+ * <p>
+ * 고정 크기 원형 배열에 최신 capacity 건만 두고, 밀려난 알림은 hasOlder/olderUnread 로만 기억한다.
+ * 원소는 바꾸지 않고 새 객체로 교체하므로 꺼내 간 목록은 이후 읽음 처리에 영향을 받지 않는다.
+ * 모든 메서드는 인스턴스 모니터로 보호된다.
+ */
+final class InboxRing {
+
+    // NotificationResponse, Long, LocalDateTime(LocalDate/LocalTime 포함) 고정 크기 대략치
+    private static final int ENTRY_OVERHEAD_BYTES = 144;
+    // String 객체와 배열 헤더 대략치 (문자는 UTF-16 기준 2바이트로 계산)
+    private static final int STRING_OVERHEAD_BYTES = 40;
+    // 링 객체, 배열 헤더, 캐시 노드와 키 대략치
+    private static final int RING_OVERHEAD_BYTES = 128;
+
+    static final Comparator<NotificationResponse> NEWEST_FIRST = Comparator
+            .comparing(NotificationResponse::getCreatedAt)
+            .thenComparing(NotificationResponse::getId)
+            .reversed();
+
+    private final NotificationResponse[] items;
+    private final long loadedAtNanos;
+    private int head;
+    private int size;
+    // 링 밖에 더 오래된 알림이 있을 수 있음
+    private boolean hasOlder;
+    // 링 밖(더 오래된) 읽지 않은 알림 수, hasOlder 가 false 면 0
+    private long olderUnread;
+    private int bytes;
+
+    /**
+     * @param newestFirst 최신순 알림 (capacity 건 이하, DB 에서 읽은 객체를 그대로 보관)
+     */
+    InboxRing(int capacity, List<NotificationResponse> newestFirst, boolean hasOlder, long olderUnread) {
+        this.items = new NotificationResponse[capacity];
+        this.loadedAtNanos = System.nanoTime();
+        this.hasOlder = hasOlder;
+        this.olderUnread = hasOlder ? olderUnread : 0;
+        this.bytes = RING_OVERHEAD_BYTES + 4 * capacity;
+        for (NotificationResponse notification : newestFirst) {
+            items[size++] = notification;
+            bytes += weigh(notification);
+        }
+    }
+
+    long loadedAtNanos() {
+        return loadedAtNanos;
+    }
+
+    /**
+     * 캐시 무게 (바이트 대략치)
+     */
+    synchronized int bytes() {
+        return bytes;
+    }
+
+    /**
+     * 새 알림을 순서에 맞는 자리에 넣음, 가득 차 있으면 가장 오래된 알림을 링 밖으로 밀어냄
+     */
+    synchronized void add(NotificationResponse notification) {
+        // 적재 쿼리가 이미 읽어 온 알림
+        if (indexOf(notification.getId()) >= 0) {
+            return;
+        }
+        int position = 0;
+        while (position < size && NEWEST_FIRST.compare(notification, get(position)) > 0) {
+            position++;
+        }
+        if (position == size && (size == items.length || hasOlder)) {
+            // 링에 든 알림보다 오래됨 (커밋이 늦게 끝난 알림)
+            pushOut(notification);
+            return;
+        }
+        if (size == items.length) {
+            NotificationResponse oldest = get(size - 1);
+            bytes -= weigh(oldest);
+            size--;
+            pushOut(oldest);
+        }
+        if (position == 0) {
+            head = index(-1);
+            items[head] = copyOf(notification, notification.isRead());
+        } else {
+            for (int i = size; i > position; i--) {
+                items[index(i)] = items[index(i - 1)];
+            }
+            items[index(position)] = copyOf(notification, notification.isRead());
+        }
+        size++;
+        bytes += weigh(notification);
+    }
+
+    /**
+     * 집계로 바뀐 알림을 같은 자리에서 교체
+     *
+     * @return 링에 없어 반영하지 못했으면 false
+     */
+    synchronized boolean replace(NotificationResponse notification) {
+        int position = indexOf(notification.getId());
+        if (position < 0) {
+            return false;
+        }
+        bytes += weigh(notification) - weigh(get(position));
+        items[index(position)] = copyOf(notification, notification.isRead());
+        return true;
+    }
+
+    /**
+     * @param updated DB 에서 읽음으로 바뀐 행 수
+     * @return 바뀐 행이 모두 링 안에 있었으면 true, 아니면 링 밖 개수를 알 수 없으므로 false
+     */
+    synchronized boolean markRead(Collection<Long> notificationIds, int updated) {
+        int marked = 0;
+        for (Long notificationId : notificationIds) {
+            int position = indexOf(notificationId);
+            if (position >= 0 && markRead(position)) {
+                marked++;
+            }
+        }
+        return marked == updated;
+    }
+
+    /**
+     * 커서 위치(포함)까지 읽음 처리
+     *
+     * @return 링 밖 읽지 않은 알림 수를 알 수 있으면 true
+     */
+    synchronized boolean markReadUpTo(NotificationCursor upTo, int updated) {
+        NotificationResponse bound = NotificationResponse.builder().createdAt(upTo.createdAt()).id(upTo.id()).build();
+        int marked = 0;
+        for (int i = 0; i < size; i++) {
+            if (NEWEST_FIRST.compare(get(i), bound) >= 0 && markRead(i)) {
+                marked++;
+            }
+        }
+        // 링의 가장 오래된 알림까지 덮었으면 링 밖도 모두 읽음
+        if (size > 0 && NEWEST_FIRST.compare(get(size - 1), bound) >= 0) {
+            olderUnread = 0;
+            return true;
+        }
+        return marked == updated;
+    }
+
+    synchronized void markAllRead() {
+        for (int i = 0; i < size; i++) {
+            markRead(i);
+        }
+        olderUnread = 0;
+    }
+
+    /**
+     * 첫 페이지 (다음 페이지 판단용으로 limit + 1 건까지)
+     *
+     * @param since 보존 기간 시작, 그 전 알림은 링에서 버림
+     * @return 링만으로 답할 수 없으면 null
+     */
+    synchronized List<NotificationResponse> firstPage(int limit, boolean unreadOnly, LocalDateTime since) {
+        trimBefore(since);
+        List<NotificationResponse> page = new ArrayList<>(Math.min(limit + 1, size));
+        for (int i = 0; i < size && page.size() <= limit; i++) {
+            NotificationResponse notification = get(i);
+            if (!unreadOnly || !notification.isRead()) {
+                page.add(notification);
+            }
+        }
+        if (page.size() > limit) {
+            return page;
+        }
+        // 링에 든 것이 전부일 때만 (읽지 않은 알림은 링 밖에 읽지 않은 알림이 없을 때)
+        boolean complete = unreadOnly ? olderUnread == 0 : !hasOlder;
+        return complete ? page : null;
+    }
+
+    private void trimBefore(LocalDateTime since) {
+        boolean trimmed = false;
+        while (size > 0 && get(size - 1).getCreatedAt().isBefore(since)) {
+            NotificationResponse oldest = get(size - 1);
+            items[index(size - 1)] = null;
+            bytes -= weigh(oldest);
+            size--;
+            trimmed = true;
+        }
+        if (trimmed) {
+            // 잘라낸 알림보다 오래된 알림은 모두 보존 기간 밖
+            hasOlder = false;
+            olderUnread = 0;
+        }
+    }
+
+    private void pushOut(NotificationResponse notification) {
+        hasOlder = true;
+        if (!notification.isRead()) {
+            olderUnread++;
+        }
+    }
+
+    private boolean markRead(int position) {
+        NotificationResponse notification = get(position);
+        if (notification.isRead()) {
+            return false;
+        }
+        items[index(position)] = copyOf(notification, true);
+        return true;
+    }
+
+    private int indexOf(Long notificationId) {
+        for (int i = 0; i < size; i++) {
+            if (get(i).getId().equals(notificationId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private NotificationResponse get(int position) {
+        return items[index(position)];
+    }
+
+    private int index(int position) {
+        return Math.floorMod(head + position, items.length);
+    }
+
+    // 이벤트의 객체는 전송 경로와 공유하므로 복사해서 보관
+    private static NotificationResponse copyOf(NotificationResponse notification, boolean read) {
+        return NotificationResponse.builder()
+                .id(notification.getId())
+                .senderId(notification.getSenderId())
+                .receiverId(notification.getReceiverId())
+                .message(notification.getMessage())
+                .type(notification.getType())
+                .isRead(read)
+                .createdAt(notification.getCreatedAt())
+                .groupKey(notification.getGroupKey())
+                .aggregateCount(notification.getAggregateCount())
+                .build();
+    }
+
+    private static int weigh(NotificationResponse notification) {
+        return ENTRY_OVERHEAD_BYTES
+                + weigh(notification.getSenderId())
+                + weigh(notification.getReceiverId())
+                + weigh(notification.getMessage())
+                + weigh(notification.getType())
+                + weigh(notification.getGroupKey());
+    }
+
+    private static int weigh(String value) {
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + 2 * value.length();
+    }
+}
@@ -0,0 +1,251 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.dto.NotificationRequest;
+import com.kt.damim.notification.dto.NotificationResponse;
+import com.kt.damim.notification.event.NotificationCreatedEvent;
+import com.kt.damim.notification.event.NotificationsAggregatedEvent;
+import com.kt.damim.notification.repository.NotificationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+/**
+ * 알림 집계 단계
+ * <p>
+ * 집계 대상 type 의 알림은 (receiverId, type, groupKey) 기준으로 첫 알림이 커밋된 시점부터 window 동안 열어 두고,
+ * 그 사이 들어온 알림은 새 행을 만들지 않고 메모리에서 개수와 최신 발신자/메시지만 합친다.
+ * 합친 개수는 요청 트랜잭션이 커밋된 뒤에만 반영하므로 롤백 후 재시도해도 두 번 세지 않는다.
+ * 합쳐진 상태는 flush-interval 마다 기존 행을 UPDATE 하고 갱신된 알림을 한 번 전송한다.
+ * UPDATE 가 실패하면 상태를 그대로 두고 다음 flush 에서 다시 시도한다.
+ * <p>
+ * 집계 상태는 노드별이므로 여러 노드에 요청이 나뉘면 노드마다 행이 하나씩 생길 수 있다.
+ * <p>
+ * 합친 결과는 다음 flush 까지 메모리에만 있으므로 노드가 그 사이 죽으면 최대 flush-interval 동안 합친 개수/최신 발신자가 사라진다.
+ * (첫 알림 행은 이미 저장되어 있어 알림 자체는 남고, 요청자는 합쳐진 응답을 이미 받음)
+ */
+@Component
+@Slf4j
+public class NotificationAggregator {
+
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Set<String> types;
+    private final long windowNanos;
+
+    private final ConcurrentHashMap<AggregateKey, Aggregate> aggregates = new ConcurrentHashMap<>();
+
+    public NotificationAggregator(NotificationRepository notificationRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${notification.aggregation.types:}") Set<String> types,
+                                  @Value("${notification.aggregation.window:60s}") Duration window) {
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.types = types;
+        this.windowNanos = window.toNanos();
+        Gauge.builder("notification.aggregation.open", aggregates, Map::size)
+                .description("집계 창이 열려 있는 알림 묶음 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isAggregatable(NotificationRequest request) {
+        return request.getGroupKey() != null && types.contains(request.getType());
+    }
+
+    /**
+     * 열린 집계 창이 있으면 합치고 갱신된 상태를 반환, 없으면 null (호출자가 새 행으로 저장)
+     *
+     * @param admit 집계 알림 ID 를 받아 합칠지 결정 (멱등 키 선점), 창을 잠근 채 호출되므로 같은 키의 동시 요청은 하나만 합쳐짐
+     * @return 창이 없거나 admit 이 거부하면 null
+     */
+    public NotificationResponse merge(NotificationRequest request, LongPredicate admit) {
+        Aggregate aggregate = aggregates.get(new AggregateKey(request.getReceiverId(), request.getType(), request.getGroupKey()));
+        if (aggregate == null) {
+            return null;
+        }
+        NotificationResponse merged;
+        synchronized (aggregate) {
+            if (aggregate.closed || System.nanoTime() - aggregate.openedNanos >= windowNanos) {
+                return null;
+            }
+            if (!admit.test(aggregate.origin.getId())) {
+                return null;
+            }
+            aggregate.pending++;
+            merged = aggregate.toResponse(aggregate.count + aggregate.pending, request.getSenderId(), request.getMessage());
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            aggregate.settle(request, true);
+            return merged;
+        }
+        // 호출자 트랜잭션이 커밋된 뒤에만 개수를 늘림, 롤백이면 대기 중인 합치기만 취소
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                aggregate.settle(request, status == STATUS_COMMITTED);
+            }
+        });
+        return merged;
+    }
+
+    /**
+     * 커밋된 첫 알림으로 집계 창 열기 (롤백된 행은 창을 열지 않음)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        if (types.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (NotificationResponse notification : event.notifications()) {
+            if (notification.getGroupKey() == null || !types.contains(notification.getType())) {
+                continue;
+            }
+            AggregateKey key = new AggregateKey(notification.getReceiverId(), notification.getType(), notification.getGroupKey());
+            aggregates.putIfAbsent(key, new Aggregate(key, notification, now));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.aggregation.flush-interval:1s}")
+    public void flush() {
+        if (aggregates.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        Map<Aggregate, Long> flushed = new HashMap<>();
+        List<NotificationResponse> updates = new ArrayList<>();
+        Iterator<Aggregate> iterator = aggregates.values().iterator();
+        while (iterator.hasNext()) {
+            Aggregate aggregate = iterator.next();
+            synchronized (aggregate) {
+                if (aggregate.dirty) {
+                    flushed.put(aggregate, aggregate.revision);
+                    updates.add(aggregate.toResponse(aggregate.count, aggregate.senderId, aggregate.message));
+                } else if (aggregate.isExpired(now)) {
+                    aggregate.closed = true;
+                    iterator.remove();
+                }
+            }
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<NotificationResponse> applied = new ArrayList<>(updates.size());
+                for (NotificationResponse update : updates) {
+                    int updated = notificationRepository.updateAggregate(update.getId(), update.getCreatedAt(),
+                            update.getAggregateCount(), update.getSenderId(), update.getMessage());
+                    if (updated > 0) {
+                        applied.add(update);
+                    }
+                }
+                // 커밋 후 NotificationDispatcher/UnreadCountCache 가 처리
+                eventPublisher.publishEvent(new NotificationsAggregatedEvent(applied));
+            });
+        } catch (RuntimeException e) {
+            // dirty 를 그대로 두어 다음 flush 에서 다시 갱신
+            log.warn("집계 알림 갱신 실패: groups={}, error={}", updates.size(), e.getMessage());
+            return;
+        }
+
+        // 커밋된 뒤에만 깨끗한 상태로 표시하고 만료된 창을 닫음 (갱신 중 새로 합쳐진 것은 다음 flush 로)
+        flushed.forEach((aggregate, revision) -> {
+            synchronized (aggregate) {
+                if (aggregate.revision == revision) {
+                    aggregate.dirty = false;
+                    if (aggregate.isExpired(now)) {
+                        aggregate.closed = true;
+                        aggregates.remove(aggregate.key, aggregate);
+                    }
+                }
+            }
+        });
+    }
+
+    private record AggregateKey(String receiverId, String type, String groupKey) {
+    }
+
+    /**
+     * 열린 집계 창 하나, 필드는 인스턴스 모니터로 보호
+     */
+    private final class Aggregate {
+
+        private final AggregateKey key;
+        private final NotificationResponse origin;
+        private final long openedNanos;
+        private int count;
+        private String senderId;
+        private String message;
+        // 트랜잭션 커밋을 기다리는 합치기 수, 0 이 될 때까지 창을 닫지 않음
+        private int pending;
+        // 커밋된 합치기마다 증가, flush 가 갱신한 상태가 최신인지 확인
+        private long revision;
+        private boolean dirty;
+        private boolean closed;
+
+        private Aggregate(AggregateKey key, NotificationResponse origin, long openedNanos) {
+            this.key = key;
+            this.origin = origin;
+            this.openedNanos = openedNanos;
+            this.count = origin.getAggregateCount();
+            this.senderId = origin.getSenderId();
+            this.message = origin.getMessage();
+        }
+
+        private synchronized void settle(NotificationRequest request, boolean committed) {
+            pending--;
+            if (!committed) {
+                return;
+            }
+            count++;
+            senderId = request.getSenderId();
+            message = request.getMessage();
+            revision++;
+            dirty = true;
+        }
+
+        private boolean isExpired(long now) {
+            return pending == 0 && now - openedNanos >= windowNanos;
+        }
+
+        // createdAt 은 첫 알림 그대로 두어 키셋 페이지 위치와 파티션이 바뀌지 않음
+        private NotificationResponse toResponse(int count, String senderId, String message) {
+            return NotificationResponse.builder()
+                    .id(origin.getId())
+                    .senderId(senderId)
+                    .receiverId(origin.getReceiverId())
+                    .message(message)
+                    .type(origin.getType())
+                    .isRead(false)
+                    .createdAt(origin.getCreatedAt())
+                    .groupKey(origin.getGroupKey())
+                    .aggregateCount(count)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.dto.NotificationResponse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * 수신자별 전송 마이크로 배치
+ * <p>
+ * 첫 알림이 도착한 뒤 최대 지연 시간 동안 같은 수신자의 알림을 모아 한 번에 넘긴다.
+ * 배치 크기가 상한에 도달하면 지연 시간을 기다리지 않고 즉시 넘긴다.
+ * 상한에 도달한 배치는 호출 스레드에서 flushAction 으로 바로 넘기므로 flushAction 은 블로킹 큐에 다시 넣지 않아야 한다.
+ * 지연 시간이 지난 배치와 종료 시 남은 배치는 handoffAction 으로 넘긴다. 타이머 스레드 하나가 모든 수신자를 맡으므로
+ * handoffAction 은 전송하지 않고 막히지 않게 다른 스레드로 넘기기만 해야 한다.
+ * 같은 type 으로 합쳐져 버려진 알림은 합쳐진 시점에 호출 스레드에서 supersededAction 으로 알린다.
+ */
+class NotificationCoalescer {
+
+    private final ConcurrentHashMap<String, PendingBatch> pendingBatches = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final long maxDelayMillis;
+    private final int maxBatchSize;
+    private final boolean collapseByType;
+    private final BiConsumer<String, List<NotificationResponse>> flushAction;
+    private final BiConsumer<String, List<NotificationResponse>> handoffAction;
+    private final Consumer<NotificationResponse> supersededAction;
+
+    NotificationCoalescer(long maxDelayMillis, int maxBatchSize, boolean collapseByType,
+                          BiConsumer<String, List<NotificationResponse>> flushAction,
+                          BiConsumer<String, List<NotificationResponse>> handoffAction,
+                          Consumer<NotificationResponse> supersededAction) {
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.collapseByType = collapseByType;
+        this.flushAction = flushAction;
+        this.handoffAction = handoffAction;
+        this.supersededAction = supersededAction;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    void submit(NotificationResponse notification) {
+        String receiverId = notification.getReceiverId();
+        PendingBatch[] opened = new PendingBatch[1];
+        NotificationResponse[] superseded = new NotificationResponse[1];
+        List<NotificationResponse> full = new ArrayList<>(0);
+
+        pendingBatches.compute(receiverId, (key, batch) -> {
+            PendingBatch current = batch;
+            if (current == null) {
+                current = new PendingBatch();
+                opened[0] = current;
+            }
+            superseded[0] = current.add(notification);
+            if (current.size() >= maxBatchSize) {
+                full.addAll(current.items());
+                return null;
+            }
+            return current;
+        });
+
+        if (superseded[0] != null) {
+            supersededAction.accept(superseded[0]);
+        }
+        if (!full.isEmpty()) {
+            flushAction.accept(receiverId, full);
+        } else if (opened[0] != null) {
+            PendingBatch batch = opened[0];
+            scheduler.schedule(() -> flush(receiverId, batch), maxDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void shutdown() {
+        scheduler.shutdownNow();
+        pendingBatches.forEach(this::flush);
+    }
+
+    private void flush(String receiverId, PendingBatch batch) {
+        // 배치 크기 상한으로 이미 넘겨진 배치면 무시
+        if (pendingBatches.remove(receiverId, batch)) {
+            handoffAction.accept(receiverId, batch.items());
+        }
+    }
+
+    /**
+     * compute 안에서만 변경되므로 별도 동기화 불필요
+     */
+    private class PendingBatch {
+
+        private final Map<Object, NotificationResponse> items = new LinkedHashMap<>();
+
+        /**
+         * @return 같은 type 으로 합쳐져 버려진 알림, 없으면 null
+         */
+        NotificationResponse add(NotificationResponse notification) {
+            // 같은 type 은 최신 알림 하나만 남기고 배치 끝으로 이동
+            Object key = collapseByType && notification.getType() != null ? notification.getType() : notification.getId();
+            NotificationResponse superseded = items.remove(key);
+            items.put(key, notification);
+            return superseded;
+        }
+
+        int size() {
+            return items.size();
+        }
+
+        List<NotificationResponse> items() {
+            return new ArrayList<>(items.values());
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.dto.NotificationResponse;
+import com.kt.damim.notification.event.NotificationCreatedEvent;
+import com.kt.damim.notification.event.NotificationsAggregatedEvent;
+import com.kt.damim.notification.exception.DispatchRejectedException;
+import com.kt.damim.notification.service.NotificationPayloadEncoder.MulticastPayload;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 커밋 이후 WebSocket 전송 단계
+ * <p>
+ * 저장 트랜잭션이 커밋된 뒤에만 전송 작업을 우선순위({@link NotificationPriority})별 제한된 큐에 넣고,
+ * 우선순위마다 따로 둔 워커 스레드가 전송한다. 대량 발송이 밀려도 HIGH 알림은 자기 큐에서 바로 처리된다.
+ * 큐가 가득 찼을 때의 동작은 우선순위별 {@link OverflowPolicy} 로 정한다.
+ * 전송 결과는 outbox 에 기록되며, 큐 포화 등으로 버려진 알림은 {@link OutboxRelay} 가 다시 전송한다.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    public enum OverflowPolicy {
+        /** 큐에 자리가 날 때까지 호출 스레드 대기 */
+        BLOCK,
+        /** 가장 오래된 전송 작업을 버리고 추가 */
+        DROP_OLDEST,
+        /** 저장 전에 429 로 요청 거부 */
+        REJECT
+    }
+
+    // 일괄 전송 시 워커 하나가 처리하는 최대 건수
+    private static final int PUSH_CHUNK_SIZE = 100;
+
+    private final NotificationSessionService notificationSessionService;
+    private final OutboxDeliveryTracker outboxDeliveryTracker;
+    private final NotificationPayloadEncoder payloadEncoder;
+    private final NotificationPriorityClassifier priorityClassifier;
+    private final Map<NotificationPriority, Lane> lanes = new EnumMap<>(NotificationPriority.class);
+    // notification.coalescing.enabled=false 이면 null
+    private final NotificationCoalescer coalescer;
+
+    public NotificationDispatcher(NotificationSessionService notificationSessionService,
+                                  OutboxDeliveryTracker outboxDeliveryTracker,
+                                  NotificationPayloadEncoder payloadEncoder,
+                                  NotificationPriorityClassifier priorityClassifier,
+                                  MeterRegistry meterRegistry,
+                                  Environment environment,
+                                  @Value("${notification.dispatch.workers:4}") int workers,
+                                  @Value("${notification.dispatch.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${notification.dispatch.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+                                  @Value("${notification.dispatch.high.workers:2}") int highWorkers,
+                                  @Value("${notification.dispatch.high.queue-capacity:1000}") int highQueueCapacity,
+                                  @Value("${notification.dispatch.high.overflow-policy:BLOCK}") OverflowPolicy highOverflowPolicy,
+                                  @Value("${notification.dispatch.bulk.workers:2}") int bulkWorkers,
+                                  @Value("${notification.dispatch.bulk.queue-capacity:50000}") int bulkQueueCapacity,
+                                  @Value("${notification.dispatch.bulk.overflow-policy:DROP_OLDEST}") OverflowPolicy bulkOverflowPolicy,
+                                  @Value("${notification.coalescing.enabled:false}") boolean coalescingEnabled,
+                                  @Value("${notification.coalescing.max-delay:20ms}") Duration coalescingMaxDelay,
+                                  @Value("${notification.coalescing.max-batch-size:50}") int coalescingMaxBatchSize,
+                                  @Value("${notification.coalescing.collapse-by-type:false}") boolean collapseByType) {
+        this.notificationSessionService = notificationSessionService;
+        this.outboxDeliveryTracker = outboxDeliveryTracker;
+        this.payloadEncoder = payloadEncoder;
+        this.priorityClassifier = priorityClassifier;
+        boolean virtual = Threading.VIRTUAL.isActive(environment);
+        lanes.put(NotificationPriority.HIGH, lane(NotificationPriority.HIGH, highWorkers, highQueueCapacity, highOverflowPolicy, virtual, meterRegistry));
+        lanes.put(NotificationPriority.NORMAL, lane(NotificationPriority.NORMAL, workers, queueCapacity, overflowPolicy, virtual, meterRegistry));
+        lanes.put(NotificationPriority.BULK, lane(NotificationPriority.BULK, bulkWorkers, bulkQueueCapacity, bulkOverflowPolicy, virtual, meterRegistry));
+        // 상한에 닿은 묶음은 그 전송 워커에서 바로 전송 (HIGH 는 묶지 않음)
+        // BLOCK 정책 큐에 자기 워커가 다시 넣으면 큐가 찼을 때 워커끼리 서로를 기다리므로 큐를 거치지 않는다.
+        // 지연 시간이 지난 묶음은 타이머가 NORMAL 큐에 막히지 않게 넣기만 하고, 큐가 차 있으면 outbox 재전송에 맡긴다.
+        // 같은 type 의 최신 알림으로 대체된 알림은 전송 완료로 기록해 재전송 워커와 재접속 재전송이 다시 보내지 않게 한다.
+        this.coalescer = coalescingEnabled
+                ? new NotificationCoalescer(coalescingMaxDelay.toMillis(), coalescingMaxBatchSize, collapseByType, this::pushBatch,
+                        (receiverId, batch) -> lanes.get(NotificationPriority.NORMAL).offer(() -> pushBatch(receiverId, batch), batch.size()),
+                        superseded -> outboxDeliveryTracker.record(superseded.getId(), true))
+                : null;
+    }
+
+    /**
+     * type 이 쓰는 큐가 REJECT 정책일 때 저장 전에 큐 여유를 확인
+     */
+    public void ensureCapacity(String type) {
+        Lane lane = lanes.get(priorityClassifier.classify(type));
+        if (lane.overflowPolicy() == OverflowPolicy.REJECT && lane.executor().getQueue().remainingCapacity() == 0) {
+            throw new DispatchRejectedException("알림 전송 큐가 가득 찼습니다.");
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        List<NotificationResponse> notifications = event.notifications();
+        if (notifications.isEmpty()) {
+            return;
+        }
+        if (event.multicast()) {
+            // 다중 전송은 공통 본문을 커밋 스레드에서 한 번만 직렬화하고 워커는 수신자별 필드만 붙임 (모두 같은 type)
+            MulticastPayload multicastPayload = payloadEncoder.prepareMulticast(notifications.get(0));
+            Lane lane = laneOf(notifications.get(0));
+            forEachChunk(notifications, chunk -> lane.submit(() -> chunk.forEach(notification -> pushEncoded(notification, multicastPayload)), chunk.size()));
+            return;
+        }
+        pushByLane(notifications);
+    }
+
+    /**
+     * 집계로 갱신된 알림 전송 (클라이언트는 같은 id 의 알림을 새 상태로 교체)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNotificationsAggregated(NotificationsAggregatedEvent event) {
+        pushByLane(event.notifications());
+    }
+
+    /**
+     * outbox 재전송 (수신자별로 한 작업에서 알림 ID 순으로 전송해 수신자 안의 순서 유지)
+     */
+    public void redeliver(List<NotificationResponse> notifications) {
+        Map<String, List<NotificationResponse>> byReceiver = notifications.stream()
+                .collect(Collectors.groupingBy(NotificationResponse::getReceiverId, LinkedHashMap::new, Collectors.toList()));
+        byReceiver.values().forEach(batch -> laneOf(batch.get(0)).submit(() -> batch.forEach(this::push), batch.size()));
+    }
+
+    /**
+     * NORMAL 전송 워커에서 임의 작업 실행 (재접속 재전송 등), 큐 포화 시 정책에 따름
+     */
+    public void execute(Runnable task) {
+        lanes.get(NotificationPriority.NORMAL).submit(task, 0);
+    }
+
+    /**
+     * type 의 우선순위 전송 워커에서 작업 실행 (세그먼트 전체 발송 등)
+     */
+    public void execute(String type, Runnable task) {
+        lanes.get(priorityClassifier.classify(type)).submit(task, 0);
+    }
+
+    public int getQueueSize() {
+        return lanes.values().stream().mapToInt(lane -> lane.executor().getQueue().size()).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (coalescer != null) {
+            coalescer.shutdown();
+        }
+        lanes.values().forEach(lane -> lane.executor().shutdown());
+        for (Lane lane : lanes.values()) {
+            if (!lane.executor().awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("미전송 알림 폐기: lane={}, count={}", lane.priority(), lane.executor().shutdownNow().size());
+            }
+        }
+    }
+
+    /**
+     * 우선순위별로 나누어 각 큐에 청크 단위로 넣음 (같은 우선순위 안의 순서는 유지)
+     */
+    private void pushByLane(List<NotificationResponse> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        Map<NotificationPriority, List<NotificationResponse>> byPriority = new EnumMap<>(NotificationPriority.class);
+        for (NotificationResponse notification : notifications) {
+            byPriority.computeIfAbsent(priorityClassifier.classify(notification.getType()), key -> new ArrayList<>()).add(notification);
+        }
+        byPriority.forEach((priority, group) -> {
+            Lane lane = lanes.get(priority);
+            forEachChunk(group, chunk -> lane.submit(() -> chunk.forEach(this::push), chunk.size()));
+        });
+    }
+
+    private Lane laneOf(NotificationResponse notification) {
+        return lanes.get(priorityClassifier.classify(notification.getType()));
+    }
+
+    private void push(NotificationResponse notification) {
+        if (coalescer != null && priorityClassifier.classify(notification.getType()) != NotificationPriority.HIGH) {
+            coalescer.submit(notification);
+            return;
+        }
+        String destination = "/topic/notifications/" + notification.getReceiverId();
+        boolean messageSent = notificationSessionService.sendMessageToUser(notification.getReceiverId(), destination, notification);
+        outboxDeliveryTracker.record(notification.getId(), messageSent);
+
+        if (!messageSent) {
+            log.debug("사용자가 연결되어 있지 않음: receiverId={}", notification.getReceiverId());
+        }
+    }
+
+    /**
+     * 다중 전송 알림은 묶지 않고 미리 직렬화된 본문으로 바로 전송
+     */
+    private void pushEncoded(NotificationResponse notification, MulticastPayload multicastPayload) {
+        String receiverId = notification.getReceiverId();
+        String destination = "/topic/notifications/" + receiverId;
+        byte[] payload = multicastPayload.forReceiver(notification.getId(), receiverId, notification.getCreatedAt());
+        boolean messageSent = notificationSessionService.sendEncodedToUser(receiverId, destination, payload, notification.getId());
+        outboxDeliveryTracker.record(notification.getId(), messageSent);
+
+        if (!messageSent) {
+            log.debug("사용자가 연결되어 있지 않음: receiverId={}", receiverId);
+        }
+    }
+
+    /**
+     * 묶인 알림 전송 (1건이면 기존과 같은 단일 객체 프레임, 2건 이상이면 배열 프레임)
+     */
+    private void pushBatch(String receiverId, List<NotificationResponse> batch) {
+        String destination = "/topic/notifications/" + receiverId;
+        Object payload = batch.size() == 1 ? batch.get(0) : batch;
+        boolean messageSent = notificationSessionService.sendMessageToUser(receiverId, destination, payload);
+        batch.forEach(notification -> outboxDeliveryTracker.record(notification.getId(), messageSent));
+
+        if (!messageSent) {
+            log.debug("사용자가 연결되어 있지 않음: receiverId={}", receiverId);
+        }
+    }
+
+    private static void forEachChunk(List<NotificationResponse> notifications, Consumer<List<NotificationResponse>> action) {
+        for (int from = 0; from < notifications.size(); from += PUSH_CHUNK_SIZE) {
+            action.accept(notifications.subList(from, Math.min(from + PUSH_CHUNK_SIZE, notifications.size())));
+        }
+    }
+
+    private static Lane lane(NotificationPriority priority, int workers, int queueCapacity, OverflowPolicy overflowPolicy,
+                             boolean virtual, MeterRegistry meterRegistry) {
+        String threadNamePrefix = "notification-dispatch-" + priority.name().toLowerCase() + "-";
+        // 가상 스레드 모드에서도 제한된 큐와 워커 수로 배압 정책은 그대로 유지
+        ThreadFactory threadFactory = virtual
+                ? new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory()
+                : threadFactory(threadNamePrefix);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, rejectionHandler(overflowPolicy));
+        // offer 는 큐에 직접 넣으므로 워커를 미리 띄워 둠
+        executor.prestartAllCoreThreads();
+        Gauge.builder("notification.dispatch.queue.size", executor, pool -> pool.getQueue().size())
+                .description("커밋 후 전송 대기 작업 수")
+                .tag("lane", priority.name().toLowerCase())
+                .register(meterRegistry);
+        return new Lane(priority, executor, overflowPolicy);
+    }
+
+    private static ThreadFactory threadFactory(String threadNamePrefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static RejectedExecutionHandler rejectionHandler(OverflowPolicy overflowPolicy) {
+        return switch (overflowPolicy) {
+            case BLOCK -> (runnable, executor) -> {
+                if (executor.isShutdown()) {
+                    throw new RejectedExecutionException("dispatcher shut down");
+                }
+                try {
+                    executor.getQueue().put(runnable);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException(e);
+                }
+            };
+            case DROP_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+            case REJECT -> new ThreadPoolExecutor.AbortPolicy();
+        };
+    }
+
+    private record Lane(NotificationPriority priority, ThreadPoolExecutor executor, OverflowPolicy overflowPolicy) {
+
+        /**
+         * @param count 로그용 알림 수 (임의 작업이면 0)
+         */
+        void submit(Runnable task, int count) {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                log.warn("전송 큐 포화로 실시간 전송 생략: lane={}, count={}", priority, count);
+            }
+        }
+
+        /**
+         * 큐 정책과 관계없이 기다리지 않고 넣음 (가득 차 있으면 생략하고 outbox 재전송에 맡김)
+         */
+        void offer(Runnable task, int count) {
+            if (executor.isShutdown() || !executor.getQueue().offer(task)) {
+                log.warn("전송 큐 포화로 실시간 전송 생략: lane={}, count={}", priority, count);
+            }
+        }
+    }
+}
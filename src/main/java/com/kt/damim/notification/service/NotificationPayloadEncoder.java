@@ -0,0 +1,133 @@
+package com.kt.damim.notification.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.kt.damim.notification.dto.NotificationResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 알림 페이로드를 한 번만 직렬화해 여러 전송에 재사용하기 위한 인코더
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationPayloadEncoder {
+
+    // 수신자마다 다른 필드
+    private static final Set<String> RECEIVER_FIELDS = Set.of("id", "receiverId", "createdAt");
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private final ObjectMapper objectMapper;
+
+    public byte[] encode(Object payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 수신자마다 id, receiverId, createdAt 만 다른 다중 전송용 템플릿
+     * <p>
+     * 나머지 필드(메시지 본문 등)는 여기서 한 번만 직렬화하고, 필드 순서는 단건 직렬화(@JsonPropertyOrder)와 같다.
+     */
+    public MulticastPayload prepareMulticast(NotificationResponse template) {
+        ObjectNode tree = objectMapper.valueToTree(template);
+        List<byte[]> segments = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        ByteArrayOutputStream segment = new ByteArrayOutputStream();
+        segment.write('{');
+        Iterator<Map.Entry<String, JsonNode>> fields = tree.properties().iterator();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            segment.writeBytes(encode(field.getKey()));
+            segment.write(':');
+            if (RECEIVER_FIELDS.contains(field.getKey())) {
+                // 수신자별 값 자리에서 공통부를 끊음
+                segments.add(segment.toByteArray());
+                slots.add(field.getKey());
+                segment.reset();
+            } else {
+                segment.writeBytes(encode(field.getValue()));
+            }
+            if (fields.hasNext()) {
+                segment.write(',');
+            }
+        }
+        segment.write('}');
+        segments.add(segment.toByteArray());
+        return new MulticastPayload(segments, slots);
+    }
+
+    public static final class MulticastPayload {
+
+        // segments.get(i) 뒤에 slots.get(i) 의 값이 오고, 마지막 공통부로 끝남
+        private final List<byte[]> segments;
+        private final List<String> slots;
+        private final int sharedLength;
+
+        private MulticastPayload(List<byte[]> segments, List<String> slots) {
+            this.segments = segments;
+            this.slots = slots;
+            this.sharedLength = segments.stream().mapToInt(segment -> segment.length).sum();
+        }
+
+        /**
+         * 수신자별 필드만 조립해 공통부 사이에 끼움 (Jackson 직렬화 없이 최종 크기로 한 번만 할당)
+         */
+        public byte[] forReceiver(Long id, String receiverId, LocalDateTime createdAt) {
+            // id 는 숫자, 나머지는 따옴표로 감싼 문자열 (null 이면 null)
+            byte[][] values = new byte[slots.size()][];
+            int length = sharedLength;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = switch (slots.get(i)) {
+                    case "id" -> id != null ? String.valueOf(id).getBytes(StandardCharsets.US_ASCII) : null;
+                    case "receiverId" -> receiverId != null ? JsonStringEncoder.getInstance().quoteAsUTF8(receiverId) : null;
+                    default -> createdAt != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(createdAt).getBytes(StandardCharsets.US_ASCII) : null;
+                };
+                length += values[i] == null ? NULL.length : values[i].length + (isQuoted(i) ? 2 : 0);
+            }
+
+            byte[] payload = new byte[length];
+            int offset = 0;
+            for (int i = 0; i < values.length; i++) {
+                offset = append(payload, offset, segments.get(i));
+                if (values[i] == null) {
+                    offset = append(payload, offset, NULL);
+                } else if (isQuoted(i)) {
+                    payload[offset++] = '"';
+                    offset = append(payload, offset, values[i]);
+                    payload[offset++] = '"';
+                } else {
+                    offset = append(payload, offset, values[i]);
+                }
+            }
+            append(payload, offset, segments.get(values.length));
+            return payload;
+        }
+
+        private boolean isQuoted(int slot) {
+            return !"id".equals(slots.get(slot));
+        }
+
+        private static int append(byte[] target, int offset, byte[] bytes) {
+            System.arraycopy(bytes, 0, target, offset, bytes.length);
+            return offset + bytes.length;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.kt.damim.notification.service;
+
+/**
+ * 알림 우선순위 (type 으로 결정), 우선순위마다 전송 큐와 워커를 따로 둔다
+ */
+public enum NotificationPriority {
+    /** 보안/OTP 등 지연되면 안 되는 알림 (전송 묶음, 발송 한도 미적용) */
+    HIGH,
+    /** 일반 알림 */
+    NORMAL,
+    /** 마케팅 등 대량 발송 */
+    BULK
+}
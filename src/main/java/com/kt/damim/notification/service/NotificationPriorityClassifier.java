@@ -0,0 +1,29 @@
+package com.kt.damim.notification.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * type 별 우선순위 결정 (설정에 없는 type 은 NORMAL)
+ */
+@Component
+public class NotificationPriorityClassifier {
+
+    private final Set<String> highTypes;
+    private final Set<String> bulkTypes;
+
+    public NotificationPriorityClassifier(@Value("${notification.priority.high-types:}") Set<String> highTypes,
+                                          @Value("${notification.priority.bulk-types:}") Set<String> bulkTypes) {
+        this.highTypes = highTypes;
+        this.bulkTypes = bulkTypes;
+    }
+
+    public NotificationPriority classify(String type) {
+        if (highTypes.contains(type)) {
+            return NotificationPriority.HIGH;
+        }
+        return bulkTypes.contains(type) ? NotificationPriority.BULK : NotificationPriority.NORMAL;
+    }
+}
@@ -1,16 +1,33 @@
 package com.kt.damim.notification.service;
 
+import com.kt.damim.notification.dto.MulticastNotificationRequest;
+import com.kt.damim.notification.dto.NotificationCursor;
+import com.kt.damim.notification.dto.NotificationPageResponse;
 import com.kt.damim.notification.dto.NotificationRequest;
 import com.kt.damim.notification.dto.NotificationResponse;
 import com.kt.damim.notification.entity.Notification;
+import com.kt.damim.notification.event.NotificationCreatedEvent;
+import com.kt.damim.notification.event.NotificationsReadEvent;
+import com.kt.damim.notification.exception.BatchTooLargeException;
+import com.kt.damim.notification.exception.IdempotencyConflictException;
+import com.kt.damim.notification.exception.InvalidScheduleException;
+import com.kt.damim.notification.metrics.NotificationMetrics;
 import com.kt.damim.notification.repository.NotificationRepository;
+import com.kt.damim.notification.retention.RetentionWindow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,72 +36,310 @@ import java.util.stream.Collectors;
 public class NotificationService {
     
     private final NotificationRepository notificationRepository;
-    private final SimpMessagingTemplate messagingTemplate;
-    private final NotificationSessionService notificationSessionService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final UnreadCountCache unreadCountCache;
+    private final InboxCache inboxCache;
+    private final NotificationMetrics notificationMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RetentionWindow retentionWindow;
+    private final NotificationAggregator notificationAggregator;
+    private final OutboxDeliveryTracker outboxDeliveryTracker;
+    private final SendRateLimiter sendRateLimiter;
+    
+    @Value("${notification.batch.max-size:1000}")
+    private int maxBatchSize;
+    
+    @Value("${notification.page.max-size:100}")
+    private int maxPageSize;
     
     @Transactional
     public NotificationResponse sendNotification(NotificationRequest request) {
+        rejectExpiryWithoutSchedule(request);
+        notificationDispatcher.ensureCapacity(request.getType());
+        sendRateLimiter.acquire(request.getSenderId(), request.getReceiverId(), request.getType());
+        
+        // 집계 창이 열려 있으면 새 행 없이 합치고, 기존 행 갱신과 전송은 NotificationAggregator 가 모아서 처리
+        if (notificationAggregator.isAggregatable(request)) {
+            // 합치기 전에 집계 알림 ID 로 멱등 키를 선점하고, 선점한 요청만 개수를 늘림 (재시도나 동시 요청으로 개수가 늘지 않도록)
+            boolean[] duplicate = new boolean[1];
+            NotificationResponse merged = notificationAggregator.merge(request, aggregateId -> {
+                if (request.getIdempotencyKey() == null) {
+                    return true;
+                }
+                duplicate[0] = notificationRepository.claimIdempotencyKey(request.getSenderId(), request.getIdempotencyKey(),
+                        aggregateId, LocalDateTime.now()) == 0;
+                return !duplicate[0];
+            });
+            if (duplicate[0]) {
+                return findByIdempotencyKey(request);
+            }
+            if (merged != null) {
+                notificationMetrics.recordMerged();
+                return merged;
+            }
+        }
+        notificationMetrics.timePersistUntilCommit();
+
         Notification notification = Notification.builder()
                 .senderId(request.getSenderId())
                 .receiverId(request.getReceiverId())
                 .message(request.getMessage())
                 .type(request.getType())
+                .groupKey(request.getGroupKey())
                 .isRead(false)
                 .build();
         
         Notification savedNotification = notificationRepository.save(notification);
         
-        // WebSocket을 통해 실시간 알림 전송
+        // 같은 키가 이미 있으면 이 트랜잭션을 롤백하고 처음 저장된 알림 반환 (키 선점은 INSERT 한 번으로 처리)
+        if (request.getIdempotencyKey() != null) {
+            int claimed = notificationRepository.claimIdempotencyKey(request.getSenderId(), request.getIdempotencyKey(),
+                    savedNotification.getId(), LocalDateTime.now());
+            if (claimed == 0) {
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+                return findByIdempotencyKey(request);
+            }
+        }
+        outboxDeliveryTracker.append(List.of(savedNotification));
+        
+        // WebSocket 실시간 전송은 커밋 이후 NotificationDispatcher 가 처리
         NotificationResponse response = convertToResponse(savedNotification);
-        String destination = "/topic/notifications/" + request.getReceiverId();
+        eventPublisher.publishEvent(new NotificationCreatedEvent(response));
         
-        boolean messageSent = notificationSessionService.sendMessageToUser(request.getReceiverId(), destination, response);
+        return response;
+    }
+    
+    /**
+     * 여러 건의 알림을 JDBC 배치 insert 로 저장하고 커밋 후 일괄 전송
+     */
+    @Transactional
+    public List<NotificationResponse> sendNotifications(List<NotificationRequest> requests) {
+        if (requests.size() > maxBatchSize) {
+            throw new BatchTooLargeException(requests.size(), maxBatchSize);
+        }
+        Map<String, Integer> limitedBySender = new HashMap<>();
+        Map<String, Integer> limitedByReceiver = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (NotificationRequest request : requests) {
+            // 예약 발송은 /send 만 지원하므로 즉시 보내지 않고 거부
+            if (request.getDeliverAt() != null && request.getDeliverAt().isAfter(now)) {
+                throw new InvalidScheduleException("일괄 전송은 예약 발송(deliverAt)을 지원하지 않습니다: deliverAt=" + request.getDeliverAt());
+            }
+            rejectExpiryWithoutSchedule(request);
+            notificationDispatcher.ensureCapacity(request.getType());
+            if (sendRateLimiter.isLimited(request.getType())) {
+                limitedBySender.merge(request.getSenderId(), 1, Integer::sum);
+                limitedByReceiver.merge(request.getReceiverId(), 1, Integer::sum);
+            }
+        }
+        sendRateLimiter.acquireAll(limitedBySender, limitedByReceiver);
         
-        if (!messageSent) {
-            log.warn("사용자가 연결되어 있지 않음: receiverId={}", request.getReceiverId());
+        List<Notification> notifications = requests.stream()
+                .map(this::toNotification)
+                .collect(Collectors.toList());
+        
+        return saveAndPublish(notifications, false);
+    }
+    
+    /**
+     * 발송 시각이 된 예약 알림을 일괄 전송 경로로 저장하고 커밋 후 전송 (발송 한도는 예약 접수 때 적용, 호출자 트랜잭션에 참여)
+     */
+    @Transactional
+    public List<NotificationResponse> sendScheduled(List<NotificationRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
         }
+        requests.stream().map(NotificationRequest::getType).distinct().forEach(notificationDispatcher::ensureCapacity);
         
-        return response;
+        List<NotificationResponse> responses = saveAndPublish(requests.stream()
+                .map(this::toNotification)
+                .collect(Collectors.toList()), false);
+        
+        // 예약 때 받은 멱등 키는 발송된 알림에 기록 (발송 후 같은 키로 다시 요청하면 이 알림 반환)
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < requests.size(); i++) {
+            NotificationRequest request = requests.get(i);
+            if (request.getIdempotencyKey() != null) {
+                notificationRepository.claimIdempotencyKey(request.getSenderId(), request.getIdempotencyKey(),
+                        responses.get(i).getId(), now);
+            }
+        }
+        return responses;
     }
     
-    @Transactional(readOnly = true)
-    public List<NotificationResponse> getNotificationsByReceiverId(String receiverId) {
-        List<Notification> notifications = notificationRepository.findByReceiverIdOrderByCreatedAtDesc(receiverId);
-        return notifications.stream()
-                .map(this::convertToResponse)
+    /**
+     * 동일한 메시지를 여러 수신자에게 전송 (본문은 한 번만 직렬화해 모든 수신자에게 재사용)
+     */
+    @Transactional
+    public List<NotificationResponse> multicastNotification(MulticastNotificationRequest request) {
+        if (request.getReceiverIds().size() > maxBatchSize) {
+            throw new BatchTooLargeException(request.getReceiverIds().size(), maxBatchSize);
+        }
+        notificationDispatcher.ensureCapacity(request.getType());
+        if (sendRateLimiter.isLimited(request.getType())) {
+            Map<String, Integer> countsByReceiver = new HashMap<>();
+            request.getReceiverIds().forEach(receiverId -> countsByReceiver.merge(receiverId, 1, Integer::sum));
+            sendRateLimiter.acquireAll(Map.of(request.getSenderId(), request.getReceiverIds().size()), countsByReceiver);
+        }
+        
+        List<Notification> notifications = request.getReceiverIds().stream()
+                .map(receiverId -> Notification.builder()
+                        .senderId(request.getSenderId())
+                        .receiverId(receiverId)
+                        .message(request.getMessage())
+                        .type(request.getType())
+                        .isRead(false)
+                        .build())
                 .collect(Collectors.toList());
+        
+        return saveAndPublish(notifications, true);
     }
     
-    @Transactional(readOnly = true)
-    public List<NotificationResponse> getUnreadNotifications(String receiverId) {
-        List<Notification> notifications = notificationRepository.findByReceiverIdAndIsReadFalseOrderByCreatedAtDesc(receiverId);
-        return notifications.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    /**
+     * 첫 페이지는 최신 알림 캐시에서 답하고, 캐시로 답할 수 없을 때만 DB 조회
+     * (캐시에서 답할 때 커넥션을 잡지 않도록 트랜잭션 없이 호출하고, 각 쿼리는 리포지토리의 읽기 전용 트랜잭션 사용)
+     */
+    public NotificationPageResponse getNotificationsByReceiverId(String receiverId, String cursor, int limit) {
+        int pageSize = clampPageSize(limit);
+        Pageable pageable = PageRequest.ofSize(pageSize + 1);
+        List<NotificationResponse> notifications;
+        if (cursor == null) {
+            notifications = inboxCache.firstPage(receiverId, pageSize, false);
+            if (notifications == null) {
+                notifications = notificationRepository.findFirstPage(receiverId, retentionWindow.since(), pageable);
+            }
+        } else {
+            NotificationCursor after = NotificationCursor.decode(cursor);
+            notifications = notificationRepository.findPageAfter(receiverId, retentionWindow.since(), after.createdAt(), after.id(), pageable);
+        }
+        return toPage(notifications, pageSize);
+    }
+    
+    /**
+     * 첫 페이지 처리는 {@link #getNotificationsByReceiverId} 와 같음
+     */
+    public NotificationPageResponse getUnreadNotifications(String receiverId, String cursor, int limit) {
+        int pageSize = clampPageSize(limit);
+        Pageable pageable = PageRequest.ofSize(pageSize + 1);
+        List<NotificationResponse> notifications;
+        if (cursor == null) {
+            notifications = inboxCache.firstPage(receiverId, pageSize, true);
+            if (notifications == null) {
+                notifications = notificationRepository.findUnreadFirstPage(receiverId, retentionWindow.since(), pageable);
+            }
+        } else {
+            NotificationCursor after = NotificationCursor.decode(cursor);
+            notifications = notificationRepository.findUnreadPageAfter(receiverId, retentionWindow.since(), after.createdAt(), after.id(), pageable);
+        }
+        return toPage(notifications, pageSize);
     }
     
     @Transactional
-    public void markAsRead(Long notificationId) {
-        notificationRepository.findById(notificationId)
-                .ifPresent(notification -> {
-                    notification.setRead(true);
-                    notificationRepository.save(notification);
-                });
+    public int markAsRead(Long notificationId) {
+        LocalDateTime since = retentionWindow.since();
+        int updated = notificationRepository.markAsRead(notificationId, since);
+        if (updated > 0) {
+            notificationRepository.findReceiverIdById(notificationId, since)
+                    .ifPresent(receiverId -> eventPublisher.publishEvent(
+                            new NotificationsReadEvent(receiverId, updated, List.of(notificationId), null)));
+        }
+        return updated;
     }
     
     @Transactional
-    public void markAllAsRead(String receiverId) {
-        List<Notification> unreadNotifications = notificationRepository.findByReceiverIdAndIsReadFalseOrderByCreatedAtDesc(receiverId);
-        unreadNotifications.forEach(notification -> notification.setRead(true));
-        notificationRepository.saveAll(unreadNotifications);
+    public int markAsRead(String receiverId, List<Long> notificationIds) {
+        if (notificationIds.size() > maxBatchSize) {
+            throw new BatchTooLargeException(notificationIds.size(), maxBatchSize);
+        }
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+        int updated = notificationRepository.markAsReadByIds(receiverId, notificationIds, retentionWindow.since());
+        return publishRead(new NotificationsReadEvent(receiverId, updated, notificationIds, null));
+    }
+    
+    @Transactional
+    public int markAllAsRead(String receiverId) {
+        return publishRead(new NotificationsReadEvent(receiverId,
+                notificationRepository.markAllAsRead(receiverId, retentionWindow.since())));
+    }
+    
+    /**
+     * 커서 위치(포함)까지의 알림만 읽음 처리
+     */
+    @Transactional
+    public int markAllAsRead(String receiverId, NotificationCursor upTo) {
+        int updated = notificationRepository.markAllAsReadUpTo(receiverId, upTo.createdAt(), upTo.id());
+        return publishRead(new NotificationsReadEvent(receiverId, updated, null, upTo));
     }
     
-    @Transactional(readOnly = true)
     public long getUnreadCount(String receiverId) {
-        return notificationRepository.countUnreadNotifications(receiverId);
+        return unreadCountCache.get(receiverId);
+    }
+    
+    private int publishRead(NotificationsReadEvent event) {
+        if (event.count() > 0) {
+            eventPublisher.publishEvent(event);
+        }
+        return event.count();
+    }
+    
+    private int clampPageSize(int limit) {
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+    
+    // pageSize + 1 건을 조회해 다음 페이지 존재 여부를 판단
+    private NotificationPageResponse toPage(List<NotificationResponse> notifications, int pageSize) {
+        if (notifications.size() <= pageSize) {
+            return new NotificationPageResponse(notifications, null);
+        }
+        List<NotificationResponse> page = notifications.subList(0, pageSize);
+        return new NotificationPageResponse(page, NotificationCursor.of(page.get(pageSize - 1)).encode());
+    }
+    
+    private NotificationResponse findByIdempotencyKey(NotificationRequest request) {
+        // 원래 알림이 보존 작업으로 삭제되었으면 409
+        return notificationRepository.findIdByIdempotencyKey(request.getSenderId(), request.getIdempotencyKey())
+                .map(notificationId -> notificationRepository.findResponsesByIds(List.of(notificationId), retentionWindow.since()))
+                .filter(found -> !found.isEmpty())
+                .map(found -> found.get(0))
+                .orElseThrow(() -> new IdempotencyConflictException(request.getIdempotencyKey()));
+    }
+    
+    private List<NotificationResponse> saveAndPublish(List<Notification> notifications, boolean multicast) {
+        notificationMetrics.timePersistUntilCommit();
+        List<Notification> saved = notificationRepository.saveAll(notifications);
+        outboxDeliveryTracker.append(saved);
+        List<NotificationResponse> responses = saved.stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+        eventPublisher.publishEvent(new NotificationCreatedEvent(responses, multicast));
+        return responses;
+    }
+    
+    /**
+     * 만료 시각은 예약 발송에만 적용되므로 즉시 발송 요청의 expiresAt 은 무시하지 않고 거부
+     */
+    private static void rejectExpiryWithoutSchedule(NotificationRequest request) {
+        if (request.getExpiresAt() != null) {
+            throw new InvalidScheduleException("만료 시각(expiresAt)은 미래의 발송 시각(deliverAt)과 함께만 쓸 수 있습니다: deliverAt="
+                    + request.getDeliverAt() + ", expiresAt=" + request.getExpiresAt());
+        }
+    }
+    
+    private Notification toNotification(NotificationRequest request) {
+        return Notification.builder()
+                .senderId(request.getSenderId())
+                .receiverId(request.getReceiverId())
+                .message(request.getMessage())
+                .type(request.getType())
+                .groupKey(request.getGroupKey())
+                .isRead(false)
+                .build();
     }
     
-    private NotificationResponse convertToResponse(Notification notification) {
+    // 벤치마크(src/jmh)에서 직접 호출하므로 package-private
+    NotificationResponse convertToResponse(Notification notification) {
         return NotificationResponse.builder()
                 .id(notification.getId())
                 .senderId(notification.getSenderId())
@@ -93,6 +348,8 @@ public class NotificationService {
                 .type(notification.getType())
                 .isRead(notification.isRead())
                 .createdAt(notification.getCreatedAt())
+                .groupKey(notification.getGroupKey())
+                .aggregateCount(notification.getAggregateCount())
                 .build();
     }
 }
@@ -1,101 +1,228 @@
 package com.kt.damim.notification.service;
 
-import com.kt.damim.notification.entity.NotificationSession;
-import com.kt.damim.notification.repository.NotificationSessionRepository;
+import com.kt.damim.notification.cluster.BrokerMode;
+import com.kt.damim.notification.cluster.ClusterSessionDirectory;
+import com.kt.damim.notification.dto.NotificationResponse;
+import com.kt.damim.notification.event.ClusterDeliveryEvent;
+import com.kt.damim.notification.metrics.NotificationMetrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.MimeTypeUtils;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationSessionService {
-    
-    private final NotificationSessionRepository notificationSessionRepository;
+
+    private final SessionRegistry sessionRegistry;
+    private final SessionAuditWriter sessionAuditWriter;
     private final SimpMessageSendingOperations messagingTemplate;
-    
+    private final NotificationMetrics notificationMetrics;
+    private final ClusterSessionDirectory clusterSessionDirectory;
+    private final NotificationPayloadEncoder payloadEncoder;
+    private final SseConnectionRegistry sseConnectionRegistry;
+
+    @Value("${notification.sse.timeout:30m}")
+    private Duration sseTimeout;
+
+    @Value("${notification.sse.reconnect-delay:3s}")
+    private Duration sseReconnectDelay;
+
+    @Value("${notification.broker.mode:SIMPLE}")
+    private BrokerMode brokerMode;
+
     /**
      * 임시 세션 등록
      */
-    @Transactional
     public void registerTemporarySession(String socketSessionId) {
-        NotificationSession tempSession = NotificationSession.builder()
-                .socketUserId("TEMP_" + socketSessionId)
-                .socketSessionId(socketSessionId)
-                .connectedAt(LocalDateTime.now())
-                .isActive(true)
-                .build();
-        
-        notificationSessionRepository.save(tempSession);
-        log.info("임시 세션 등록: socketSessionId={}", socketSessionId);
+        sessionRegistry.connect(socketSessionId);
+        sessionAuditWriter.recordConnected(socketSessionId, LocalDateTime.now());
+        log.debug("임시 세션 등록: socketSessionId={}", socketSessionId);
     }
-    
+
     /**
      * 임시 세션을 실제 사용자 세션으로 업데이트
      */
-    @Transactional
     public void updateSessionWithUserId(String socketSessionId, String socketUserId) {
-        // 기존 활성 세션 비활성화
-        List<NotificationSession> existingSessions = notificationSessionRepository.findBySocketUserIdAndIsActiveTrue(socketUserId);
-        existingSessions.forEach(session -> {
-            session.setActive(false);
-            session.setDisconnectedAt(LocalDateTime.now());
-        });
-        notificationSessionRepository.saveAll(existingSessions);
-        
-        // 임시 세션을 실제 사용자 ID로 업데이트
-        notificationSessionRepository.findBySocketSessionIdAndIsActiveTrue(socketSessionId)
-                .ifPresent(session -> {
-                    session.setSocketUserId(socketUserId);
-                    notificationSessionRepository.save(session);
-                    log.info("사용자 세션 등록: socketUserId={}, socketSessionId={}", socketUserId, socketSessionId);
-                });
+        sessionRegistry.bind(socketSessionId, socketUserId);
+        sessionAuditWriter.recordBound(socketSessionId, socketUserId, LocalDateTime.now());
+        log.debug("사용자 세션 등록: socketUserId={}, socketSessionId={}", socketUserId, socketSessionId);
     }
-    
 
-    
+
+
     /**
      * 사용자 세션 해제
      */
-    @Transactional
     public void unregisterUserSession(String socketSessionId) {
-        notificationSessionRepository.findBySocketSessionIdAndIsActiveTrue(socketSessionId)
-                .ifPresent(session -> {
-                    session.setActive(false);
-                    session.setDisconnectedAt(LocalDateTime.now());
-                    notificationSessionRepository.save(session);
-                    log.info("사용자 세션 해제: socketUserId={}, socketSessionId={}", session.getSocketUserId(), socketSessionId);
-                });
+        String socketUserId = sessionRegistry.disconnect(socketSessionId);
+        sessionAuditWriter.recordDisconnected(socketSessionId, LocalDateTime.now());
+        log.debug("사용자 세션 해제: socketUserId={}, socketSessionId={}", socketUserId, socketSessionId);
+    }
+
+    /**
+     * SSE 스트림 연결 (STOMP 세션과 같은 레지스트리에 등록되어 접속 여부/클러스터 전달이 동일하게 동작)
+     */
+    public SseConnectionRegistry.SseStream openStream(String socketUserId, HttpServletRequest request,
+                                                      HttpServletResponse response) throws IOException {
+        String streamSessionId = "sse-" + UUID.randomUUID();
+        sessionAuditWriter.recordConnected(streamSessionId, LocalDateTime.now());
+        updateSessionWithUserId(streamSessionId, socketUserId);
+        // 종료 콜백은 정상 종료, 시간 초과, 네트워크 오류, 서버 측 종료 모두에서 호출됨
+        return sseConnectionRegistry.open(socketUserId, request, response, sseTimeout, sseReconnectDelay,
+                () -> unregisterUserSession(streamSessionId));
+    }
+
+    /**
+     * 이 노드 또는 다른 노드에 접속 중인지 여부
+     */
+    public boolean isOnline(String socketUserId) {
+        return sessionRegistry.isOnline(socketUserId) || clusterSessionDirectory.findNode(socketUserId) != null;
     }
-    
+
     /**
-     * 특정 사용자에게 메시지 전송
+     * 특정 사용자에게 메시지 전송 (다른 노드에 접속한 사용자면 그 노드로 전달)
      */
-    @Transactional(readOnly = true)
     public boolean sendMessageToUser(String socketUserId, String destination, Object message) {
-        List<NotificationSession> activeSessions = notificationSessionRepository.findBySocketUserIdAndIsActiveTrue(socketUserId);
-        
-        if (activeSessions.isEmpty()) {
-            log.warn("사용자가 연결되어 있지 않음: socketUserId={}", socketUserId);
+        Runnable brokerSend = () -> messagingTemplate.convertAndSend(destination, message);
+        if (sessionRegistry.isOnline(socketUserId)) {
+            return sendLocal(socketUserId, destination, () -> payloadEncoder.encode(message), eventIdOf(message), brokerSend);
+        }
+        return sendToOtherNode(socketUserId, destination, () -> payloadEncoder.encode(message), brokerSend);
+    }
+
+    /**
+     * 이미 JSON 으로 직렬화된 페이로드를 변환 없이 전송
+     */
+    public boolean sendEncodedToUser(String socketUserId, String destination, byte[] payload) {
+        return sendEncodedToUser(socketUserId, destination, payload, null);
+    }
+
+    /**
+     * @param eventId SSE 이벤트 ID 로 쓸 알림 ID (알림 토픽만 해당)
+     */
+    public boolean sendEncodedToUser(String socketUserId, String destination, byte[] payload, Long eventId) {
+        Runnable brokerSend = () -> messagingTemplate.send(destination, encodedMessage(payload));
+        if (sessionRegistry.isOnline(socketUserId)) {
+            return sendLocal(socketUserId, destination, () -> payload, eventId, brokerSend);
+        }
+        return sendToOtherNode(socketUserId, destination, () -> payload, brokerSend);
+    }
+
+    /**
+     * 다른 노드가 이 노드로 전달한 메시지는 이 노드의 세션에만 전송 (재전달하지 않음)
+     */
+    @EventListener
+    public void onClusterDelivery(ClusterDeliveryEvent event) {
+        if (!sessionRegistry.isOnline(event.userId())) {
+            notificationMetrics.recordOffline(event.destination());
+            log.debug("전달받은 메시지의 사용자가 연결되어 있지 않음: socketUserId={}", event.userId());
+            return;
+        }
+        // 전달 메시지에는 알림 ID 가 없으므로 SSE 이벤트 ID 없이 전송 (재연결 시 재전송분은 클라이언트가 id 로 중복 제거)
+        sendLocal(event.userId(), event.destination(), event::payload, null,
+                () -> messagingTemplate.send(event.destination(), encodedMessage(event.payload())));
+    }
+
+    /**
+     * 이 노드의 SSE 스트림과 STOMP 세션에 전송 (STOMP 세션이 없으면 브로커를 거치지 않음)
+     */
+    private boolean sendLocal(String socketUserId, String destination, Supplier<byte[]> payload, Long eventId, Runnable brokerSend) {
+        int streams = sseConnectionRegistry.count(socketUserId);
+        boolean sent = false;
+        if (streams > 0) {
+            Timer.Sample sample = notificationMetrics.startPush();
+            if (sseConnectionRegistry.send(socketUserId, destination, payload.get(), eventId)) {
+                notificationMetrics.recordPushed(sample, destination);
+                sent = true;
+            } else {
+                notificationMetrics.recordPushFailed(destination);
+            }
+        }
+        if (sessionRegistry.getSessionIds(socketUserId).size() > streams) {
+            sent |= send(socketUserId, destination, brokerSend);
+        }
+        return sent;
+    }
+
+    private boolean sendToOtherNode(String socketUserId, String destination, Supplier<byte[]> payload, Runnable brokerSend) {
+        String nodeId = clusterSessionDirectory.findNode(socketUserId);
+        if (brokerMode == BrokerMode.RELAY && (nodeId != null || !clusterSessionDirectory.isEnabled())) {
+            // 외부 브로커가 구독 중인 노드로 중계. 접속 정보가 없으면 전달 여부를 알 수 없으므로 미전송으로 취급 (재구독 시 재전송)
+            return send(socketUserId, destination, brokerSend) && nodeId != null;
+        }
+        if (brokerMode == BrokerMode.SIMPLE && nodeId != null) {
+            Timer.Sample sample = notificationMetrics.startPush();
+            if (clusterSessionDirectory.forward(nodeId, socketUserId, destination, payload.get())) {
+                notificationMetrics.recordPushed(sample, destination);
+                log.debug("다른 노드로 메시지 전달: socketUserId={}, nodeId={}", socketUserId, nodeId);
+                return true;
+            }
+            notificationMetrics.recordPushFailed(destination);
             return false;
         }
-        
+        notificationMetrics.recordOffline(destination);
+        log.debug("사용자가 연결되어 있지 않음: socketUserId={}", socketUserId);
+        return false;
+    }
+
+    private boolean send(String socketUserId, String destination, Runnable brokerSend) {
+        Timer.Sample sample = notificationMetrics.startPush();
         try {
-            messagingTemplate.convertAndSend(destination, message);
-            log.info("메시지 전송 성공: socketUserId={}, destination={}", socketUserId, destination);
+            brokerSend.run();
+            notificationMetrics.recordPushed(sample, destination);
+            log.debug("메시지 전송 성공: socketUserId={}, destination={}", socketUserId, destination);
             return true;
         } catch (Exception e) {
+            notificationMetrics.recordPushFailed(destination);
             log.error("메시지 전송 실패: socketUserId={}, error={}", socketUserId, e.getMessage());
             return false;
         }
     }
-    
 
-    
+    private static Long eventIdOf(Object message) {
+        if (message instanceof NotificationResponse notification) {
+            return notification.getId();
+        }
+        if (message instanceof List<?> batch) {
+            // 묶음 프레임은 가장 큰 알림 ID
+            OptionalLong lastId = batch.stream()
+                    .filter(NotificationResponse.class::isInstance)
+                    .mapToLong(item -> ((NotificationResponse) item).getId())
+                    .max();
+            return lastId.isPresent() ? lastId.getAsLong() : null;
+        }
+        return null;
+    }
+
+    private static Message<byte[]> encodedMessage(byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        // 브로커가 destination 헤더를 채울 수 있도록 변경 가능 상태 유지
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+
+
+
 
 }
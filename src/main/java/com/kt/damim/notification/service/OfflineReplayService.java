@@ -0,0 +1,146 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.dto.NotificationResponse;
+import com.kt.damim.notification.repository.NotificationRepository;
+import com.kt.damim.notification.retention.RetentionWindow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 재접속 시 미전송 알림 재전송
+ * <p>
+ * 알림 토픽 구독 시 outbox 에 전송 완료(DELIVERED)로 기록되지 않은 알림만 조회해
+ * 구독한 세션에만 배열 프레임으로 나누어 보내고 DELIVERED 로 기록한다. 클라이언트는 알림 ID 로 중복을 제거한다.
+ * 알림 ID 는 노드별로 미리 할당되어 커밋 순서와 다르므로 마지막 전송 ID 커서로는 늦게 커밋된 알림을 놓친다.
+ * SSE 스트림은 여기에 더해 Last-Event-ID 이후 알림을 그 스트림에만 notification 이벤트로 보낸다.
+ * outbox 가 꺼져 있으면 전송 결과가 없으므로 재전송하지 않는다.
+ */
+@Service
+@Slf4j
+public class OfflineReplayService {
+
+    public static final String REPLAY_HEADER = "x-notification-replay";
+    public static final String REPLAY_TRUNCATED_HEADER = "x-notification-replay-truncated";
+    public static final String REPLAY_TRUNCATED_EVENT = "replay-truncated";
+
+    private final NotificationRepository notificationRepository;
+    private final OutboxDeliveryTracker outboxDeliveryTracker;
+    private final SessionMessageSender sessionMessageSender;
+    private final SseConnectionRegistry sseConnectionRegistry;
+    private final NotificationPayloadEncoder payloadEncoder;
+    private final NotificationDispatcher notificationDispatcher;
+    private final RetentionWindow retentionWindow;
+    private final int batchSize;
+    private final int maxReplay;
+
+    public OfflineReplayService(NotificationRepository notificationRepository,
+                                OutboxDeliveryTracker outboxDeliveryTracker,
+                                SessionMessageSender sessionMessageSender,
+                                SseConnectionRegistry sseConnectionRegistry,
+                                NotificationPayloadEncoder payloadEncoder,
+                                NotificationDispatcher notificationDispatcher,
+                                RetentionWindow retentionWindow,
+                                @Value("${notification.replay.batch-size:100}") int batchSize,
+                                @Value("${notification.replay.max:1000}") int maxReplay) {
+        this.notificationRepository = notificationRepository;
+        this.outboxDeliveryTracker = outboxDeliveryTracker;
+        this.sessionMessageSender = sessionMessageSender;
+        this.sseConnectionRegistry = sseConnectionRegistry;
+        this.payloadEncoder = payloadEncoder;
+        this.notificationDispatcher = notificationDispatcher;
+        this.retentionWindow = retentionWindow;
+        this.batchSize = batchSize;
+        this.maxReplay = maxReplay;
+    }
+
+    /**
+     * 구독 직후 호출되며, 조회와 전송은 전송 워커에서 비동기로 수행
+     */
+    public void replay(String socketUserId, String socketSessionId, String subscriptionId, String destination) {
+        notificationDispatcher.execute(() -> replayMissed(socketUserId, socketSessionId, subscriptionId, destination));
+    }
+
+    /**
+     * SSE 스트림 연결 직후 호출
+     *
+     * @param lastEventId 클라이언트가 보낸 Last-Event-ID, 없으면 전송되지 않은 알림만 보냄
+     */
+    public void replay(String socketUserId, Long lastEventId, SseConnectionRegistry.SseStream stream) {
+        notificationDispatcher.execute(() -> replayMissed(socketUserId, lastEventId, stream));
+    }
+
+    private void replayMissed(String socketUserId, String socketSessionId, String subscriptionId, String destination) {
+        List<NotificationResponse> missed = findMissed(socketUserId, null);
+        if (missed.isEmpty()) {
+            return;
+        }
+        boolean truncated = missed.size() > maxReplay;
+        if (truncated) {
+            missed = missed.subList(0, maxReplay);
+        }
+
+        for (int from = 0; from < missed.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, missed.size());
+            boolean last = to == missed.size();
+            Map<String, String> headers = last && truncated
+                    ? Map.of(REPLAY_HEADER, "true", REPLAY_TRUNCATED_HEADER, "true")
+                    : Map.of(REPLAY_HEADER, "true");
+            if (!sessionMessageSender.send(socketSessionId, subscriptionId, destination, missed.subList(from, to), headers)) {
+                log.warn("미전송 알림 재전송 실패: socketUserId={}, socketSessionId={}", socketUserId, socketSessionId);
+                return;
+            }
+        }
+        missed.forEach(notification -> outboxDeliveryTracker.record(notification.getId(), true));
+        log.debug("미전송 알림 재전송: socketUserId={}, count={}, truncated={}", socketUserId, missed.size(), truncated);
+    }
+
+    private void replayMissed(String socketUserId, Long lastEventId, SseConnectionRegistry.SseStream stream) {
+        List<NotificationResponse> missed = findMissed(socketUserId, lastEventId);
+        if (missed.isEmpty()) {
+            return;
+        }
+        boolean truncated = missed.size() > maxReplay;
+        if (truncated) {
+            missed = missed.subList(0, maxReplay);
+        }
+
+        for (int from = 0; from < missed.size(); from += batchSize) {
+            List<NotificationResponse> batch = missed.subList(from, Math.min(from + batchSize, missed.size()));
+            byte[] event = SseConnectionRegistry.event("notification", batch.get(batch.size() - 1).getId(),
+                    payloadEncoder.encode(batch));
+            if (!sseConnectionRegistry.send(stream, event)) {
+                log.warn("미전송 알림 재전송 실패: socketUserId={}, stream=SSE", socketUserId);
+                return;
+            }
+        }
+        if (truncated) {
+            sseConnectionRegistry.send(stream, SseConnectionRegistry.event(REPLAY_TRUNCATED_EVENT, null,
+                    "true".getBytes(StandardCharsets.UTF_8)));
+        }
+        missed.forEach(notification -> outboxDeliveryTracker.record(notification.getId(), true));
+        log.debug("미전송 알림 재전송: socketUserId={}, count={}, truncated={}, stream=SSE", socketUserId, missed.size(), truncated);
+    }
+
+    /**
+     * 전송되지 않은 알림과 resumeAfterId 이후 알림을 최대 replay.max + 1 건 조회 (초과분이 있으면 잘린 것으로 판단)
+     */
+    private List<NotificationResponse> findMissed(String socketUserId, Long resumeAfterId) {
+        if (!outboxDeliveryTracker.isEnabled()) {
+            return List.of();
+        }
+        long resumeAfter = resumeAfterId != null ? resumeAfterId : Long.MAX_VALUE;
+        List<NotificationResponse> missed = new ArrayList<>(notificationRepository.findUndelivered(socketUserId, resumeAfter,
+                retentionWindow.since(), PageRequest.ofSize(maxReplay + 1)));
+        // 전송했지만 결과가 아직 DB 에 기록되지 않은 알림은 제외
+        missed.removeIf(notification -> notification.getId() <= resumeAfter
+                && outboxDeliveryTracker.isRecordedDelivered(notification.getId()));
+        return missed;
+    }
+}
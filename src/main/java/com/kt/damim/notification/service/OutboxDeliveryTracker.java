@@ -0,0 +1,134 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.entity.Notification;
+import com.kt.damim.notification.entity.NotificationOutbox;
+import com.kt.damim.notification.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 알림 전송 outbox 기록
+ * <p>
+ * 알림 저장 트랜잭션 안에서 PENDING 행을 함께 저장하고, 전송 결과는 메모리에 모았다가 주기적으로 일괄 UPDATE 한다.
+ * 결과가 기록되기 전에 프로세스가 종료되면 행이 PENDING 으로 남아 {@link OutboxRelay} 가 다시 전송한다. (최소 1회 전송)
+ * DELIVERED 가 아닌 행은 재접속 시 {@link OfflineReplayService} 가 다시 보내고 DELIVERED 로 바꾼다.
+ */
+@Component
+@Slf4j
+public class OutboxDeliveryTracker {
+
+    // IN 절 하나에 넣는 최대 ID 수
+    private static final int UPDATE_CHUNK_SIZE = 500;
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration redeliverAfter;
+    // 아직 DB 에 기록되지 않은 전송 결과
+    private final ConcurrentHashMap<Long, NotificationOutbox.Status> pendingOutcomes = new ConcurrentHashMap<>();
+
+    public OutboxDeliveryTracker(NotificationOutboxRepository outboxRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${notification.outbox.enabled:true}") boolean enabled,
+                                 @Value("${notification.outbox.redeliver-after:10s}") Duration redeliverAfter) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.redeliverAfter = redeliverAfter;
+        Gauge.builder("notification.outbox.pending.outcomes", pendingOutcomes, Map::size)
+                .description("DB 에 기록 대기 중인 전송 결과 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 호출한 트랜잭션 안에서 저장된 알림의 outbox 행 저장 (알림과 함께 커밋/롤백)
+     */
+    public void append(List<Notification> notifications) {
+        if (!enabled || notifications.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime nextAttemptAt = now.plus(redeliverAfter);
+        List<NotificationOutbox> rows = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            rows.add(NotificationOutbox.builder()
+                    .notificationId(notification.getId())
+                    .receiverId(notification.getReceiverId())
+                    .status(NotificationOutbox.Status.PENDING)
+                    .nextAttemptAt(nextAttemptAt)
+                    .updatedAt(now)
+                    .build());
+        }
+        outboxRepository.saveAll(rows);
+    }
+
+    /**
+     * 실시간 전송 결과 기록 (접속 중이면 DELIVERED, 아니면 OFFLINE), 한 번 DELIVERED 면 OFFLINE 으로 되돌리지 않음
+     */
+    public void record(Long notificationId, boolean delivered) {
+        if (enabled) {
+            pendingOutcomes.merge(notificationId,
+                    delivered ? NotificationOutbox.Status.DELIVERED : NotificationOutbox.Status.OFFLINE,
+                    (previous, outcome) -> previous == NotificationOutbox.Status.DELIVERED ? previous : outcome);
+        }
+    }
+
+    /**
+     * 아직 DB 에 기록하지 않은 전송 완료 결과가 있는지 (재접속 재전송에서 중복 전송을 줄이는 용도)
+     */
+    public boolean isRecordedDelivered(Long notificationId) {
+        return pendingOutcomes.get(notificationId) == NotificationOutbox.Status.DELIVERED;
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.flush-interval:1s}")
+    public void flush() {
+        if (pendingOutcomes.isEmpty()) {
+            return;
+        }
+        Map<Long, NotificationOutbox.Status> snapshot = new HashMap<>(pendingOutcomes);
+        Map<NotificationOutbox.Status, List<Long>> idsByStatus = new EnumMap<>(NotificationOutbox.Status.class);
+        snapshot.forEach((id, status) -> idsByStatus.computeIfAbsent(status, key -> new ArrayList<>()).add(id));
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> idsByStatus.forEach((outcome, ids) -> {
+                for (int from = 0; from < ids.size(); from += UPDATE_CHUNK_SIZE) {
+                    List<Long> chunk = ids.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, ids.size()));
+                    if (outcome == NotificationOutbox.Status.DELIVERED) {
+                        outboxRepository.recordDelivered(chunk, now);
+                    } else {
+                        outboxRepository.recordOutcome(chunk, outcome, now);
+                    }
+                }
+            }));
+            // 기록 중 다시 바뀐 항목은 다음 주기에 기록
+            snapshot.forEach(pendingOutcomes::remove);
+        } catch (Exception e) {
+            log.error("outbox 전송 결과 기록 실패: count={}, error={}", snapshot.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,137 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.dto.NotificationResponse;
+import com.kt.damim.notification.entity.NotificationOutbox;
+import com.kt.damim.notification.repository.NotificationOutboxRepository;
+import com.kt.damim.notification.repository.NotificationRepository;
+import com.kt.damim.notification.retention.RetentionWindow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * outbox 재전송 워커
+ * <p>
+ * redeliver-after 가 지나도록 전송 결과가 기록되지 않은 행(커밋 후 전송 전 종료, 전송 큐 포화 등)을
+ * 알림 ID 순으로 잡아 다시 전송한다. 잡은 행은 같은 트랜잭션에서 다음 시도 시각을 미루므로
+ * 여러 노드가 동시에 실행해도 같은 행을 중복으로 잡지 않는다. 클라이언트는 알림 ID 로 중복을 제거한다.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationRepository notificationRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final OutboxDeliveryTracker outboxDeliveryTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final RetentionWindow retentionWindow;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration redeliverAfter;
+    private final Duration maxBackoff;
+    private final Counter redeliveredCounter;
+    private final Counter failedCounter;
+
+    public OutboxRelay(NotificationOutboxRepository outboxRepository,
+                       NotificationRepository notificationRepository,
+                       NotificationDispatcher notificationDispatcher,
+                       OutboxDeliveryTracker outboxDeliveryTracker,
+                       TransactionTemplate transactionTemplate,
+                       RetentionWindow retentionWindow,
+                       MeterRegistry meterRegistry,
+                       @Value("${notification.outbox.relay-batch-size:500}") int batchSize,
+                       @Value("${notification.outbox.max-attempts:5}") int maxAttempts,
+                       @Value("${notification.outbox.redeliver-after:10s}") Duration redeliverAfter,
+                       @Value("${notification.outbox.max-backoff:5m}") Duration maxBackoff) {
+        this.outboxRepository = outboxRepository;
+        this.notificationRepository = notificationRepository;
+        this.notificationDispatcher = notificationDispatcher;
+        this.outboxDeliveryTracker = outboxDeliveryTracker;
+        this.transactionTemplate = transactionTemplate;
+        this.retentionWindow = retentionWindow;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.redeliverAfter = redeliverAfter;
+        this.maxBackoff = maxBackoff;
+        this.redeliveredCounter = Counter.builder("notification.outbox.redelivered")
+                .description("outbox 재전송 워커가 다시 전송한 알림 수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("notification.outbox.failed")
+                .description("재시도 한도 초과 또는 알림 삭제로 포기한 outbox 행 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval:2s}")
+    public void relay() {
+        if (!outboxDeliveryTracker.isEnabled()) {
+            return;
+        }
+        List<NotificationResponse> due;
+        try {
+            due = transactionTemplate.execute(status -> claimDue());
+        } catch (RuntimeException e) {
+            log.warn("outbox 재전송 대상 조회 실패: error={}", e.getMessage());
+            return;
+        }
+        if (due == null || due.isEmpty()) {
+            return;
+        }
+        redeliveredCounter.increment(due.size());
+        notificationDispatcher.redeliver(due);
+        log.debug("outbox 재전송: count={}", due.size());
+    }
+
+    /**
+     * 재전송할 행을 잡고 다음 시도 시각을 미룸 (변경은 트랜잭션 커밋 시 반영)
+     */
+    private List<NotificationResponse> claimDue() {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutbox> rows = outboxRepository.findDue(now, PageRequest.ofSize(batchSize));
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<NotificationResponse> notifications = notificationRepository.findResponsesByIds(
+                rows.stream().map(NotificationOutbox::getNotificationId).toList(), retentionWindow.since());
+        Set<Long> found = notifications.stream().map(NotificationResponse::getId).collect(Collectors.toSet());
+
+        Set<Long> retrying = new HashSet<>();
+        int failed = 0;
+        for (NotificationOutbox row : rows) {
+            row.setAttempts(row.getAttempts() + 1);
+            row.setUpdatedAt(now);
+            if (!found.contains(row.getNotificationId()) || row.getAttempts() > maxAttempts) {
+                row.setStatus(NotificationOutbox.Status.FAILED);
+                failed++;
+            } else {
+                row.setNextAttemptAt(now.plus(backoff(row.getAttempts())));
+                retrying.add(row.getNotificationId());
+            }
+        }
+        if (failed > 0) {
+            failedCounter.increment(failed);
+            log.warn("outbox 재전송 포기: count={}", failed);
+        }
+        return notifications.stream()
+                .filter(notification -> retrying.contains(notification.getId()))
+                .toList();
+    }
+
+    // 시도마다 두 배씩, 최대 max-backoff
+    private Duration backoff(int attempts) {
+        Duration backoff = redeliverAfter.multipliedBy(1L << Math.min(attempts, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
@@ -0,0 +1,40 @@
+package com.kt.damim.notification.service;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeType;
+
+/**
+ * 클라이언트가 고르는 알림 본문 인코딩 (STOMP SUBSCRIBE 의 content-type, REST 의 Accept)
+ */
+public enum PayloadEncoding {
+    /** 기존 JSON (시각은 ISO 문자열) */
+    JSON(MediaType.APPLICATION_JSON),
+    /** CBOR 맵, 시각은 epoch millis */
+    CBOR(MediaType.APPLICATION_CBOR),
+    /** CBOR 배열 (필드 이름 없이 @JsonPropertyOrder 순서의 값만), 시각은 epoch millis */
+    COMPACT_CBOR(new MediaType("application", "vnd.notification.compact+cbor"));
+
+    private final MediaType mediaType;
+
+    PayloadEncoding(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * content-type 에 맞는 인코딩, 없거나 모르는 형식이면 JSON
+     */
+    public static PayloadEncoding of(MimeType contentType) {
+        if (contentType != null) {
+            for (PayloadEncoding encoding : values()) {
+                if (encoding.mediaType.equalsTypeAndSubtype(contentType)) {
+                    return encoding;
+                }
+            }
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,222 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.event.NotificationScheduleChangedEvent;
+import com.kt.damim.notification.repository.ScheduledNotificationRepository;
+import com.kt.damim.notification.repository.ScheduledNotificationRepository.PendingTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 예약 알림 발송 시각 관리
+ * <p>
+ * 발송 시각이 preload 안에 드는 예약만 {@link TimingWheel} 에 올려 두고, 틱마다 만료된 예약을 release-batch-size 단위로 묶어
+ * 발송 워커에 넘긴다. 만료 시각에는 0~jitter 사이 임의 지연을 더해 같은 시각에 몰린 예약을 흩뜨린다 (일찍 보내지는 않음).
+ * <p>
+ * 범위 밖 예약은 DB 에만 두고 load-interval 마다 범위를 넓히며 읽어 오므로, 재시작하면 첫 적재에서 밀린 예약까지 다시 올린다.
+ * 노드마다 모든 예약을 올리고 발송은 {@link ScheduledNotificationService#release} 가 행 잠금으로 한 노드만 하므로,
+ * 노드가 발송 도중 종료되어 남은 예약은 stuck-after 가 지난 뒤 남은 노드가 다시 올린다.
+ */
+@Component
+@Slf4j
+public class ScheduledDeliveryTimer {
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final ScheduledNotificationRepository scheduledNotificationRepository;
+    private final ScheduledNotificationService scheduledNotificationService;
+    private final ZoneId zone = ZoneId.systemDefault();
+    // 모든 접근은 wheel 모니터로 보호
+    private final TimingWheel wheel;
+    private final Duration preload;
+    private final Duration stuckAfter;
+    private final long jitterMillis;
+    private final long retryDelayMillis;
+    private final int releaseBatchSize;
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService releaseExecutor;
+
+    // 이 시각 전 발송 예약은 이미 휠에 올렸거나 올리는 중 (커밋 직후 리스너가 직접 추가하는 기준), 첫 적재 전이면 null
+    private volatile LocalDateTime loadedUntil;
+
+    public ScheduledDeliveryTimer(ScheduledNotificationRepository scheduledNotificationRepository,
+                                  ScheduledNotificationService scheduledNotificationService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${notification.schedule.tick:100ms}") Duration tick,
+                                  @Value("${notification.schedule.preload:10m}") Duration preload,
+                                  @Value("${notification.schedule.jitter:1s}") Duration jitter,
+                                  @Value("${notification.schedule.stuck-after:5m}") Duration stuckAfter,
+                                  @Value("${notification.schedule.retry-delay:5s}") Duration retryDelay,
+                                  @Value("${notification.schedule.release-batch-size:500}") int releaseBatchSize,
+                                  @Value("${notification.schedule.release-workers:2}") int releaseWorkers) {
+        this.scheduledNotificationRepository = scheduledNotificationRepository;
+        this.scheduledNotificationService = scheduledNotificationService;
+        this.wheel = new TimingWheel(tick.toMillis(), System.currentTimeMillis());
+        this.jitterMillis = jitter.toMillis();
+        // 지터를 더해도 휠 범위를 넘지 않도록
+        Duration maxPreload = Duration.ofMillis(wheel.horizonMillis() - jitterMillis - tick.toMillis());
+        this.preload = preload.compareTo(maxPreload) > 0 ? maxPreload : preload;
+        this.stuckAfter = stuckAfter;
+        this.retryDelayMillis = retryDelay.toMillis();
+        this.releaseBatchSize = releaseBatchSize;
+
+        AtomicInteger releaseThreadIndex = new AtomicInteger();
+        this.releaseExecutor = Executors.newFixedThreadPool(releaseWorkers, runnable -> {
+            Thread thread = new Thread(runnable, "notification-schedule-release-" + releaseThreadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-schedule-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+
+        Gauge.builder("notification.schedule.pending", this, ScheduledDeliveryTimer::pendingTimers)
+                .description("이 노드 타이밍 휠에서 발송 시각을 기다리는 예약 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 커밋된 예약 추가/취소 반영 (적재 범위 밖 예약은 다음 적재에서 올림)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onScheduleChanged(NotificationScheduleChangedEvent event) {
+        if (event.canceled()) {
+            synchronized (wheel) {
+                wheel.cancel(event.scheduledId());
+            }
+            return;
+        }
+        LocalDateTime until = loadedUntil;
+        if (until != null && event.deliverAt().isBefore(until)) {
+            add(event.scheduledId(), event.deliverAt());
+        }
+    }
+
+    /**
+     * 적재 범위를 preload 만큼 앞으로 넓히고, 범위에 새로 든 예약과 stuck-after 가 지나도록 남은 예약을 휠에 올림
+     */
+    @Scheduled(fixedDelayString = "${notification.schedule.load-interval:1m}")
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = loadedUntil;
+        LocalDateTime until = now.plus(preload);
+        // 조회 전에 범위를 먼저 넓혀야, 조회 후 커밋된 예약을 리스너가 직접 올림
+        loadedUntil = until;
+        try {
+            int loaded;
+            if (from == null) {
+                loaded = loadPages(null, until);
+            } else {
+                loaded = loadPages(from, until) + loadPages(null, now.minus(stuckAfter));
+            }
+            if (loaded > 0) {
+                log.info("예약 알림 적재: count={}, until={}, pending={}", loaded, until, pendingTimers());
+            }
+        } catch (RuntimeException e) {
+            loadedUntil = from;
+            log.warn("예약 알림 적재 실패: error={}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        releaseExecutor.shutdown();
+    }
+
+    /**
+     * from(포함)부터 until 전까지 발송 예약을 키셋 페이지로 읽어 휠에 추가, from 이 null 이면 처음부터
+     *
+     * @return 새로 추가한 수
+     */
+    private int loadPages(LocalDateTime from, LocalDateTime until) {
+        Pageable page = PageRequest.ofSize(LOAD_PAGE_SIZE);
+        List<PendingTimer> timers = from == null
+                ? scheduledNotificationRepository.findTimersFirstPage(until, page)
+                : scheduledNotificationRepository.findTimersAfter(from, 0L, until, page);
+        int added = 0;
+        while (!timers.isEmpty()) {
+            for (PendingTimer timer : timers) {
+                if (add(timer.getId(), timer.getDeliverAt())) {
+                    added++;
+                }
+            }
+            if (timers.size() < LOAD_PAGE_SIZE) {
+                break;
+            }
+            PendingTimer last = timers.get(timers.size() - 1);
+            timers = scheduledNotificationRepository.findTimersAfter(last.getDeliverAt(), last.getId(), until, page);
+        }
+        return added;
+    }
+
+    /**
+     * @return 새로 추가했으면 true (이미 있으면 false)
+     */
+    private boolean add(long scheduledId, LocalDateTime deliverAt) {
+        long deadline = deliverAt.atZone(zone).toInstant().toEpochMilli()
+                + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis) : 0);
+        synchronized (wheel) {
+            return wheel.add(scheduledId, deadline);
+        }
+    }
+
+    private void tick() {
+        List<Long> due = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(System.currentTimeMillis(), due::add);
+        }
+        for (int from = 0; from < due.size(); from += releaseBatchSize) {
+            List<Long> batch = List.copyOf(due.subList(from, Math.min(from + releaseBatchSize, due.size())));
+            try {
+                releaseExecutor.execute(() -> release(batch));
+            } catch (RejectedExecutionException e) {
+                // 종료 중: 남은 예약은 다음 기동 때 적재
+                return;
+            }
+        }
+    }
+
+    private void release(List<Long> batch) {
+        try {
+            scheduledNotificationService.release(batch);
+        } catch (RuntimeException e) {
+            // 행은 남아 있으므로 잠시 뒤 다시 시도 (전송 큐 포화, DB 장애 등)
+            log.warn("예약 알림 발송 실패, {}ms 뒤 재시도: count={}, error={}", retryDelayMillis, batch.size(), e.getMessage());
+            long retryAt = System.currentTimeMillis() + retryDelayMillis;
+            synchronized (wheel) {
+                batch.forEach(scheduledId -> wheel.add(scheduledId, retryAt));
+            }
+        }
+    }
+
+    private int pendingTimers() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+}
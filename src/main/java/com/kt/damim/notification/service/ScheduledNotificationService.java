@@ -0,0 +1,210 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.dto.NotificationRequest;
+import com.kt.damim.notification.dto.NotificationResponse;
+import com.kt.damim.notification.dto.ScheduledNotificationResponse;
+import com.kt.damim.notification.entity.ScheduledNotification;
+import com.kt.damim.notification.event.NotificationScheduleChangedEvent;
+import com.kt.damim.notification.exception.IdempotencyConflictException;
+import com.kt.damim.notification.exception.InvalidScheduleException;
+import com.kt.damim.notification.repository.NotificationRepository;
+import com.kt.damim.notification.repository.ScheduledNotificationRepository;
+import com.kt.damim.notification.retention.RetentionWindow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 예약 알림 접수/취소와 발송
+ * <p>
+ * 접수한 예약은 scheduled_notifications 에 저장해 재시작 후에도 남고, 발송 시각은 {@link ScheduledDeliveryTimer} 가 잰다.
+ * 발송할 때는 행을 잠그고 삭제하는 트랜잭션 안에서 일반 일괄 전송 경로로 알림을 저장하므로,
+ * 여러 노드가 같은 예약을 잡아도 한 번만 발송된다.
+ */
+@Service
+@Slf4j
+public class ScheduledNotificationService {
+
+    private final ScheduledNotificationRepository scheduledNotificationRepository;
+    private final NotificationRepository notificationRepository;
+    private final NotificationService notificationService;
+    private final SendRateLimiter sendRateLimiter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final RetentionWindow retentionWindow;
+    private final Counter releasedCounter;
+    private final Counter expiredCounter;
+
+    public ScheduledNotificationService(ScheduledNotificationRepository scheduledNotificationRepository,
+                                        NotificationRepository notificationRepository,
+                                        NotificationService notificationService,
+                                        SendRateLimiter sendRateLimiter,
+                                        ApplicationEventPublisher eventPublisher,
+                                        TransactionTemplate transactionTemplate,
+                                        RetentionWindow retentionWindow,
+                                        MeterRegistry meterRegistry) {
+        this.scheduledNotificationRepository = scheduledNotificationRepository;
+        this.notificationRepository = notificationRepository;
+        this.notificationService = notificationService;
+        this.sendRateLimiter = sendRateLimiter;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.retentionWindow = retentionWindow;
+        this.releasedCounter = Counter.builder("notification.schedule.released")
+                .description("발송 시각이 되어 전송한 예약 알림 수")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("notification.schedule.expired")
+                .description("만료 시각까지 발송하지 못해 버린 예약 알림 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 발송 시각이 아직 오지 않은 요청인지 (지난 시각이면 즉시 발송)
+     */
+    public boolean isScheduled(NotificationRequest request) {
+        return request.getDeliverAt() != null && request.getDeliverAt().isAfter(LocalDateTime.now());
+    }
+
+    /**
+     * 같은 멱등 키의 요청이 이미 알림으로 발송되었으면 그 알림 (발송 후 예약 행이 지워져도 재시도가 새 예약이 되지 않도록)
+     */
+    @Transactional(readOnly = true)
+    public Optional<NotificationResponse> findReleased(NotificationRequest request) {
+        if (request.getIdempotencyKey() == null) {
+            return Optional.empty();
+        }
+        return notificationRepository.findIdByIdempotencyKey(request.getSenderId(), request.getIdempotencyKey())
+                .flatMap(notificationId -> notificationRepository.findResponsesByIds(List.of(notificationId), retentionWindow.since()).stream().findFirst());
+    }
+
+    /**
+     * 예약 접수, 같은 멱등 키의 예약이 남아 있으면 그 예약을 반환
+     * <p>
+     * 호출자가 {@link #findReleased} 로 발송된 알림을 먼저 확인하며, 그사이 발송된 키는 409 로 거부한다.
+     */
+    @Transactional
+    public ScheduledNotificationResponse schedule(NotificationRequest request) {
+        if (request.getExpiresAt() != null && !request.getExpiresAt().isAfter(request.getDeliverAt())) {
+            throw new InvalidScheduleException("만료 시각은 발송 시각 이후여야 합니다: deliverAt=" + request.getDeliverAt()
+                    + ", expiresAt=" + request.getExpiresAt());
+        }
+        if (request.getIdempotencyKey() != null) {
+            Optional<ScheduledNotification> existing = scheduledNotificationRepository
+                    .findBySenderIdAndIdempotencyKey(request.getSenderId(), request.getIdempotencyKey());
+            if (existing.isPresent()) {
+                return convertToResponse(existing.get());
+            }
+            if (notificationRepository.findIdByIdempotencyKey(request.getSenderId(), request.getIdempotencyKey()).isPresent()) {
+                throw new IdempotencyConflictException(request.getIdempotencyKey());
+            }
+        }
+        // 발송 한도는 접수 시점에 적용 (발송 시각에 몰려도 이미 접수된 예약은 거부하지 않음)
+        sendRateLimiter.acquire(request.getSenderId(), request.getReceiverId(), request.getType());
+
+        ScheduledNotification saved;
+        try {
+            saved = scheduledNotificationRepository.save(ScheduledNotification.builder()
+                    .senderId(request.getSenderId())
+                    .receiverId(request.getReceiverId())
+                    .message(request.getMessage())
+                    .type(request.getType())
+                    .groupKey(request.getGroupKey())
+                    .idempotencyKey(request.getIdempotencyKey())
+                    .deliverAt(request.getDeliverAt())
+                    .expiresAt(request.getExpiresAt())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // 같은 멱등 키로 동시에 들어온 예약
+            throw new IdempotencyConflictException(request.getIdempotencyKey());
+        }
+        // 커밋 후 ScheduledDeliveryTimer 가 타이밍 휠에 추가
+        eventPublisher.publishEvent(new NotificationScheduleChangedEvent(saved.getId(), saved.getDeliverAt(), false));
+        return convertToResponse(saved);
+    }
+
+    /**
+     * 발송 전 예약 취소, 이미 발송했거나 발송 중이면 0
+     */
+    @Transactional
+    public int cancel(Long scheduledId) {
+        int deleted = scheduledNotificationRepository.deleteScheduled(scheduledId);
+        if (deleted > 0) {
+            eventPublisher.publishEvent(new NotificationScheduleChangedEvent(scheduledId, null, true));
+        }
+        return deleted;
+    }
+
+    /**
+     * 발송 시각이 된 예약을 알림으로 저장/전송하고 삭제, 만료된 예약은 삭제만 한다.
+     * 다른 노드가 잡고 있거나 이미 처리된 예약은 건너뛴다. 전송 큐 포화 등으로 실패하면 예외를 던지고 행은 그대로 남는다.
+     */
+    public void release(Collection<Long> scheduledIds) {
+        ReleaseCounts counts = transactionTemplate.execute(status -> {
+            List<ScheduledNotification> rows = scheduledNotificationRepository.lockByIds(scheduledIds);
+            if (rows.isEmpty()) {
+                return new ReleaseCounts(0, 0);
+            }
+            scheduledNotificationRepository.deleteAllInBatch(rows);
+
+            LocalDateTime now = LocalDateTime.now();
+            List<NotificationRequest> due = new ArrayList<>(rows.size());
+            int expired = 0;
+            for (ScheduledNotification row : rows) {
+                if (row.getExpiresAt() != null && !row.getExpiresAt().isAfter(now)) {
+                    expired++;
+                } else if (row.getIdempotencyKey() == null
+                        || notificationRepository.findIdByIdempotencyKey(row.getSenderId(), row.getIdempotencyKey()).isEmpty()) {
+                    due.add(toRequest(row));
+                }
+            }
+            notificationService.sendScheduled(due);
+            return new ReleaseCounts(due.size(), expired);
+        });
+        if (counts == null) {
+            return;
+        }
+        releasedCounter.increment(counts.released());
+        if (counts.expired() > 0) {
+            expiredCounter.increment(counts.expired());
+            log.info("만료된 예약 알림 삭제: count={}", counts.expired());
+        }
+    }
+
+    private NotificationRequest toRequest(ScheduledNotification row) {
+        NotificationRequest request = new NotificationRequest();
+        request.setSenderId(row.getSenderId());
+        request.setReceiverId(row.getReceiverId());
+        request.setMessage(row.getMessage());
+        request.setType(row.getType());
+        request.setGroupKey(row.getGroupKey());
+        request.setIdempotencyKey(row.getIdempotencyKey());
+        return request;
+    }
+
+    private ScheduledNotificationResponse convertToResponse(ScheduledNotification scheduled) {
+        return ScheduledNotificationResponse.builder()
+                .id(scheduled.getId())
+                .senderId(scheduled.getSenderId())
+                .receiverId(scheduled.getReceiverId())
+                .message(scheduled.getMessage())
+                .type(scheduled.getType())
+                .deliverAt(scheduled.getDeliverAt())
+                .expiresAt(scheduled.getExpiresAt())
+                .createdAt(scheduled.getCreatedAt())
+                .build();
+    }
+
+    private record ReleaseCounts(int released, int expired) {
+    }
+}
@@ -0,0 +1,216 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.event.UserPresenceChangedEvent;
+import com.kt.damim.notification.repository.NotificationSegmentRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 세그먼트 멤버십 비트맵 인덱스
+ * <p>
+ * 사용자 ID 를 노드 안에서만 쓰는 정수 번호로 바꾸고, 세그먼트 멤버와 이 노드의 접속 사용자를 각각 Roaring 비트맵으로 둔다.
+ * 세그먼트 비트맵은 처음 사용할 때 전용 로더 스레드가 DB 에서 페이지 단위로 읽고(호출 스레드는 기다리지 않음),
+ * 변경 시 복사본을 고쳐 바꿔 끼우므로 읽는 쪽은 잠금이 없다.
+ * 번호는 재사용하지 않으므로 노드가 본 서로 다른 사용자 수만큼 메모리를 쓴다.
+ */
+@Component
+@Slf4j
+public class SegmentMembershipIndex {
+
+    // 멤버 로딩 한 번에 읽는 행 수
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final NotificationSegmentRepository segmentRepository;
+    private final ConcurrentHashMap<String, Integer> ordinalByUserId = new ConcurrentHashMap<>();
+    // 번호는 0 부터 빈틈없이 늘어나므로 배열로 둠, 추가는 ordinalByUserId 모니터로 보호하고 읽기는 volatile 참조로 잠금 없이 수행
+    private volatile String[] userIdByOrdinal = new String[1024];
+    private int nextOrdinal;
+    // 값은 공개 후 변경하지 않음 (변경은 복사본으로 교체), 로딩 중인 세그먼트는 완료되지 않은 future
+    private final ConcurrentHashMap<String, CompletableFuture<RoaringBitmap>> segments = new ConcurrentHashMap<>();
+    // online 자체 모니터로 보호
+    private final RoaringBitmap online = new RoaringBitmap();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-segment-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SegmentMembershipIndex(NotificationSegmentRepository segmentRepository, MeterRegistry meterRegistry) {
+        this.segmentRepository = segmentRepository;
+        Gauge.builder("notification.segment.interned.users", ordinalByUserId, Map::size)
+                .description("번호가 매겨진 사용자 수")
+                .register(meterRegistry);
+        Gauge.builder("notification.segment.bitmap.bytes", this, SegmentMembershipIndex::bitmapBytes)
+                .description("메모리에 올라온 세그먼트 비트맵 크기 합")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 요청 스레드에서 조회하므로 로딩 중이면 완료까지 기다림
+     */
+    public long memberCount(String segmentId) {
+        return members(segmentId).join().getLongCardinality();
+    }
+
+    public long onlineMemberCount(String segmentId) {
+        RoaringBitmap members = members(segmentId).join();
+        synchronized (online) {
+            return RoaringBitmap.andCardinality(members, online);
+        }
+    }
+
+    /**
+     * 세그먼트 멤버 중 이 노드에 접속 중인 사용자, 비트맵이 올라와 있으면 바로 완료됨
+     */
+    public CompletableFuture<List<String>> onlineMembers(String segmentId) {
+        return members(segmentId).thenApply(members -> {
+            RoaringBitmap connected;
+            synchronized (online) {
+                connected = RoaringBitmap.and(members, online);
+            }
+            String[] userIds = userIdByOrdinal;
+            List<String> result = new ArrayList<>(connected.getCardinality());
+            connected.forEach((int ordinal) -> result.add(userIds[ordinal]));
+            return result;
+        });
+    }
+
+    /**
+     * 로딩 중인 세그먼트는 로딩이 끝난 뒤 반영 (커밋 후 호출되므로 로딩 결과에 이미 있어도 무해)
+     */
+    public void addMembers(String segmentId, Collection<String> userIds) {
+        segments.computeIfPresent(segmentId, (key, members) -> members.thenApply(current -> {
+            RoaringBitmap updated = current.clone();
+            userIds.forEach(userId -> updated.add(intern(userId)));
+            updated.runOptimize();
+            return updated;
+        }));
+    }
+
+    public void removeMembers(String segmentId, Collection<String> userIds) {
+        segments.computeIfPresent(segmentId, (key, members) -> members.thenApply(current -> {
+            RoaringBitmap updated = current.clone();
+            userIds.forEach(userId -> {
+                Integer ordinal = ordinalByUserId.get(userId);
+                if (ordinal != null) {
+                    updated.remove(ordinal);
+                }
+            });
+            updated.runOptimize();
+            return updated;
+        }));
+    }
+
+    /**
+     * 다른 노드에서 멤버가 바뀐 세그먼트는 다음 사용 시 DB 에서 다시 읽음
+     */
+    public void evict(String segmentId) {
+        segments.remove(segmentId);
+    }
+
+    @EventListener
+    public void onPresenceChanged(UserPresenceChangedEvent event) {
+        int ordinal = intern(event.userId());
+        synchronized (online) {
+            if (event.online()) {
+                online.add(ordinal);
+            } else {
+                online.remove(ordinal);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    private CompletableFuture<RoaringBitmap> members(String segmentId) {
+        CompletableFuture<RoaringBitmap> members = segments.get(segmentId);
+        if (members != null) {
+            return members;
+        }
+        CompletableFuture<RoaringBitmap> loading = new CompletableFuture<>();
+        members = segments.putIfAbsent(segmentId, loading);
+        if (members != null) {
+            return members;
+        }
+        loader.execute(() -> {
+            try {
+                loading.complete(load(segmentId));
+            } catch (RuntimeException e) {
+                log.warn("세그먼트 멤버 로딩 실패: segmentId={}, error={}", segmentId, e.getMessage());
+                loading.completeExceptionally(e);
+                // 로딩 중 이어 붙인 멤버 변경도 함께 실패하므로 실패한 future 를 빼고 다음 사용 시 다시 읽음
+                segments.computeIfPresent(segmentId, (key, current) -> current.isCompletedExceptionally() ? null : current);
+            }
+        });
+        return loading;
+    }
+
+    // 세그먼트 전체를 한 리스트로 올리지 않도록 user_id 키셋 페이지로 읽음
+    private RoaringBitmap load(String segmentId) {
+        RoaringBitmap members = new RoaringBitmap();
+        String after = "";
+        List<String> page;
+        do {
+            page = segmentRepository.findMemberIdsAfter(segmentId, after, LOAD_PAGE_SIZE);
+            page.forEach(userId -> members.add(intern(userId)));
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1);
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        members.runOptimize();
+        return members;
+    }
+
+    private int intern(String userId) {
+        Integer ordinal = ordinalByUserId.get(userId);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        synchronized (ordinalByUserId) {
+            ordinal = ordinalByUserId.get(userId);
+            if (ordinal != null) {
+                return ordinal;
+            }
+            int next = nextOrdinal++;
+            String[] userIds = userIdByOrdinal;
+            if (next == userIds.length) {
+                userIds = Arrays.copyOf(userIds, userIds.length * 2);
+            }
+            userIds[next] = userId;
+            // 배열 요소를 채운 뒤 참조를 다시 써서 읽는 쪽에 공개
+            userIdByOrdinal = userIds;
+            ordinalByUserId.put(userId, next);
+            return next;
+        }
+    }
+
+    private double bitmapBytes() {
+        long bytes = 0L;
+        for (CompletableFuture<RoaringBitmap> members : segments.values()) {
+            RoaringBitmap loaded = members.getNow(null);
+            if (loaded != null) {
+                bytes += loaded.getLongSizeInBytes();
+            }
+        }
+        return bytes;
+    }
+}
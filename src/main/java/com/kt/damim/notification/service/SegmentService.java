@@ -0,0 +1,275 @@
+package com.kt.damim.notification.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kt.damim.notification.cluster.ClusterSessionDirectory;
+import com.kt.damim.notification.dto.BroadcastNotificationResponse;
+import com.kt.damim.notification.dto.BroadcastPageResponse;
+import com.kt.damim.notification.dto.NotificationCursor;
+import com.kt.damim.notification.dto.SegmentBroadcastRequest;
+import com.kt.damim.notification.dto.SegmentResponse;
+import com.kt.damim.notification.entity.BroadcastNotification;
+import com.kt.damim.notification.event.ClusterSegmentEvent;
+import com.kt.damim.notification.event.SegmentBroadcastCreatedEvent;
+import com.kt.damim.notification.event.SegmentMembershipChangedEvent;
+import com.kt.damim.notification.exception.BatchTooLargeException;
+import com.kt.damim.notification.exception.BroadcastNotFoundException;
+import com.kt.damim.notification.exception.SegmentNotFoundException;
+import com.kt.damim.notification.repository.BroadcastNotificationRepository;
+import com.kt.damim.notification.repository.NotificationSegmentRepository;
+import com.kt.damim.notification.retention.RetentionWindow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 세그먼트(수신 대상 그룹) 관리와 세그먼트 전체 발송
+ * <p>
+ * 전체 발송은 broadcast_notifications 에 한 행만 저장하고, 커밋 후 각 노드가 자기 노드에 접속한 멤버
+ * (멤버 비트맵 AND 접속 비트맵)에게만 같은 직렬화 본문을 보낸다. 읽음 상태는 읽은 사용자만 broadcast_reads 에 기록한다.
+ * 실시간 전송은 outbox 대상이 아니므로 놓친 발송은 알림함 조회로 확인한다.
+ */
+@Service
+@Slf4j
+public class SegmentService {
+
+    // 전송 작업 하나가 처리하는 최대 수신자 수
+    private static final int PUSH_CHUNK_SIZE = 500;
+
+    private final NotificationSegmentRepository segmentRepository;
+    private final BroadcastNotificationRepository broadcastRepository;
+    private final SegmentMembershipIndex membershipIndex;
+    private final NotificationSessionService notificationSessionService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationPayloadEncoder payloadEncoder;
+    private final ClusterSessionDirectory clusterSessionDirectory;
+    private final RetentionWindow retentionWindow;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int maxBatchSize;
+    private final int maxPageSize;
+    private final Counter pushedCounter;
+
+    public SegmentService(NotificationSegmentRepository segmentRepository,
+                          BroadcastNotificationRepository broadcastRepository,
+                          SegmentMembershipIndex membershipIndex,
+                          NotificationSessionService notificationSessionService,
+                          NotificationDispatcher notificationDispatcher,
+                          NotificationPayloadEncoder payloadEncoder,
+                          ClusterSessionDirectory clusterSessionDirectory,
+                          RetentionWindow retentionWindow,
+                          ApplicationEventPublisher eventPublisher,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${notification.batch.max-size:1000}") int maxBatchSize,
+                          @Value("${notification.page.max-size:100}") int maxPageSize) {
+        this.segmentRepository = segmentRepository;
+        this.broadcastRepository = broadcastRepository;
+        this.membershipIndex = membershipIndex;
+        this.notificationSessionService = notificationSessionService;
+        this.notificationDispatcher = notificationDispatcher;
+        this.payloadEncoder = payloadEncoder;
+        this.clusterSessionDirectory = clusterSessionDirectory;
+        this.retentionWindow = retentionWindow;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.maxBatchSize = maxBatchSize;
+        this.maxPageSize = maxPageSize;
+        this.pushedCounter = Counter.builder("notification.segment.broadcast.pushed")
+                .description("세그먼트 전체 발송으로 이 노드에서 실시간 전송한 사용자 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 세그먼트가 없으면 만들고 멤버 추가
+     *
+     * @return 새로 추가된 멤버 수 (이미 멤버인 사용자는 제외)
+     */
+    @Transactional
+    public int addMembers(String segmentId, List<String> userIds) {
+        if (userIds.size() > maxBatchSize) {
+            throw new BatchTooLargeException(userIds.size(), maxBatchSize);
+        }
+        segmentRepository.createIfAbsent(segmentId, LocalDateTime.now());
+        int added = 0;
+        for (String userId : userIds) {
+            added += segmentRepository.addMember(segmentId, userId);
+        }
+        eventPublisher.publishEvent(new SegmentMembershipChangedEvent(segmentId, userIds, true));
+        return added;
+    }
+
+    @Transactional
+    public int removeMembers(String segmentId, List<String> userIds) {
+        if (userIds.size() > maxBatchSize) {
+            throw new BatchTooLargeException(userIds.size(), maxBatchSize);
+        }
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        int removed = segmentRepository.removeMembers(segmentId, userIds);
+        eventPublisher.publishEvent(new SegmentMembershipChangedEvent(segmentId, userIds, false));
+        return removed;
+    }
+
+    @Transactional(readOnly = true)
+    public SegmentResponse getSegment(String segmentId) {
+        requireSegment(segmentId);
+        return new SegmentResponse(segmentId, membershipIndex.memberCount(segmentId), membershipIndex.onlineMemberCount(segmentId));
+    }
+
+    @Transactional
+    public BroadcastNotificationResponse broadcast(String segmentId, SegmentBroadcastRequest request) {
+        requireSegment(segmentId);
+        BroadcastNotification saved = broadcastRepository.save(BroadcastNotification.builder()
+                .segmentId(segmentId)
+                .senderId(request.getSenderId())
+                .message(request.getMessage())
+                .type(request.getType())
+                .build());
+        BroadcastNotificationResponse response = convertToResponse(saved, false);
+        eventPublisher.publishEvent(new SegmentBroadcastCreatedEvent(response));
+        return response;
+    }
+
+    /**
+     * 사용자가 속한 세그먼트의 전체 발송 목록 (키셋 페이지, 사용자별 읽음 상태 포함)
+     */
+    @Transactional(readOnly = true)
+    public BroadcastPageResponse getBroadcasts(String userId, String cursor, int limit) {
+        List<String> segmentIds = segmentRepository.findSegmentIdsByUserId(userId);
+        if (segmentIds.isEmpty()) {
+            return new BroadcastPageResponse(List.of(), null);
+        }
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        Pageable pageable = PageRequest.ofSize(pageSize + 1);
+        List<BroadcastNotification> broadcasts;
+        if (cursor == null) {
+            broadcasts = broadcastRepository.findFirstPage(segmentIds, retentionWindow.since(), pageable);
+        } else {
+            NotificationCursor after = NotificationCursor.decode(cursor);
+            broadcasts = broadcastRepository.findPageAfter(segmentIds, retentionWindow.since(), after.createdAt(), after.id(), pageable);
+        }
+        boolean hasNext = broadcasts.size() > pageSize;
+        List<BroadcastNotification> page = hasNext ? broadcasts.subList(0, pageSize) : broadcasts;
+        if (page.isEmpty()) {
+            return new BroadcastPageResponse(List.of(), null);
+        }
+
+        Set<Long> readIds = new HashSet<>(broadcastRepository.findReadIds(userId, page.stream().map(BroadcastNotification::getId).toList()));
+        List<BroadcastNotificationResponse> responses = page.stream()
+                .map(broadcast -> convertToResponse(broadcast, readIds.contains(broadcast.getId())))
+                .toList();
+        BroadcastNotification last = page.get(page.size() - 1);
+        String nextCursor = hasNext ? new NotificationCursor(last.getCreatedAt(), last.getId()).encode() : null;
+        return new BroadcastPageResponse(responses, nextCursor);
+    }
+
+    /**
+     * 보존 기간 안의 발송이고 사용자가 그 세그먼트 멤버일 때만 읽음 기록
+     *
+     * @return 새로 기록했으면 1, 이미 읽었으면 0
+     */
+    @Transactional
+    public int markBroadcastAsRead(String userId, Long broadcastId) {
+        BroadcastNotification broadcast = broadcastRepository.findById(broadcastId)
+                .filter(found -> !found.getCreatedAt().isBefore(retentionWindow.since()))
+                .orElseThrow(() -> new BroadcastNotFoundException(broadcastId));
+        // 멤버가 아닌 사용자에게는 발송 존재 여부도 알리지 않음
+        if (segmentRepository.countMember(broadcast.getSegmentId(), userId) == 0) {
+            throw new BroadcastNotFoundException(broadcastId);
+        }
+        return broadcastRepository.markAsRead(broadcastId, userId, LocalDateTime.now());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMembershipChanged(SegmentMembershipChangedEvent event) {
+        if (event.added()) {
+            membershipIndex.addMembers(event.segmentId(), event.userIds());
+        } else {
+            membershipIndex.removeMembers(event.segmentId(), event.userIds());
+        }
+        clusterSessionDirectory.publishSegment(event.segmentId(), null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBroadcastCreated(SegmentBroadcastCreatedEvent event) {
+        BroadcastNotificationResponse broadcast = event.broadcast();
+        // 모든 수신자와 노드에 같은 본문을 쓰므로 한 번만 직렬화
+        byte[] payload = payloadEncoder.encode(broadcast);
+        pushToConnectedMembers(broadcast.getSegmentId(), broadcast.getType(), payload);
+        clusterSessionDirectory.publishSegment(broadcast.getSegmentId(), payload);
+    }
+
+    @EventListener
+    public void onClusterSegment(ClusterSegmentEvent event) {
+        if (event.payload() == null) {
+            membershipIndex.evict(event.segmentId());
+            return;
+        }
+        String type;
+        try {
+            type = objectMapper.readTree(event.payload()).path("type").asText();
+        } catch (IOException e) {
+            log.warn("세그먼트 발송 본문 해석 실패: segmentId={}, error={}", event.segmentId(), e.getMessage());
+            return;
+        }
+        pushToConnectedMembers(event.segmentId(), type, event.payload());
+    }
+
+    /**
+     * 이 노드에 접속 중인 멤버에게만 전송 (type 의 우선순위 전송 워커에서 나누어 처리)
+     */
+    private void pushToConnectedMembers(String segmentId, String type, byte[] payload) {
+        // 멤버 비트맵이 아직 없으면 로더 스레드에서 읽은 뒤 이어서 나눔 (커밋 스레드는 기다리지 않음)
+        membershipIndex.onlineMembers(segmentId).whenComplete((userIds, error) -> {
+            if (error != null) {
+                log.warn("세그먼트 전체 발송 실패: segmentId={}, error={}", segmentId, error.getMessage());
+                return;
+            }
+            for (int from = 0; from < userIds.size(); from += PUSH_CHUNK_SIZE) {
+                List<String> chunk = userIds.subList(from, Math.min(from + PUSH_CHUNK_SIZE, userIds.size()));
+                notificationDispatcher.execute(type, () -> {
+                    for (String userId : chunk) {
+                        if (notificationSessionService.sendEncodedToUser(userId, "/topic/notifications/" + userId + "/broadcasts", payload)) {
+                            pushedCounter.increment();
+                        }
+                    }
+                });
+            }
+            log.debug("세그먼트 전체 발송: segmentId={}, connected={}", segmentId, userIds.size());
+        });
+    }
+
+    private void requireSegment(String segmentId) {
+        if (!segmentRepository.existsById(segmentId)) {
+            throw new SegmentNotFoundException(segmentId);
+        }
+    }
+
+    private BroadcastNotificationResponse convertToResponse(BroadcastNotification broadcast, boolean read) {
+        return BroadcastNotificationResponse.builder()
+                .id(broadcast.getId())
+                .segmentId(broadcast.getSegmentId())
+                .senderId(broadcast.getSenderId())
+                .message(broadcast.getMessage())
+                .type(broadcast.getType())
+                .isRead(read)
+                .createdAt(broadcast.getCreatedAt())
+                .build();
+    }
+}
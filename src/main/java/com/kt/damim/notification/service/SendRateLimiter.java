@@ -0,0 +1,141 @@
+package com.kt.damim.notification.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kt.damim.notification.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 발신자/수신자별 발송 한도 (토큰 버킷)
+ * <p>
+ * 버킷 하나는 다음 토큰이 채워지는 이론상 시각(GCRA) 하나만 AtomicLong 으로 들고 CAS 로 갱신하므로 잠금이 없다.
+ * 버스트보다 큰 일괄 요청은 버킷이 가득 차 있을 때만 받고, 넘는 만큼은 빚으로 남겨 그동안 다음 요청을 막는다.
+ * 버킷은 Caffeine 캐시에 두고 일정 시간 쓰이지 않으면 버린다. (버린 버킷은 가득 찬 상태로 다시 시작)
+ * HIGH 우선순위 알림에는 적용하지 않는다.
+ */
+@Component
+public class SendRateLimiter {
+
+    private final NotificationPriorityClassifier priorityClassifier;
+    private final boolean enabled;
+    private final BucketSpec senderSpec;
+    private final BucketSpec receiverSpec;
+    private final Cache<String, AtomicLong> senderBuckets;
+    private final Cache<String, AtomicLong> receiverBuckets;
+    private final Counter senderRejected;
+    private final Counter receiverRejected;
+
+    public SendRateLimiter(NotificationPriorityClassifier priorityClassifier,
+                           MeterRegistry meterRegistry,
+                           @Value("${notification.rate-limit.enabled:false}") boolean enabled,
+                           @Value("${notification.rate-limit.sender.rate:100}") double senderRate,
+                           @Value("${notification.rate-limit.sender.burst:200}") int senderBurst,
+                           @Value("${notification.rate-limit.receiver.rate:10}") double receiverRate,
+                           @Value("${notification.rate-limit.receiver.burst:30}") int receiverBurst,
+                           @Value("${notification.rate-limit.max-buckets:1000000}") long maxBuckets,
+                           @Value("${notification.rate-limit.idle-timeout:5m}") Duration idleTimeout) {
+        this.priorityClassifier = priorityClassifier;
+        this.enabled = enabled;
+        this.senderSpec = new BucketSpec(senderRate, senderBurst);
+        this.receiverSpec = new BucketSpec(receiverRate, receiverBurst);
+        this.senderBuckets = buckets(maxBuckets, idleTimeout);
+        this.receiverBuckets = buckets(maxBuckets, idleTimeout);
+        this.senderRejected = rejectedCounter("sender", meterRegistry);
+        this.receiverRejected = rejectedCounter("receiver", meterRegistry);
+    }
+
+    /**
+     * 발신자 토큰 1개와 수신자 토큰 1개 획득, 부족하면 429
+     */
+    public void acquire(String senderId, String receiverId, String type) {
+        if (!isLimited(type)) {
+            return;
+        }
+        acquireSender(senderId, 1);
+        acquireReceiver(receiverId, 1);
+    }
+
+    /**
+     * 일괄/다중 전송: 발신자는 건수만큼, 수신자는 수신자별 건수만큼 획득 (호출자가 {@link #isLimited} 인 알림만 집계)
+     * <p>
+     * 중간에 한도를 넘으면 이미 획득한 토큰은 돌려주지 않는다.
+     */
+    public void acquireAll(Map<String, Integer> countsBySender, Map<String, Integer> countsByReceiver) {
+        countsBySender.forEach(this::acquireSender);
+        countsByReceiver.forEach(this::acquireReceiver);
+    }
+
+    public boolean isLimited(String type) {
+        return enabled && priorityClassifier.classify(type) != NotificationPriority.HIGH;
+    }
+
+    private void acquireSender(String senderId, int tokens) {
+        if (!tryAcquire(senderBuckets.get(senderId, key -> new AtomicLong()), senderSpec, tokens)) {
+            senderRejected.increment();
+            throw new RateLimitExceededException("senderId", senderId);
+        }
+    }
+
+    private void acquireReceiver(String receiverId, int tokens) {
+        if (!tryAcquire(receiverBuckets.get(receiverId, key -> new AtomicLong()), receiverSpec, tokens)) {
+            receiverRejected.increment();
+            throw new RateLimitExceededException("receiverId", receiverId);
+        }
+    }
+
+    /**
+     * GCRA: 이론상 도착 시각(tat)이 now + 버스트 허용치를 넘지 않으면 토큰 수만큼 tat 를 미룸
+     * <p>
+     * 허용 여부는 버스트로 자른 비용으로 판단하므로 버스트보다 큰 요청도 가득 찬 버킷에서는 통과한다.
+     */
+    static boolean tryAcquire(AtomicLong bucket, BucketSpec spec, int tokens) {
+        long cost = spec.intervalNanos() * tokens;
+        long admissionCost = Math.min(cost, spec.burstNanos());
+        while (true) {
+            long now = System.nanoTime();
+            long tat = bucket.get();
+            // 0 은 새 버킷 (가득 찬 상태)
+            long base = tat == 0L || tat - now < 0 ? now : tat;
+            if (base + admissionCost - now > spec.burstNanos()) {
+                return false;
+            }
+            long next = base + cost;
+            if (bucket.compareAndSet(tat, next)) {
+                return true;
+            }
+        }
+    }
+
+    private static Cache<String, AtomicLong> buckets(long maxBuckets, Duration idleTimeout) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleTimeout.toNanos(), TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    private static Counter rejectedCounter(String scope, MeterRegistry meterRegistry) {
+        return Counter.builder("notification.rate-limit.rejected")
+                .description("발송 한도 초과로 거부된 요청 수")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param intervalNanos 토큰 하나가 채워지는 간격
+     * @param burstNanos    한 번에 쓸 수 있는 최대 토큰 수만큼의 시간
+     */
+    record BucketSpec(long intervalNanos, long burstNanos) {
+
+        BucketSpec(double ratePerSecond, int burst) {
+            this((long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond), (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond) * burst);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.entity.NotificationSession;
+import com.kt.damim.notification.repository.NotificationSessionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * notification_sessions 감사 기록 write-behind 처리기
+ * <p>
+ * 세션 이벤트 순서를 보존하기 위해 단일 스레드로 기록하며,
+ * 큐가 가득 차면 WebSocket 스레드를 막지 않고 해당 기록을 버린다.
+ */
+@Component
+@Slf4j
+public class SessionAuditWriter {
+
+    private final NotificationSessionRepository notificationSessionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+
+    public SessionAuditWriter(NotificationSessionRepository notificationSessionRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${notification.session-audit.queue-capacity:10000}") int queueCapacity) {
+        this.notificationSessionRepository = notificationSessionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "session-audit");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 임시 세션 기록
+     */
+    public void recordConnected(String socketSessionId, LocalDateTime connectedAt) {
+        submit(() -> notificationSessionRepository.save(NotificationSession.builder()
+                .socketUserId("TEMP_" + socketSessionId)
+                .socketSessionId(socketSessionId)
+                .connectedAt(connectedAt)
+                .isActive(true)
+                .build()));
+    }
+
+    /**
+     * 사용자 바인딩 기록 (기존 활성 세션은 비활성화)
+     */
+    public void recordBound(String socketSessionId, String socketUserId, LocalDateTime boundAt) {
+        submit(() -> {
+            List<NotificationSession> existingSessions = notificationSessionRepository.findBySocketUserIdAndIsActiveTrue(socketUserId);
+            existingSessions.forEach(session -> {
+                session.setActive(false);
+                session.setDisconnectedAt(boundAt);
+            });
+            notificationSessionRepository.saveAll(existingSessions);
+
+            notificationSessionRepository.findBySocketSessionIdAndIsActiveTrue(socketSessionId)
+                    .ifPresent(session -> {
+                        session.setSocketUserId(socketUserId);
+                        notificationSessionRepository.save(session);
+                    });
+        });
+    }
+
+    /**
+     * 세션 해제 기록
+     */
+    public void recordDisconnected(String socketSessionId, LocalDateTime disconnectedAt) {
+        submit(() -> notificationSessionRepository.findBySocketSessionIdAndIsActiveTrue(socketSessionId)
+                .ifPresent(session -> {
+                    session.setActive(false);
+                    session.setDisconnectedAt(disconnectedAt);
+                    notificationSessionRepository.save(session);
+                }));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("세션 감사 기록 미처리 건 폐기: {}", executor.shutdownNow().size());
+        }
+    }
+
+    private void submit(Runnable write) {
+        try {
+            executor.execute(() -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> write.run());
+                } catch (Exception e) {
+                    log.error("세션 감사 기록 실패: error={}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("세션 감사 큐 포화로 기록 생략");
+        }
+    }
+}
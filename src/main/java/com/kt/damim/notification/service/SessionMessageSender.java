@@ -0,0 +1,43 @@
+package com.kt.damim.notification.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 브로커를 거치지 않고 특정 세션의 구독으로 직접 메시지 전송
+ * <p>
+ * 같은 사용자의 다른 세션에는 전달되지 않으며, 브로커의 구독 등록 시점과도 무관하다.
+ */
+@Component
+public class SessionMessageSender {
+
+    private final MessageChannel clientOutboundChannel;
+    private final MessageConverter messageConverter;
+
+    public SessionMessageSender(@Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+                                @Qualifier("brokerMessagingTemplate") SimpMessagingTemplate brokerMessagingTemplate) {
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.messageConverter = brokerMessagingTemplate.getMessageConverter();
+    }
+
+    public boolean send(String socketSessionId, String subscriptionId, String destination,
+                        Object payload, Map<String, String> nativeHeaders) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(socketSessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        nativeHeaders.forEach(accessor::setNativeHeader);
+        accessor.setLeaveMutable(true);
+
+        Message<?> message = messageConverter.toMessage(payload, accessor.getMessageHeaders());
+        return message != null && clientOutboundChannel.send(message);
+    }
+}
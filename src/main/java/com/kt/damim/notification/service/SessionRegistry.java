@@ -0,0 +1,127 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.event.UserPresenceChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 인메모리 WebSocket 세션 레지스트리
+ * <p>
+ * 전송 경로의 접속 여부 판단은 DB 조회 없이 이 레지스트리만 사용한다.
+ * 사용자별 세션 집합은 불변 집합이며 ConcurrentHashMap 의 키 단위 compute 로 교체되므로
+ * 서로 다른 사용자 간에는 잠금 경합이 없고, compute 결과를 그 시점의 스냅샷으로 쓸 수 있다.
+ * 사용자의 첫 세션 연결과 마지막 세션 해제는 {@link UserPresenceChangedEvent} 로 알린다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionRegistry {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 연결되었지만 아직 알림 토픽을 구독하지 않은 세션 포함
+    private final Set<String> connectedSessionIds = ConcurrentHashMap.newKeySet();
+
+    private final ConcurrentHashMap<String, String> userIdBySessionId = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, Set<String>> sessionIdsByUserId = new ConcurrentHashMap<>();
+
+    /**
+     * WebSocket 연결 등록
+     */
+    public void connect(String socketSessionId) {
+        connectedSessionIds.add(socketSessionId);
+    }
+
+    /**
+     * 세션을 사용자에 바인딩
+     */
+    public void bind(String socketSessionId, String socketUserId) {
+        connectedSessionIds.add(socketSessionId);
+        String previousUserId = userIdBySessionId.put(socketSessionId, socketUserId);
+        if (socketUserId.equals(previousUserId)) {
+            return;
+        }
+        if (previousUserId != null) {
+            removeUserSession(previousUserId, socketSessionId);
+        }
+        // put 이후 disconnect(또는 다른 사용자로 재바인딩)가 끝났으면 추가하지 않음, disconnect 의 제거는 같은 키 잠금에서 이 compute 뒤로 직렬화됨
+        Set<String> sessionIds = sessionIdsByUserId.compute(socketUserId, (userId, current) ->
+                socketUserId.equals(userIdBySessionId.get(socketSessionId)) ? with(current, socketSessionId) : current);
+        if (sessionIds != null && sessionIds.size() == 1 && sessionIds.contains(socketSessionId)) {
+            eventPublisher.publishEvent(new UserPresenceChangedEvent(socketUserId, true));
+        }
+    }
+
+    /**
+     * 세션 해제
+     *
+     * @return 세션에 바인딩되어 있던 사용자 ID, 없으면 null
+     */
+    public String disconnect(String socketSessionId) {
+        connectedSessionIds.remove(socketSessionId);
+        String socketUserId = userIdBySessionId.remove(socketSessionId);
+        if (socketUserId != null) {
+            removeUserSession(socketUserId, socketSessionId);
+        }
+        return socketUserId;
+    }
+
+    public boolean isOnline(String socketUserId) {
+        return sessionIdsByUserId.containsKey(socketUserId);
+    }
+
+    public Set<String> getSessionIds(String socketUserId) {
+        return sessionIdsByUserId.getOrDefault(socketUserId, Set.of());
+    }
+
+    public String getUserId(String socketSessionId) {
+        return userIdBySessionId.get(socketSessionId);
+    }
+
+    public int getConnectedSessionCount() {
+        return connectedSessionIds.size();
+    }
+
+    public int getOnlineUserCount() {
+        return sessionIdsByUserId.size();
+    }
+
+    /**
+     * 이 노드에 접속 중인 사용자 ID (약한 일관성 뷰)
+     */
+    public Set<String> getOnlineUserIds() {
+        return Collections.unmodifiableSet(sessionIdsByUserId.keySet());
+    }
+
+    private void removeUserSession(String socketUserId, String socketSessionId) {
+        Set<String> sessionIds = sessionIdsByUserId.get(socketUserId);
+        if (sessionIds == null || !sessionIds.contains(socketSessionId)) {
+            return;
+        }
+        // 이 세션은 이 스레드만 제거하므로 결과가 null 이면 마지막 세션이 빠진 것
+        if (sessionIdsByUserId.computeIfPresent(socketUserId, (userId, current) -> without(current, socketSessionId)) == null) {
+            eventPublisher.publishEvent(new UserPresenceChangedEvent(socketUserId, false));
+        }
+    }
+
+    private static Set<String> with(Set<String> sessionIds, String socketSessionId) {
+        if (sessionIds == null) {
+            return Set.of(socketSessionId);
+        }
+        Set<String> result = new HashSet<>(sessionIds);
+        result.add(socketSessionId);
+        return Set.copyOf(result);
+    }
+
+    private static Set<String> without(Set<String> sessionIds, String socketSessionId) {
+        Set<String> result = new HashSet<>(sessionIds);
+        result.remove(socketSessionId);
+        return result.isEmpty() ? null : Set.copyOf(result);
+    }
+}
@@ -0,0 +1,395 @@
+package com.kt.damim.notification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이 노드에 연결된 SSE 스트림 레지스트리
+ * <p>
+ * 연결마다 서블릿 비동기 응답과 작은 송신 큐 하나만 두고 STOMP 세션 상태(구독 레지스트리)는 만들지 않는다.
+ * 이벤트 이름은 STOMP 토픽 접미사로 정한다. (알림 토픽은 notification, /unread-count 는 unread-count, /broadcasts 는 broadcast)
+ * <p>
+ * 응답은 논블로킹 서블릿 쓰기(WriteListener)로 보내 송신 스레드를 두지 않는다.
+ * 호출 스레드(전송 워커, 스케줄러)는 소켓이 받을 수 있는 만큼만 바로 쓰고 나머지는 큐에 두며,
+ * 소켓이 다시 쓸 수 있게 되면 컨테이너가 onWritePossible 로 이어 쓴다. 느린 소켓이 어떤 스레드도 붙잡지 않는다.
+ * 소켓이 send-timeout 넘게 받지 못하거나 대기 이벤트가 queue-limit 을 넘은 스트림은 레지스트리에서 빼고
+ * 비동기 응답을 완료해 연결을 닫는다. (클라이언트는 재연결 후 재전송을 받음)
+ * 유휴 연결은 전용 타이머 스레드가 주기적으로 넣는 주석 이벤트로 유지한다.
+ */
+@Component
+@Slf4j
+public class SseConnectionRegistry {
+
+    private static final String TOPIC_PREFIX = "/topic/notifications/";
+
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ConcurrentHashMap<String, Set<SseStream>> streamsByUserId = new ConcurrentHashMap<>();
+    private final Set<SseStream> streams = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ScheduledExecutorService timer;
+    private final int queueLimit;
+    private final long sendTimeoutNanos;
+    private final Counter timedOut;
+    private final Counter overflowed;
+
+    public SseConnectionRegistry(MeterRegistry meterRegistry,
+                                 @Value("${notification.sse.queue-limit:256}") int queueLimit,
+                                 @Value("${notification.sse.send-timeout:10s}") Duration sendTimeout,
+                                 @Value("${notification.sse.heartbeat-interval:25s}") Duration heartbeatInterval) {
+        this.queueLimit = queueLimit;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("notification-sse-timer-"));
+        long heartbeatMillis = heartbeatInterval.toMillis();
+        timer.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        long checkMillis = Math.max(1, Math.min(sendTimeout.toMillis() / 2, 1000));
+        timer.scheduleWithFixedDelay(this::closeTimedOut, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("notification.sse.connections", connectionCount, AtomicInteger::get)
+                .description("이 노드에 연결된 SSE 스트림 수")
+                .register(meterRegistry);
+        this.timedOut = closedCounter("timeout", meterRegistry);
+        this.overflowed = closedCounter("overflow", meterRegistry);
+    }
+
+    /**
+     * 요청을 비동기로 전환해 스트림을 열고 등록한 뒤 응답 헤더와 재연결 간격(retry)을 보냄
+     *
+     * @param onClose 스트림이 어떤 이유로든 닫히면 한 번 호출됨 (정상 종료, 시간 초과, 네트워크 오류, 서버 종료)
+     */
+    public SseStream open(String socketUserId, HttpServletRequest request, HttpServletResponse response,
+                          Duration timeout, Duration reconnectDelay, Runnable onClose) throws IOException {
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(timeout.toMillis());
+        ServletOutputStream out = response.getOutputStream();
+
+        byte[] connected = (":connected\nretry:" + reconnectDelay.toMillis() + "\n\n").getBytes(StandardCharsets.UTF_8);
+        SseStream stream = new SseStream(socketUserId, asyncContext, out, connected, onClose);
+        asyncContext.addListener(stream);
+        // 이후 쓰기는 논블로킹, 컨테이너가 onWritePossible 을 호출해 connected 프레임부터 보냄
+        out.setWriteListener(stream);
+        streams.add(stream);
+        streamsByUserId.computeIfAbsent(socketUserId, userId -> ConcurrentHashMap.newKeySet()).add(stream);
+        connectionCount.incrementAndGet();
+        if (stream.isClosed()) {
+            // 등록 전에 컨테이너가 요청을 끝낸 경우
+            unregister(stream);
+        }
+        return stream;
+    }
+
+    public int count(String socketUserId) {
+        Set<SseStream> userStreams = streamsByUserId.get(socketUserId);
+        return userStreams != null ? userStreams.size() : 0;
+    }
+
+    /**
+     * 사용자의 모든 스트림 송신 큐에 직렬화된 JSON 을 이벤트로 넣음 (프레임은 한 번만 만들어 재사용)
+     *
+     * @param eventId 알림 토픽 이벤트의 마지막 알림 ID (Last-Event-ID 로 돌아옴), 없으면 null
+     * @return 한 스트림 이상의 큐에 넣었으면 true
+     */
+    public boolean send(String socketUserId, String destination, byte[] payload, Long eventId) {
+        Set<SseStream> userStreams = streamsByUserId.get(socketUserId);
+        if (userStreams == null) {
+            return false;
+        }
+        byte[] frame = event(eventName(socketUserId, destination), eventId, payload);
+        boolean sent = false;
+        for (SseStream stream : userStreams) {
+            sent |= stream.enqueue(frame);
+        }
+        return sent;
+    }
+
+    /**
+     * 특정 스트림에만 전송 (재전송용)
+     *
+     * @param frame {@link #event} 로 만든 프레임
+     */
+    public boolean send(SseStream stream, byte[] frame) {
+        return stream.enqueue(frame);
+    }
+
+    /**
+     * SSE 이벤트 프레임, data 는 줄바꿈 없는 JSON 이어야 함 (Jackson 기본 출력은 줄바꿈을 이스케이프)
+     *
+     * @param id 이벤트 ID, 없으면 null
+     */
+    public static byte[] event(String name, Long id, byte[] data) {
+        String header = "event:" + name + (id != null ? "\nid:" + id : "") + "\ndata:";
+        byte[] headerBytes = header.getBytes(StandardCharsets.UTF_8);
+        byte[] frame = new byte[headerBytes.length + data.length + 2];
+        System.arraycopy(headerBytes, 0, frame, 0, headerBytes.length);
+        System.arraycopy(data, 0, frame, headerBytes.length, data.length);
+        frame[frame.length - 2] = '\n';
+        frame[frame.length - 1] = '\n';
+        return frame;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    private void unregister(SseStream stream) {
+        if (!streams.remove(stream)) {
+            return;
+        }
+        streamsByUserId.computeIfPresent(stream.socketUserId, (userId, userStreams) -> {
+            userStreams.remove(stream);
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+        connectionCount.decrementAndGet();
+    }
+
+    private void heartbeat() {
+        streams.forEach(stream -> stream.enqueueIfIdle(HEARTBEAT));
+    }
+
+    private void closeTimedOut() {
+        long now = System.nanoTime();
+        for (SseStream stream : streams) {
+            long blockedSince = stream.blockedSinceNanos;
+            if (blockedSince != 0L && now - blockedSince > sendTimeoutNanos) {
+                timedOut.increment();
+                stream.close("소켓 쓰기 " + TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos) + "ms 초과");
+            }
+        }
+    }
+
+    private static String eventName(String socketUserId, String destination) {
+        String suffix = destination.substring(Math.min(destination.length(), TOPIC_PREFIX.length() + socketUserId.length()));
+        return switch (suffix) {
+            case "" -> "notification";
+            case "/broadcasts" -> "broadcast";
+            default -> suffix.substring(1);
+        };
+    }
+
+    private static ThreadFactory daemonThreadFactory(String threadNamePrefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static Counter closedCounter(String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("notification.sse.closed")
+                .description("전송 지연 또는 송신 큐 초과로 서버가 종료한 SSE 스트림 수")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 스트림 하나의 송신 큐, 한 번에 한 스레드만 응답에 씀
+     */
+    public final class SseStream implements WriteListener, AsyncListener {
+
+        private final String socketUserId;
+        private final AsyncContext asyncContext;
+        private final ServletOutputStream out;
+        private final Runnable onClose;
+        // 아래 다섯 필드는 인스턴스 모니터로 보호, 컨테이너 락과 엇갈리지 않도록 응답 쓰기는 모니터 밖에서 수행
+        private final ArrayDeque<byte[]> queue = new ArrayDeque<>();
+        private boolean writing;
+        private boolean rewrite;
+        private boolean closed;
+        private boolean released;
+        // 쓰는 스레드만 접근 (writing 으로 넘겨받음)
+        private boolean unflushed;
+        // 소켓이 받지 못해 기다리기 시작한 시각, 기다리는 중이 아니면 0
+        private volatile long blockedSinceNanos;
+
+        private SseStream(String socketUserId, AsyncContext asyncContext, ServletOutputStream out,
+                          byte[] firstFrame, Runnable onClose) {
+            this.socketUserId = socketUserId;
+            this.asyncContext = asyncContext;
+            this.out = out;
+            this.onClose = onClose;
+            queue.add(firstFrame);
+        }
+
+        boolean enqueue(byte[] frame) {
+            boolean overflow;
+            synchronized (this) {
+                if (closed) {
+                    return false;
+                }
+                overflow = queue.size() >= queueLimit;
+                if (!overflow) {
+                    queue.add(frame);
+                }
+            }
+            if (overflow) {
+                overflowed.increment();
+                close("송신 대기 이벤트 " + queueLimit + "건 초과");
+                return false;
+            }
+            write();
+            return true;
+        }
+
+        synchronized boolean isClosed() {
+            return closed;
+        }
+
+        void enqueueIfIdle(byte[] frame) {
+            synchronized (this) {
+                if (writing || !queue.isEmpty() || blockedSinceNanos != 0L) {
+                    return;
+                }
+            }
+            enqueue(frame);
+        }
+
+        /**
+         * 레지스트리에서 빼고 대기 이벤트를 버린 뒤 비동기 응답을 완료해 연결을 닫음
+         */
+        void close(String reason) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                queue.clear();
+            }
+            log.info("SSE 스트림 종료: socketUserId={}, reason={}", socketUserId, reason);
+            release();
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                // 컨테이너가 이미 완료한 요청
+                log.debug("SSE 스트림 완료 실패: error={}", e.getMessage());
+            }
+        }
+
+        @Override
+        public void onWritePossible() {
+            write();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            close("쓰기 실패: " + t.getMessage());
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            synchronized (this) {
+                closed = true;
+                queue.clear();
+            }
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close("연결 유지 시간 초과");
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close("연결 오류: " + event.getThrowable());
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        /**
+         * 소켓이 받을 수 있는 동안 큐를 비움, 다른 스레드가 쓰는 중이면 그 스레드가 한 번 더 돌도록 표시만 함
+         */
+        private void write() {
+            synchronized (this) {
+                if (writing) {
+                    rewrite = true;
+                    return;
+                }
+                writing = true;
+            }
+            try {
+                while (true) {
+                    synchronized (this) {
+                        rewrite = false;
+                    }
+                    boolean ready = out.isReady();
+                    byte[] frame;
+                    synchronized (this) {
+                        frame = ready && !closed ? queue.poll() : null;
+                        if (frame == null && !(ready && unflushed && !closed)) {
+                            if (rewrite) {
+                                continue;
+                            }
+                            writing = false;
+                            if (ready || closed) {
+                                blockedSinceNanos = 0L;
+                            } else if (blockedSinceNanos == 0L) {
+                                // onWritePossible 에서 이어 씀
+                                blockedSinceNanos = System.nanoTime();
+                            }
+                            return;
+                        }
+                    }
+                    if (frame != null) {
+                        out.write(frame);
+                        unflushed = true;
+                    } else {
+                        unflushed = false;
+                        out.flush();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                synchronized (this) {
+                    writing = false;
+                }
+                close("전송 실패: " + e.getMessage());
+            }
+        }
+
+        /**
+         * 레지스트리 정리와 종료 콜백을 한 번만 수행
+         */
+        private void release() {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            unregister(this);
+            onClose.run();
+        }
+    }
+}
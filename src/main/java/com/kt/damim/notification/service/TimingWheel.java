@@ -0,0 +1,162 @@
+package com.kt.damim.notification.service;
+
+import java.util.HashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * 계층형 타이밍 휠
+ * <p>
+ * 레벨마다 64칸이고 위 레벨 한 칸은 아래 레벨 한 바퀴다. 타이머는 남은 틱 수로 레벨을, 만료 틱의 해당 비트로 칸을 정하므로
+ * 추가/취소는 O(1) 이다. 아래 레벨이 한 바퀴 돌 때마다 위 레벨의 다음 칸을 꺼내 남은 틱 기준으로 다시 넣고,
+ * 가장 아래 레벨 칸에 닿은 타이머를 만료시킨다. 4 레벨이라 틱 2^24 개(100ms 틱이면 약 19일)까지 담는다.
+ * 동기화하지 않으므로 호출자가 잠금을 잡는다.
+ */
+final class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY_TICKS = 1L << (SLOT_BITS * LEVELS);
+
+    private final long tickMillis;
+    // 칸마다 이중 연결 리스트의 머리
+    private final Timer[][] buckets = new Timer[LEVELS][SLOTS];
+    // 취소와 중복 추가 확인용
+    private final HashMap<Long, Timer> timers = new HashMap<>();
+    private long currentTick;
+
+    TimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * 지금부터 담을 수 있는 최대 지연
+     */
+    long horizonMillis() {
+        return (MAX_DELAY_TICKS - 1) * tickMillis;
+    }
+
+    /**
+     * 만료 시각이 지났으면 다음 틱에 만료시킨다.
+     *
+     * @return 새로 추가했으면 true, 이미 있는 ID(만료 시각은 그대로 둠)이거나 휠 범위를 넘으면 false
+     */
+    boolean add(long id, long deadlineMillis) {
+        if (timers.containsKey(id)) {
+            return false;
+        }
+        // 틱 경계로 올림해 만료 시각보다 일찍 꺼내지 않음
+        long deadlineTick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        if (deadlineTick - currentTick >= MAX_DELAY_TICKS) {
+            return false;
+        }
+        Timer timer = new Timer(id, deadlineTick);
+        timers.put(id, timer);
+        link(timer);
+        return true;
+    }
+
+    boolean cancel(long id) {
+        Timer timer = timers.remove(id);
+        if (timer == null) {
+            return false;
+        }
+        unlink(timer);
+        return true;
+    }
+
+    int size() {
+        return timers.size();
+    }
+
+    /**
+     * nowMillis 까지 틱을 진행하며 만료된 타이머 ID 를 넘김
+     */
+    void advance(long nowMillis, LongConsumer expired) {
+        long targetTick = nowMillis / tickMillis;
+        if (timers.isEmpty()) {
+            currentTick = Math.max(currentTick, targetTick);
+            return;
+        }
+        while (currentTick < targetTick) {
+            currentTick++;
+            // 위 레벨부터 내려 보내야 같은 틱에 여러 레벨을 거쳐 내려오는 타이머도 이번 틱에 만료됨
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level, slotOf(currentTick, level));
+                }
+            }
+            Timer timer = detach(0, slotOf(currentTick, 0));
+            while (timer != null) {
+                Timer next = timer.next;
+                timers.remove(timer.id);
+                expired.accept(timer.id);
+                timer = next;
+            }
+        }
+    }
+
+    private void cascade(int level, int slot) {
+        Timer timer = detach(level, slot);
+        while (timer != null) {
+            Timer next = timer.next;
+            link(timer);
+            timer = next;
+        }
+    }
+
+    private void link(Timer timer) {
+        long delay = timer.deadlineTick - currentTick;
+        int level = delay < SLOTS ? 0 : (63 - Long.numberOfLeadingZeros(delay)) / SLOT_BITS;
+        int slot = slotOf(timer.deadlineTick, level);
+        Timer head = buckets[level][slot];
+        timer.level = level;
+        timer.slot = slot;
+        timer.prev = null;
+        timer.next = head;
+        if (head != null) {
+            head.prev = timer;
+        }
+        buckets[level][slot] = timer;
+    }
+
+    private void unlink(Timer timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            buckets[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+    }
+
+    private Timer detach(int level, int slot) {
+        Timer head = buckets[level][slot];
+        buckets[level][slot] = null;
+        return head;
+    }
+
+    private static int slotOf(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    private static final class Timer {
+
+        private final long id;
+        private final long deadlineTick;
+        private Timer prev;
+        private Timer next;
+        private int level;
+        private int slot;
+
+        private Timer(long id, long deadlineTick) {
+            this.id = id;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.kt.damim.notification.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.kt.damim.notification.dto.NotificationResponse;
+import com.kt.damim.notification.dto.UnreadCountResponse;
+import com.kt.damim.notification.event.NotificationCreatedEvent;
+import com.kt.damim.notification.event.NotificationsAggregatedEvent;
+import com.kt.damim.notification.event.NotificationsReadEvent;
+import com.kt.damim.notification.repository.NotificationRepository;
+import com.kt.damim.notification.retention.RetentionWindow;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 수신자별 읽지 않은 알림 개수 캐시
+ * <p>
+ * 커밋된 저장/읽음 이벤트로 값을 증감하고, 캐시에 없으면 조회({@link #get}) 때 DB COUNT 로 채운다.
+ * 커밋 후에는 DB 를 읽지 않으므로 캐시에 있는 값만 증감하고, 없으면 다음 조회에 맡긴다.
+ * 증감은 기존 만료 시각을 연장하지 않으므로 TTL 마다 DB 값으로 다시 맞춰진다.
+ * <p>
+ * 커밋 직전에 쓰기 순번을 올리고, DB COUNT 가 끝난 시점의 순번을 값과 함께 둔다.
+ * 그 순번이 쓰기 순번보다 작은 값만 커밋 전에 센 값이므로 증감하고, 아니면 이미 반영됐을 수 있으므로 버리고 다시 센다.
+ * 변경된 개수 push 는 요청 스레드가 아닌 NORMAL 전송 워커에서 한다.
+ */
+@Component
+public class UnreadCountCache {
+
+    private final NotificationSessionService notificationSessionService;
+    private final NotificationDispatcher notificationDispatcher;
+    private final LoadingCache<String, CachedCount> unreadCounts;
+    private final AtomicLong writeSequence = new AtomicLong();
+
+    public UnreadCountCache(NotificationRepository notificationRepository,
+                            NotificationSessionService notificationSessionService,
+                            NotificationDispatcher notificationDispatcher,
+                            RetentionWindow retentionWindow,
+                            MeterRegistry meterRegistry,
+                            @Value("${notification.unread-count.cache.max-size:100000}") long maxSize,
+                            @Value("${notification.unread-count.cache.ttl:10m}") Duration ttl) {
+        this.notificationSessionService = notificationSessionService;
+        this.notificationDispatcher = notificationDispatcher;
+        this.unreadCounts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(expireAfterCreate(ttl))
+                .recordStats()
+                .build(receiverId -> {
+                    long count = notificationRepository.countUnreadNotifications(receiverId, retentionWindow.since());
+                    return new CachedCount(count, writeSequence.get());
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, unreadCounts, "notification.unread-count");
+    }
+
+    public long get(String receiverId) {
+        return unreadCounts.get(receiverId).count();
+    }
+
+    public void evict(String receiverId) {
+        unreadCounts.invalidate(receiverId);
+    }
+
+    @EventListener
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        Map<String, Long> createdByReceiver = event.notifications().stream()
+                .collect(Collectors.groupingBy(NotificationResponse::getReceiverId, Collectors.counting()));
+        adjustAfterCommit(createdByReceiver);
+    }
+
+    @EventListener
+    public void onNotificationsRead(NotificationsReadEvent event) {
+        if (event.count() > 0) {
+            adjustAfterCommit(Map.of(event.receiverId(), (long) -event.count()));
+        }
+    }
+
+    /**
+     * 집계로 이미 읽은 행이 다시 읽지 않음이 될 수 있으므로 증감 대신 버리고 다음 조회 때 DB 값으로 다시 채움
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onNotificationsAggregated(NotificationsAggregatedEvent event) {
+        event.notifications().stream()
+                .map(NotificationResponse::getReceiverId)
+                .distinct()
+                .forEach(this::evict);
+    }
+
+    /**
+     * 이벤트를 발행한 트랜잭션이 커밋되면 증감 (트랜잭션 밖에서 발행된 이벤트는 무시)
+     */
+    private void adjustAfterCommit(Map<String, Long> deltaByReceiver) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long sequence;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                sequence = writeSequence.incrementAndGet();
+            }
+
+            @Override
+            public void afterCommit() {
+                deltaByReceiver.forEach((receiverId, delta) -> adjust(receiverId, delta, sequence));
+            }
+        });
+    }
+
+    private void adjust(String receiverId, long delta, long sequence) {
+        CachedCount adjusted = unreadCounts.asMap().computeIfPresent(receiverId, (key, cached) ->
+                cached.countedBefore() < sequence ? new CachedCount(Math.max(0L, cached.count() + delta), cached.countedBefore()) : null);
+        if (adjusted != null) {
+            pushCount(receiverId);
+        }
+    }
+
+    private void pushCount(String receiverId) {
+        // 접속 중인 사용자에게만 변경된 개수를 push (폴링 대체, 다른 노드 접속 포함)
+        if (!notificationSessionService.isOnline(receiverId)) {
+            return;
+        }
+        notificationDispatcher.execute(() -> {
+            // 워커 실행 순서가 바뀌어도 늦게 실행된 push 가 최신 값을 보내도록 실행 시점의 값을 읽음
+            CachedCount cached = unreadCounts.getIfPresent(receiverId);
+            if (cached != null) {
+                String destination = "/topic/notifications/" + receiverId + "/unread-count";
+                notificationSessionService.sendMessageToUser(receiverId, destination, new UnreadCountResponse(receiverId, cached.count()));
+            }
+        });
+    }
+
+    private static Expiry<String, CachedCount> expireAfterCreate(Duration ttl) {
+        long ttlNanos = ttl.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String key, CachedCount value, long currentTime) {
+                return ttlNanos;
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, CachedCount value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+
+            @Override
+            public long expireAfterRead(String key, CachedCount value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    /**
+     * @param countedBefore DB COUNT 가 끝난 시점의 쓰기 순번 (이보다 큰 순번의 쓰기는 COUNT 에 없음)
+     */
+    private record CachedCount(long count, long countedBefore) {
+    }
+}
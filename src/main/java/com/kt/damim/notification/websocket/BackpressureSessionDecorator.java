@@ -0,0 +1,329 @@
+package com.kt.damim.notification.websocket;
+
+import com.kt.damim.notification.service.PayloadEncoding;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 세션 송신 큐
+ * <p>
+ * sendMessage 는 큐에 넣고 바로 반환하며, 비동기 전송이 끝날 때마다 다음 프레임을 보낸다.
+ * 한 번에 하나의 프레임만 전송 중이므로 컨테이너의 비동기 전송 제약(동시 전송 불가)을 지킨다.
+ * 컨테이너가 비동기 전송을 지원하지 않으면(네이티브 세션 없음) 기존처럼 호출 스레드에서 보낸다.
+ */
+@Slf4j
+class BackpressureSessionDecorator extends WebSocketSessionDecorator {
+
+    private static final String MESSAGE_COMMAND = "MESSAGE\n";
+    private static final byte[] MESSAGE_COMMAND_BYTES = MESSAGE_COMMAND.getBytes(StandardCharsets.US_ASCII);
+
+    private final OutboundBackpressure backpressure;
+    // null 이면 동기 전송
+    private final RemoteEndpoint.Async asyncRemote;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // 아래 필드는 lock 으로 보호
+    private final ArrayDeque<QueuedFrame> queue = new ArrayDeque<>();
+    private QueuedFrame inFlight;
+    // 비동기 전송이 호출 스레드에서 즉시 완료될 때 재귀 대신 drain 루프에서 이어서 보내기 위함
+    private Thread drainingThread;
+    private boolean closed;
+
+    BackpressureSessionDecorator(WebSocketSession delegate, OutboundBackpressure backpressure) {
+        super(delegate);
+        this.backpressure = backpressure;
+        this.asyncRemote = asyncRemoteOf(delegate, backpressure.getSendTimeoutMillis());
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (asyncRemote == null || !(message instanceof TextMessage || message instanceof BinaryMessage)) {
+            super.sendMessage(message);
+            return;
+        }
+
+        boolean disconnect = false;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            queue.add(new QueuedFrame(message, System.nanoTime(), isMessageFrame(message), 0));
+            if (queue.size() > backpressure.getQueueLimit()) {
+                disconnect = applyOverflowPolicy();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (disconnect) {
+            backpressure.closeSlowSession(getDelegate(), "송신 대기 프레임 " + backpressure.getQueueLimit() + "건 초과");
+            return;
+        }
+        drain();
+    }
+
+    /**
+     * 연결 종료 후 남은 프레임 폐기
+     */
+    void discard() {
+        lock.lock();
+        try {
+            closed = true;
+            queue.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long lagNanos(long now) {
+        lock.lock();
+        try {
+            QueuedFrame oldest = inFlight != null ? inFlight : queue.peek();
+            return oldest != null ? now - oldest.enqueuedNanos() : 0L;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int backlog() {
+        lock.lock();
+        try {
+            return queue.size() + (inFlight != null ? 1 : 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 세션을 종료해야 하면 true
+     */
+    private boolean applyOverflowPolicy() {
+        switch (backpressure.getPolicy()) {
+            case DROP_OLDEST -> {
+                Iterator<QueuedFrame> iterator = queue.iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().droppable()) {
+                        iterator.remove();
+                        backpressure.recordDropped(1);
+                        break;
+                    }
+                }
+                return false;
+            }
+            case COLLAPSE -> {
+                collapse();
+                return false;
+            }
+            case DISCONNECT -> {
+                closed = true;
+                queue.clear();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 알림 토픽 프레임은 구독별 요약 프레임 하나로, 그 밖의 토픽(읽지 않은 개수 등)은 목적지별 최신 프레임만 남김
+     * <p>
+     * 요약 개수는 프레임 수 기준이다. (묶음 전송 프레임도 1건으로 센다)
+     */
+    private void collapse() {
+        Map<String, Summary> summaries = new LinkedHashMap<>();
+        Map<String, QueuedFrame> latestByDestination = new LinkedHashMap<>();
+        ArrayDeque<QueuedFrame> kept = new ArrayDeque<>();
+        int collapsed = 0;
+
+        for (QueuedFrame frame : queue) {
+            StompHeaderAccessor headers = frame.droppable() ? backpressure.decodeHeaders(frameBytes(frame.message())) : null;
+            if (headers == null || headers.getDestination() == null || headers.getSubscriptionId() == null) {
+                kept.add(frame);
+                continue;
+            }
+            String destination = headers.getDestination();
+            if (isNotificationTopic(destination)) {
+                int count = frame.summaryCount() > 0 ? frame.summaryCount() : 1;
+                // 인코딩 협상이 이미 본문을 바꾼 프레임이므로 content-type 이 곧 구독 인코딩
+                PayloadEncoding encoding = PayloadEncoding.of(headers.getContentType());
+                summaries.computeIfAbsent(headers.getSubscriptionId(),
+                                subscriptionId -> new Summary(subscriptionId, destination, encoding, frame.enqueuedNanos()))
+                        .add(count);
+                collapsed++;
+            } else {
+                if (latestByDestination.put(destination, frame) != null) {
+                    collapsed++;
+                }
+            }
+        }
+
+        queue.clear();
+        queue.addAll(kept);
+        queue.addAll(latestByDestination.values());
+        for (Summary summary : summaries.values()) {
+            byte[] frame = backpressure.encodeSummary(summary.subscriptionId, summary.destination, summary.count, summary.encoding);
+            // CBOR 본문은 PayloadEncodingNegotiation 과 같이 바이너리 프레임으로 보냄
+            WebSocketMessage<?> message = summary.encoding == PayloadEncoding.JSON ? new TextMessage(frame) : new BinaryMessage(frame);
+            queue.add(new QueuedFrame(message, summary.enqueuedNanos, true, summary.count));
+        }
+        // 요약 프레임 자신도 다시 합쳐지므로 실제로 줄어든 프레임 수만 기록
+        backpressure.recordCollapsed(Math.max(0, collapsed - summaries.size()));
+    }
+
+    private void drain() {
+        while (true) {
+            QueuedFrame frame;
+            lock.lock();
+            try {
+                if (closed || inFlight != null || queue.isEmpty()) {
+                    return;
+                }
+                frame = queue.poll();
+                inFlight = frame;
+                drainingThread = Thread.currentThread();
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                if (frame.message() instanceof TextMessage textMessage) {
+                    asyncRemote.sendText(textMessage.getPayload(), result -> onSent(frame, result));
+                } else {
+                    asyncRemote.sendBinary(((BinaryMessage) frame.message()).getPayload(), result -> onSent(frame, result));
+                }
+            } catch (Exception e) {
+                onSent(frame, new SendResult(e));
+            }
+
+            lock.lock();
+            try {
+                if (drainingThread == Thread.currentThread()) {
+                    drainingThread = null;
+                }
+                // 아직 전송 중이면 완료 콜백에서 이어서 보냄
+                if (inFlight != null) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void onSent(QueuedFrame frame, SendResult result) {
+        boolean continueInline;
+        lock.lock();
+        try {
+            if (inFlight == frame) {
+                inFlight = null;
+            }
+            continueInline = drainingThread == Thread.currentThread();
+        } finally {
+            lock.unlock();
+        }
+
+        if (!result.isOK()) {
+            discard();
+            // 이미 닫힌 연결이 아니면 전송 시간 초과로 보고 종료
+            if (getDelegate().isOpen()) {
+                backpressure.closeSlowSession(getDelegate(), String.valueOf(result.getException()));
+            }
+            return;
+        }
+        backpressure.recordWritten(frame.enqueuedNanos());
+        if (!continueInline) {
+            drain();
+        }
+    }
+
+    private static boolean isMessageFrame(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage textMessage) {
+            return textMessage.getPayload().startsWith(MESSAGE_COMMAND);
+        }
+        ByteBuffer buffer = ((BinaryMessage) message).getPayload();
+        if (buffer.remaining() < MESSAGE_COMMAND_BYTES.length) {
+            return false;
+        }
+        for (int i = 0; i < MESSAGE_COMMAND_BYTES.length; i++) {
+            if (buffer.get(buffer.position() + i) != MESSAGE_COMMAND_BYTES[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] frameBytes(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage textMessage) {
+            return textMessage.asBytes();
+        }
+        ByteBuffer buffer = ((BinaryMessage) message).getPayload().duplicate();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static boolean isNotificationTopic(String destination) {
+        // /topic/notifications/{userId} 만 (하위 토픽 제외)
+        return destination.startsWith("/topic/notifications/")
+                && destination.indexOf('/', "/topic/notifications/".length()) < 0;
+    }
+
+    private static RemoteEndpoint.Async asyncRemoteOf(WebSocketSession session, long sendTimeoutMillis) {
+        WebSocketSession target = WebSocketSessionDecorator.unwrap(session);
+        if (target instanceof NativeWebSocketSession nativeSession) {
+            Session standardSession = nativeSession.getNativeSession(Session.class);
+            if (standardSession != null) {
+                RemoteEndpoint.Async asyncRemote = standardSession.getAsyncRemote();
+                asyncRemote.setSendTimeout(sendTimeoutMillis);
+                return asyncRemote;
+            }
+        }
+        log.debug("비동기 전송 미지원 세션, 동기 전송 사용: socketSessionId={}", session.getId());
+        return null;
+    }
+
+    /**
+     * @param droppable    정책에 따라 버리거나 합칠 수 있는 MESSAGE 프레임 여부
+     * @param summaryCount 요약 프레임이면 합쳐진 프레임 수, 아니면 0
+     */
+    private record QueuedFrame(WebSocketMessage<?> message, long enqueuedNanos, boolean droppable, int summaryCount) {
+    }
+
+    private static final class Summary {
+
+        private final String subscriptionId;
+        private final String destination;
+        private final PayloadEncoding encoding;
+        private final long enqueuedNanos;
+        private int count;
+
+        private Summary(String subscriptionId, String destination, PayloadEncoding encoding, long enqueuedNanos) {
+            this.subscriptionId = subscriptionId;
+            this.destination = destination;
+            this.encoding = encoding;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+
+        private void add(int frames) {
+            count += frames;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.kt.damim.notification.websocket;
+
+import com.kt.damim.notification.dto.NotificationSummaryResponse;
+import com.kt.damim.notification.service.CborPayloadEncoder;
+import com.kt.damim.notification.service.PayloadEncoding;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompDecoder;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebSocket 세션별 송신 큐와 느린 클라이언트 처리
+ * <p>
+ * 각 세션을 {@link BackpressureSessionDecorator} 로 감싸 clientOutboundChannel 스레드는 큐에 넣고 바로 돌아오고,
+ * 실제 쓰기는 컨테이너의 비동기 전송(RemoteEndpoint.Async)으로 한 프레임씩 진행한다.
+ * 대기 프레임이 queue-limit 을 넘으면 {@link SlowConsumerPolicy} 를 적용한다.
+ * <p>
+ * 세션 수만큼 태그를 만들지 않도록 지연(lag)은 프레임 단위 타이머와 전체 최대값 게이지로 노출한다.
+ */
+@Component
+@Slf4j
+public class OutboundBackpressure implements WebSocketHandlerDecoratorFactory {
+
+    public static final String SUMMARY_HEADER = "x-notification-summary";
+
+    private final ConcurrentHashMap<String, BackpressureSessionDecorator> sessions = new ConcurrentHashMap<>();
+    private final CborPayloadEncoder payloadEncoder;
+    private final StompEncoder stompEncoder = new StompEncoder();
+    private final StompDecoder stompDecoder = new StompDecoder();
+    // 느린 세션 종료는 close 프레임 전송에서 막힐 수 있으므로 송신 스레드와 분리
+    private final ExecutorService closeExecutor;
+
+    private final boolean enabled;
+    private final int queueLimit;
+    private final SlowConsumerPolicy policy;
+    private final long sendTimeoutMillis;
+
+    private final Timer lagTimer;
+    private final Counter droppedFrames;
+    private final Counter collapsedFrames;
+    private final Counter slowDisconnects;
+
+    public OutboundBackpressure(CborPayloadEncoder payloadEncoder,
+                                MeterRegistry meterRegistry,
+                                @Value("${notification.websocket.outbound.enabled:true}") boolean enabled,
+                                @Value("${notification.websocket.outbound.queue-limit:256}") int queueLimit,
+                                @Value("${notification.websocket.outbound.overflow-policy:DROP_OLDEST}") SlowConsumerPolicy policy,
+                                @Value("${notification.websocket.outbound.send-timeout:10s}") Duration sendTimeout) {
+        this.payloadEncoder = payloadEncoder;
+        this.enabled = enabled;
+        this.queueLimit = queueLimit;
+        this.policy = policy;
+        this.sendTimeoutMillis = sendTimeout.toMillis();
+        this.closeExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "notification-ws-close");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.lagTimer = Timer.builder("notification.websocket.outbound.lag")
+                .description("프레임이 세션 송신 큐에 들어간 뒤 쓰기가 끝날 때까지의 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.droppedFrames = overflowCounter("dropped", meterRegistry);
+        this.collapsedFrames = overflowCounter("collapsed", meterRegistry);
+        this.slowDisconnects = overflowCounter("disconnected", meterRegistry);
+        Gauge.builder("notification.websocket.outbound.max.lag", this, OutboundBackpressure::maxLagSeconds)
+                .description("세션별 송신 지연 중 최대값 (초)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("notification.websocket.outbound.backlog", this, OutboundBackpressure::totalBacklog)
+                .description("모든 세션의 송신 대기 프레임 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        if (!enabled) {
+            return handler;
+        }
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                BackpressureSessionDecorator decorated = new BackpressureSessionDecorator(session, OutboundBackpressure.this);
+                sessions.put(session.getId(), decorated);
+                super.afterConnectionEstablished(decorated);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                BackpressureSessionDecorator decorated = sessions.remove(session.getId());
+                if (decorated != null) {
+                    decorated.discard();
+                }
+                super.afterConnectionClosed(decorated != null ? decorated : session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * 세션별 현재 송신 지연 (가장 오래 기다린 프레임 기준), 없는 세션이면 0
+     */
+    public Duration getLag(String socketSessionId) {
+        BackpressureSessionDecorator session = sessions.get(socketSessionId);
+        return Duration.ofNanos(session != null ? session.lagNanos(System.nanoTime()) : 0L);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closeExecutor.shutdownNow();
+    }
+
+    int getQueueLimit() {
+        return queueLimit;
+    }
+
+    SlowConsumerPolicy getPolicy() {
+        return policy;
+    }
+
+    long getSendTimeoutMillis() {
+        return sendTimeoutMillis;
+    }
+
+    void recordWritten(long enqueuedNanos) {
+        lagTimer.record(System.nanoTime() - enqueuedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordDropped(int frames) {
+        droppedFrames.increment(frames);
+    }
+
+    void recordCollapsed(int frames) {
+        collapsedFrames.increment(frames);
+    }
+
+    void closeSlowSession(WebSocketSession session, String reason) {
+        slowDisconnects.increment();
+        log.warn("느린 WebSocket 세션 종료: socketSessionId={}, reason={}", session.getId(), reason);
+        closeExecutor.execute(() -> {
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (Exception e) {
+                log.debug("세션 종료 실패: socketSessionId={}, error={}", session.getId(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * STOMP 프레임의 헤더만 해석, 완전한 프레임이 아니면 null
+     */
+    StompHeaderAccessor decodeHeaders(byte[] frame) {
+        List<Message<byte[]>> messages = stompDecoder.decode(ByteBuffer.wrap(frame));
+        return messages.isEmpty() ? null : StompHeaderAccessor.wrap(messages.get(0));
+    }
+
+    /**
+     * 구독에 보낼 "새 알림 N건" 요약 MESSAGE 프레임
+     *
+     * @param encoding 합쳐진 프레임의 본문 인코딩 (구독이 협상한 인코딩)
+     */
+    byte[] encodeSummary(String subscriptionId, String destination, int missedCount, PayloadEncoding encoding) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        accessor.setMessageId(UUID.randomUUID().toString());
+        accessor.setContentType(encoding.getMediaType());
+        accessor.setNativeHeader(SUMMARY_HEADER, String.valueOf(missedCount));
+        byte[] payload = payloadEncoder.encode(new NotificationSummaryResponse(missedCount), encoding);
+        return stompEncoder.encode(accessor.getMessageHeaders(), payload);
+    }
+
+    private double maxLagSeconds() {
+        long now = System.nanoTime();
+        long maxLagNanos = 0L;
+        for (BackpressureSessionDecorator session : sessions.values()) {
+            maxLagNanos = Math.max(maxLagNanos, session.lagNanos(now));
+        }
+        return maxLagNanos / 1_000_000_000.0;
+    }
+
+    private double totalBacklog() {
+        long backlog = 0L;
+        for (BackpressureSessionDecorator session : sessions.values()) {
+            backlog += session.backlog();
+        }
+        return backlog;
+    }
+
+    private static Counter overflowCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("notification.websocket.outbound.overflow")
+                .description("송신 큐 상한 초과로 처리된 프레임/세션 수")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
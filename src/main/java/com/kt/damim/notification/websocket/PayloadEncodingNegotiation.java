@@ -0,0 +1,199 @@
+package com.kt.damim.notification.websocket;
+
+import com.kt.damim.notification.service.CborPayloadEncoder;
+import com.kt.damim.notification.service.PayloadEncoding;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * STOMP 구독별 본문 인코딩 협상
+ * <p>
+ * SUBSCRIBE 프레임의 content-type 이 CBOR 형식이면 구독별로 기억하고, 그 구독으로 나가는 JSON MESSAGE 본문만 CBOR 로 바꾼다.
+ * 브로커(SIMPLE/RELAY)와 다른 노드 전달 경로는 그대로 JSON 을 쓰므로, 변환 비용은 CBOR 구독이 있는 세션에만 든다.
+ * STOMP 처리기는 application/octet-stream 이 아닌 본문을 텍스트 프레임으로 보내므로 CBOR 프레임은 세션 데코레이터에서 바이너리 프레임으로 보낸다.
+ */
+@Component
+@Slf4j
+public class PayloadEncodingNegotiation implements ChannelInterceptor, WebSocketHandlerDecoratorFactory {
+
+    private static final String CONTENT_TYPE_HEADER = "\ncontent-type:";
+
+    private final CborPayloadEncoder cborPayloadEncoder;
+    // 세션 ID → (구독 ID → 인코딩), JSON 구독은 두지 않음
+    private final ConcurrentHashMap<String, Map<String, PayloadEncoding>> encodingsBySessionId = new ConcurrentHashMap<>();
+    private final Map<PayloadEncoding, Counter> transcodedFrames = new EnumMap<>(PayloadEncoding.class);
+
+    public PayloadEncodingNegotiation(CborPayloadEncoder cborPayloadEncoder, MeterRegistry meterRegistry) {
+        this.cborPayloadEncoder = cborPayloadEncoder;
+        for (PayloadEncoding encoding : PayloadEncoding.values()) {
+            if (encoding != PayloadEncoding.JSON) {
+                transcodedFrames.put(encoding, Counter.builder("notification.payload.transcoded")
+                        .description("구독 인코딩에 맞춰 변환한 STOMP 프레임 수")
+                        .tag("encoding", encoding.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+        }
+    }
+
+    /**
+     * clientInboundChannel 에서는 구독 등록/해제, clientOutboundChannel 에서는 본문 변환
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (messageType == null || sessionId == null) {
+            return message;
+        }
+        return switch (messageType) {
+            case SUBSCRIBE -> {
+                subscribe(sessionId, message);
+                yield message;
+            }
+            case UNSUBSCRIBE -> {
+                unsubscribe(sessionId, SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders()));
+                yield message;
+            }
+            case DISCONNECT -> {
+                encodingsBySessionId.remove(sessionId);
+                yield message;
+            }
+            case MESSAGE -> encode(sessionId, message);
+            default -> message;
+        };
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                super.afterConnectionEstablished(new BinaryFrameSessionDecorator(session));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                encodingsBySessionId.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    private void subscribe(String sessionId, Message<?> message) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        PayloadEncoding encoding = PayloadEncoding.of(accessor.getContentType());
+        if (encoding != PayloadEncoding.JSON && accessor.getSubscriptionId() != null) {
+            encodingsBySessionId.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                    .put(accessor.getSubscriptionId(), encoding);
+            log.debug("구독 인코딩 등록: socketSessionId={}, subscriptionId={}, encoding={}",
+                    sessionId, accessor.getSubscriptionId(), encoding);
+        }
+    }
+
+    private void unsubscribe(String sessionId, String subscriptionId) {
+        if (subscriptionId == null) {
+            return;
+        }
+        encodingsBySessionId.computeIfPresent(sessionId, (id, encodings) -> {
+            encodings.remove(subscriptionId);
+            return encodings.isEmpty() ? null : encodings;
+        });
+    }
+
+    private Message<?> encode(String sessionId, Message<?> message) {
+        Map<String, PayloadEncoding> encodings = encodingsBySessionId.get(sessionId);
+        String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders());
+        PayloadEncoding encoding = encodings != null && subscriptionId != null ? encodings.get(subscriptionId) : null;
+        if (encoding == null || !(message.getPayload() instanceof byte[] json)) {
+            return message;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        MimeType contentType = accessor.getContentType();
+        if (contentType != null && !MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            return message;
+        }
+        try {
+            byte[] encoded = cborPayloadEncoder.transcode(json, accessor.getDestination(), encoding);
+            accessor.setContentType(encoding.getMediaType());
+            // RELAY 로 받은 메시지의 원래 길이 헤더는 버리고 STOMP 인코더가 다시 계산
+            accessor.removeNativeHeader("content-length");
+            transcodedFrames.get(encoding).increment();
+            return MessageBuilder.createMessage(encoded, accessor.getMessageHeaders());
+        } catch (UncheckedIOException e) {
+            log.warn("본문 인코딩 변환 실패, JSON 으로 전송: socketSessionId={}, encoding={}, error={}",
+                    sessionId, encoding, e.getMessage());
+            return message;
+        }
+    }
+
+    private static boolean hasCborBody(byte[] frame) {
+        int headersEnd = indexOfBlankLine(frame);
+        if (headersEnd < 0) {
+            return false;
+        }
+        String headers = new String(frame, 0, headersEnd, StandardCharsets.UTF_8);
+        int index = headers.indexOf(CONTENT_TYPE_HEADER);
+        if (index < 0) {
+            return false;
+        }
+        int valueStart = index + CONTENT_TYPE_HEADER.length();
+        int valueEnd = headers.indexOf('\n', valueStart);
+        MimeType contentType = MimeTypeUtils.parseMimeType(valueEnd < 0 ? headers.substring(valueStart) : headers.substring(valueStart, valueEnd));
+        return PayloadEncoding.of(contentType) != PayloadEncoding.JSON;
+    }
+
+    private static int indexOfBlankLine(byte[] frame) {
+        for (int i = 1; i < frame.length; i++) {
+            if (frame[i] == '\n' && frame[i - 1] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * CBOR 구독이 있는 세션의 텍스트 프레임 중 CBOR 본문 프레임만 같은 바이트의 바이너리 프레임으로 전송
+     */
+    private class BinaryFrameSessionDecorator extends WebSocketSessionDecorator {
+
+        BinaryFrameSessionDecorator(WebSocketSession delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            if (message instanceof TextMessage text && encodingsBySessionId.containsKey(getId()) && hasCborBody(text.asBytes())) {
+                super.sendMessage(new BinaryMessage(text.asBytes()));
+                return;
+            }
+            super.sendMessage(message);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.kt.damim.notification.websocket;
+
+/**
+ * 세션별 송신 대기 프레임이 상한을 넘었을 때의 처리
+ */
+public enum SlowConsumerPolicy {
+    /** 가장 오래된 알림 프레임부터 버림 */
+    DROP_OLDEST,
+    /** 대기 중인 알림 프레임을 구독별 "새 알림 N건" 요약 프레임 하나로 합침 */
+    COLLAPSE,
+    /** 세션 종료 (재접속 시 미전송 알림 재전송) */
+    DISCONNECT
+}
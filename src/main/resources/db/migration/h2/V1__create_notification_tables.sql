@@ -0,0 +1,32 @@
+-- H2(로컬/벤치마크)용 스키마: 파티션 없이 PostgreSQL 과 같은 컬럼/인덱스 구성
+
+CREATE SEQUENCE IF NOT EXISTS notifications_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS notifications (
+    id          BIGINT       NOT NULL,
+    sender_id   VARCHAR(255) NOT NULL,
+    receiver_id VARCHAR(255) NOT NULL,
+    message     VARCHAR(255) NOT NULL,
+    type        VARCHAR(255) NOT NULL,
+    is_read     BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_notifications PRIMARY KEY (id, created_at)
+);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_receiver_created
+    ON notifications (receiver_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_notifications_receiver_unread_created
+    ON notifications (receiver_id, is_read, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_notifications_receiver_id
+    ON notifications (receiver_id, id);
+
+CREATE TABLE IF NOT EXISTS notification_sessions (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    socket_user_id    VARCHAR(255) NOT NULL,
+    socket_session_id VARCHAR(255) NOT NULL UNIQUE,
+    connected_at      TIMESTAMP(6) NOT NULL,
+    disconnected_at   TIMESTAMP(6),
+    is_active         BOOLEAN      NOT NULL,
+    CONSTRAINT notification_sessions_pkey PRIMARY KEY (id)
+);
+
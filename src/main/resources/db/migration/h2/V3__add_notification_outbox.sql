@@ -0,0 +1,28 @@
+-- 알림 전송 outbox 와 멱등 키 (H2 는 부분 인덱스를 지원하지 않아 일반 인덱스 사용)
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    notification_id BIGINT       NOT NULL,
+    receiver_id     VARCHAR(255) NOT NULL,
+    status          VARCHAR(16)  NOT NULL,
+    attempts        INTEGER      NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT notification_outbox_pkey PRIMARY KEY (notification_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_pending
+    ON notification_outbox (status, next_attempt_at, notification_id);
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_completed
+    ON notification_outbox (status, updated_at);
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_receiver
+    ON notification_outbox (receiver_id, notification_id);
+
+CREATE TABLE IF NOT EXISTS notification_idempotency_keys (
+    sender_id       VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    notification_id BIGINT       NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT notification_idempotency_keys_pkey PRIMARY KEY (sender_id, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_idempotency_keys_created
+    ON notification_idempotency_keys (created_at);
@@ -0,0 +1,41 @@
+-- 세그먼트(수신 대상 그룹)와 멤버, 세그먼트 전체 발송 (PostgreSQL V5 와 같은 구성)
+CREATE TABLE IF NOT EXISTS notification_segments (
+    segment_id VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT notification_segments_pkey PRIMARY KEY (segment_id)
+);
+
+CREATE TABLE IF NOT EXISTS notification_segment_members (
+    segment_id VARCHAR(100) NOT NULL,
+    user_id    VARCHAR(255) NOT NULL,
+    CONSTRAINT notification_segment_members_pkey PRIMARY KEY (segment_id, user_id)
+);
+
+-- 사용자 알림함 조회 시 속한 세그먼트 조회
+CREATE INDEX IF NOT EXISTS idx_notification_segment_members_user
+    ON notification_segment_members (user_id);
+
+CREATE TABLE IF NOT EXISTS broadcast_notifications (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    segment_id VARCHAR(100) NOT NULL,
+    sender_id  VARCHAR(255) NOT NULL,
+    message    VARCHAR(255) NOT NULL,
+    type       VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT broadcast_notifications_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_broadcast_notifications_segment_created
+    ON broadcast_notifications (segment_id, created_at DESC, id DESC);
+
+-- 보존 작업이 보존 기간이 지난 발송을 찾을 때 사용
+CREATE INDEX IF NOT EXISTS idx_broadcast_notifications_created
+    ON broadcast_notifications (created_at);
+
+-- 읽은 사용자만 행을 가짐 (행이 없으면 읽지 않음)
+CREATE TABLE IF NOT EXISTS broadcast_reads (
+    broadcast_id BIGINT       NOT NULL,
+    user_id      VARCHAR(255) NOT NULL,
+    read_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT broadcast_reads_pkey PRIMARY KEY (broadcast_id, user_id)
+);
@@ -0,0 +1,20 @@
+-- 예약 알림 (PostgreSQL V6 와 같은 구성, H2 는 부분 인덱스를 지원하지 않아 일반 유일 인덱스 사용)
+CREATE TABLE IF NOT EXISTS scheduled_notifications (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    sender_id       VARCHAR(255) NOT NULL,
+    receiver_id     VARCHAR(255) NOT NULL,
+    message         VARCHAR(255) NOT NULL,
+    type            VARCHAR(255) NOT NULL,
+    group_key       VARCHAR(255),
+    idempotency_key VARCHAR(255),
+    deliver_at      TIMESTAMP(6) NOT NULL,
+    expires_at      TIMESTAMP(6),
+    created_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT scheduled_notifications_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_scheduled_notifications_deliver_at
+    ON scheduled_notifications (deliver_at, id);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_scheduled_notifications_idempotency
+    ON scheduled_notifications (sender_id, idempotency_key);
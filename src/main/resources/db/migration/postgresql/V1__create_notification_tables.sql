@@ -0,0 +1,33 @@
+-- 기존 ddl-auto=update 로 만들어진 스키마와 동일한 기준선
+-- (이미 테이블이 있는 DB 는 spring.flyway.baseline-on-migrate 로 이 버전을 건너뜀)
+
+CREATE SEQUENCE IF NOT EXISTS notifications_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS notifications (
+    id          BIGINT       NOT NULL,
+    sender_id   VARCHAR(255) NOT NULL,
+    receiver_id VARCHAR(255) NOT NULL,
+    message     VARCHAR(255) NOT NULL,
+    type        VARCHAR(255) NOT NULL,
+    is_read     BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT notifications_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_receiver_created
+    ON notifications (receiver_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_notifications_receiver_unread_created
+    ON notifications (receiver_id, is_read, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_notifications_receiver_id
+    ON notifications (receiver_id, id);
+
+CREATE TABLE IF NOT EXISTS notification_sessions (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    socket_user_id    VARCHAR(255) NOT NULL,
+    socket_session_id VARCHAR(255) NOT NULL UNIQUE,
+    connected_at      TIMESTAMP(6) NOT NULL,
+    disconnected_at   TIMESTAMP(6),
+    is_active         BOOLEAN      NOT NULL,
+    CONSTRAINT notification_sessions_pkey PRIMARY KEY (id)
+);
+
@@ -0,0 +1,58 @@
+-- notifications 를 created_at 월 단위 범위 파티션 테이블로 전환
+-- 파티션 키가 기본키에 포함되어야 하므로 기본키는 (id, created_at)
+
+ALTER TABLE notifications RENAME TO notifications_legacy;
+DROP INDEX IF EXISTS idx_notifications_receiver_created;
+DROP INDEX IF EXISTS idx_notifications_receiver_unread_created;
+DROP INDEX IF EXISTS idx_notifications_receiver_id;
+
+CREATE TABLE notifications (
+    id          BIGINT       NOT NULL,
+    sender_id   VARCHAR(255) NOT NULL,
+    receiver_id VARCHAR(255) NOT NULL,
+    message     VARCHAR(255) NOT NULL,
+    type        VARCHAR(255) NOT NULL,
+    is_read     BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_notifications PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- 파티션 테이블의 인덱스는 각 파티션에 자동으로 만들어짐
+CREATE INDEX idx_notifications_receiver_created
+    ON notifications (receiver_id, created_at DESC, id DESC);
+CREATE INDEX idx_notifications_receiver_unread_created
+    ON notifications (receiver_id, is_read, created_at DESC, id DESC);
+CREATE INDEX idx_notifications_receiver_id
+    ON notifications (receiver_id, id);
+-- 보존 작업이 읽은 지 오래된 행만 찾도록 읽은 행 부분 인덱스
+CREATE INDEX idx_notifications_read_created
+    ON notifications (created_at) WHERE is_read = true;
+
+-- 월 파티션이 미리 만들어지지 않았을 때의 안전망 (보존 작업이 비어 있는지 감시)
+CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+-- 기존 데이터의 가장 오래된 달부터 3개월 뒤까지 월 파티션 생성
+DO $$
+DECLARE
+    month_start DATE;
+    last_month  DATE;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(created_at), now()))::date INTO month_start FROM notifications_legacy;
+    last_month := (date_trunc('month', now()) + INTERVAL '3 months')::date;
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                       'notifications_' || to_char(month_start, 'YYYYMM'),
+                       month_start,
+                       (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO notifications (id, sender_id, receiver_id, message, type, is_read, created_at)
+SELECT id, sender_id, receiver_id, message, type, is_read, created_at
+FROM notifications_legacy;
+
+DROP TABLE notifications_legacy;
+
+-- 보존 기간이 지나 분리된 파티션 보관용
+CREATE SCHEMA IF NOT EXISTS notification_archive;
@@ -0,0 +1,3 @@
+-- 집계 알림: 같은 (receiver_id, type, group_key) 이벤트를 한 행으로 합친 수
+ALTER TABLE notifications ADD COLUMN group_key VARCHAR(255);
+ALTER TABLE notifications ADD COLUMN aggregate_count INTEGER NOT NULL DEFAULT 1;
@@ -0,0 +1,31 @@
+-- 알림 전송 outbox: 알림과 같은 트랜잭션에서 저장, 전송 결과가 없으면 next_attempt_at 이후 재전송
+CREATE TABLE notification_outbox (
+    notification_id BIGINT       NOT NULL,
+    receiver_id     VARCHAR(255) NOT NULL,
+    status          VARCHAR(16)  NOT NULL,
+    attempts        INTEGER      NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT notification_outbox_pkey PRIMARY KEY (notification_id)
+);
+
+-- 재전송 대상 조회는 PENDING 행만 보므로 부분 인덱스
+CREATE INDEX idx_notification_outbox_pending
+    ON notification_outbox (next_attempt_at, notification_id) WHERE status = 'PENDING';
+CREATE INDEX idx_notification_outbox_completed
+    ON notification_outbox (updated_at) WHERE status <> 'PENDING';
+-- 재접속 재전송은 수신자의 DELIVERED 가 아닌 행을 알림 ID 순으로 조회
+CREATE INDEX idx_notification_outbox_receiver
+    ON notification_outbox (receiver_id, notification_id);
+
+-- 발신자별 멱등 키 (notifications 는 파티션 테이블이라 created_at 없이 유일 제약을 걸 수 없어 별도 테이블)
+CREATE TABLE notification_idempotency_keys (
+    sender_id       VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    notification_id BIGINT       NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT notification_idempotency_keys_pkey PRIMARY KEY (sender_id, idempotency_key)
+);
+
+CREATE INDEX idx_notification_idempotency_keys_created
+    ON notification_idempotency_keys (created_at);
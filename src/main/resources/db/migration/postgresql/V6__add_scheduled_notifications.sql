@@ -0,0 +1,22 @@
+-- 예약 알림: deliver_at 이 되면 알림으로 저장/전송하고 행은 삭제, expires_at 까지 발송하지 못하면 버림
+CREATE TABLE scheduled_notifications (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    sender_id       VARCHAR(255) NOT NULL,
+    receiver_id     VARCHAR(255) NOT NULL,
+    message         VARCHAR(255) NOT NULL,
+    type            VARCHAR(255) NOT NULL,
+    group_key       VARCHAR(255),
+    idempotency_key VARCHAR(255),
+    deliver_at      TIMESTAMP(6) NOT NULL,
+    expires_at      TIMESTAMP(6),
+    created_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT scheduled_notifications_pkey PRIMARY KEY (id)
+);
+
+-- 타이밍 휠 선적재와 지연 행 조회 (deliver_at, id 키셋)
+CREATE INDEX idx_scheduled_notifications_deliver_at
+    ON scheduled_notifications (deliver_at, id);
+
+-- 같은 멱등 키로 다시 예약하면 처음 예약을 반환
+CREATE UNIQUE INDEX uk_scheduled_notifications_idempotency
+    ON scheduled_notifications (sender_id, idempotency_key) WHERE idempotency_key IS NOT NULL;
@@ -0,0 +1,134 @@
+package com.kt.damim.notification.cluster;
+
+import com.kt.damim.notification.service.SessionRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ClusterSessionDirectoryTest {
+
+    private final FakeBus bus = new FakeBus();
+    private final SessionRegistry sessionRegistry = new SessionRegistry(event -> {
+    });
+    private ClusterSessionDirectory directory;
+
+    @AfterEach
+    void leave() {
+        if (directory != null) {
+            directory.leave();
+        }
+    }
+
+    @Test
+    void requestsSyncFromUnknownNode() throws InterruptedException {
+        directory = directory(Duration.ofMinutes(1));
+
+        bus.receive(ClusterMessage.of(ClusterMessage.Type.HEARTBEAT, "node_b"));
+
+        Sent sent = bus.poll();
+        assertThat(sent.nodeId()).isEqualTo("node_b");
+        assertThat(sent.message().type()).isEqualTo(ClusterMessage.Type.SYNC);
+        assertThat(sent.message().nodeId()).isEqualTo("node_a");
+
+        // 이미 아는 노드의 하트비트는 lastSeen 만 갱신
+        bus.receive(ClusterMessage.of(ClusterMessage.Type.HEARTBEAT, "node_b"));
+        assertThat(bus.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void answersJoinWithLocalUsersWithoutSync() throws InterruptedException {
+        directory = directory(Duration.ofMinutes(1));
+        sessionRegistry.bind("session-1", "alice");
+
+        bus.receive(ClusterMessage.of(ClusterMessage.Type.JOIN, "node_b"));
+
+        Sent sent = bus.poll();
+        assertThat(sent.nodeId()).isNull();
+        assertThat(sent.message().type()).isEqualTo(ClusterMessage.Type.ONLINE);
+        assertThat(sent.message().userIds()).containsExactly("alice");
+        assertThat(bus.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void resyncsNodeDroppedAfterMissedHeartbeats() throws InterruptedException {
+        directory = directory(Duration.ofMillis(1));
+        bus.receive(ClusterMessage.of(ClusterMessage.Type.JOIN, "node_b"));
+        bus.receive(ClusterMessage.presence(ClusterMessage.Type.ONLINE, "node_b", List.of("bob")));
+        assertThat(directory.findNode("bob")).isEqualTo("node_b");
+
+        Thread.sleep(5);
+        directory.heartbeat();
+
+        assertThat(directory.findNode("bob")).isNull();
+        assertThat(bus.poll().message().type()).isEqualTo(ClusterMessage.Type.HEARTBEAT);
+
+        // 하트비트가 다시 오면 SYNC 를 요청하고, 그 노드가 다시 알린 사용자로 복구
+        bus.receive(ClusterMessage.of(ClusterMessage.Type.HEARTBEAT, "node_b"));
+        Sent sync = bus.poll();
+        assertThat(sync.nodeId()).isEqualTo("node_b");
+        assertThat(sync.message().type()).isEqualTo(ClusterMessage.Type.SYNC);
+
+        bus.receive(ClusterMessage.presence(ClusterMessage.Type.ONLINE, "node_b", List.of("bob")));
+        assertThat(directory.findNode("bob")).isEqualTo("node_b");
+    }
+
+    @SuppressWarnings("unchecked")
+    private ClusterSessionDirectory directory(Duration nodeTimeout) {
+        ObjectProvider<ClusterBus> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(bus);
+        // 주기 작업이 테스트 중에 끼어들지 않도록 간격을 길게 둠
+        return new ClusterSessionDirectory(new ClusterNode("node_a"), sessionRegistry, event -> {
+        }, provider, new SimpleMeterRegistry(), Duration.ofHours(1), nodeTimeout, Duration.ofHours(1));
+    }
+
+    /**
+     * @param nodeId 특정 노드로 보냈으면 그 노드, broadcast 면 null
+     */
+    private record Sent(String nodeId, ClusterMessage message) {
+    }
+
+    private static final class FakeBus implements ClusterBus {
+
+        private final BlockingQueue<Sent> sent = new LinkedBlockingQueue<>();
+        private Consumer<ClusterMessage> listener;
+
+        @Override
+        public boolean broadcast(ClusterMessage message) {
+            sent.add(new Sent(null, message));
+            return true;
+        }
+
+        @Override
+        public boolean send(String nodeId, ClusterMessage message) {
+            sent.add(new Sent(nodeId, message));
+            return true;
+        }
+
+        @Override
+        public void subscribe(Consumer<ClusterMessage> listener, Runnable onConnected) {
+            this.listener = listener;
+        }
+
+        void receive(ClusterMessage message) {
+            listener.accept(message);
+        }
+
+        Sent poll() throws InterruptedException {
+            Sent message = sent.poll(5, TimeUnit.SECONDS);
+            assertThat(message).isNotNull();
+            return message;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.kt.damim.notification.dto;
+
+import com.kt.damim.notification.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotificationCursorTest {
+
+    @Test
+    void roundTripsThroughOpaqueString() {
+        NotificationCursor cursor = new NotificationCursor(LocalDateTime.of(2024, 1, 1, 9, 0, 0, 123_456_000), 42L);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).doesNotContain("=", "+", "/", "|");
+        assertThat(NotificationCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void keepsWholeSecondsAndMaxId() {
+        // LocalDateTime.toString 은 0초/0나노를 생략하므로 그 형태도 다시 읽혀야 함
+        NotificationCursor cursor = new NotificationCursor(LocalDateTime.of(2024, 1, 1, 9, 0), Long.MAX_VALUE);
+
+        assertThat(NotificationCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void buildsFromNotification() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 9, 0);
+        NotificationResponse notification = NotificationResponse.builder().id(7L).createdAt(createdAt).build();
+
+        assertThat(NotificationCursor.of(notification)).isEqualTo(new NotificationCursor(createdAt, 7L));
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> NotificationCursor.decode("not base64!"))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> NotificationCursor.decode(encode("2024-01-01T09:00")))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> NotificationCursor.decode(encode("yesterday|1")))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> NotificationCursor.decode(encode("2024-01-01T09:00|abc")))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
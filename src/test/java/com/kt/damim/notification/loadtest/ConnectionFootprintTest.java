@@ -0,0 +1,147 @@
+package com.kt.damim.notification.loadtest;
+
+import com.kt.damim.notification.service.SessionRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유휴 연결당 힙 사용량 비교 (STOMP 구독 vs SSE 스트림)
+ * <p>
+ * 같은 JVM 의 내장 서버(H2)에 N 개의 유휴 연결을 맺고 GC 후 힙 증가량을 연결 수로 나눈다.
+ * 클라이언트는 두 경로 모두 응답을 읽지 않는 원시 소켓이라 클라이언트 측 객체 비용은 같다.
+ * 기본 test 태스크에서는 제외되며 {@code gradlew connectionFootprint -Ploadtest.connections=10000} 로 실행한다.
+ */
+@Tag("footprint")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("h2")
+class ConnectionFootprintTest {
+
+    private static final String WEBSOCKET_KEY = "dGhlIHNhbXBsZSBub25jZQ==";
+    private static final byte[] MASK = {0x11, 0x22, 0x33, 0x44};
+
+    private final int connections = Integer.getInteger("loadtest.connections", 2000);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SessionRegistry sessionRegistry;
+
+    @Test
+    void heapPerIdleConnection() throws Exception {
+        long stompBytes = measure("stomp", this::openStomp);
+        long sseBytes = measure("sse", this::openSse);
+
+        System.out.println("===== 연결당 힙 사용량 =====");
+        System.out.printf("connections=%d, java=%s%n", connections, Runtime.version().feature());
+        System.out.printf("STOMP: %d bytes/connection%n", stompBytes);
+        System.out.printf("SSE:   %d bytes/connection%n", sseBytes);
+        System.out.println("===========================");
+    }
+
+    private long measure(String prefix, Connector connector) throws Exception {
+        long before = usedHeapAfterGc();
+        List<Socket> sockets = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            sockets.add(connector.open(prefix + "-user-" + i));
+        }
+        awaitOnlineUsers(connections);
+        long after = usedHeapAfterGc();
+
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+        awaitOnlineUsers(0);
+        return (after - before) / connections;
+    }
+
+    private Socket openStomp(String userId) throws IOException {
+        Socket socket = new Socket("localhost", port);
+        OutputStream out = socket.getOutputStream();
+        out.write(("GET /ws HTTP/1.1\r\nHost: localhost:" + port + "\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                + "Sec-WebSocket-Key: " + WEBSOCKET_KEY + "\r\nSec-WebSocket-Version: 13\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        readResponseHeaders(socket.getInputStream());
+        writeTextFrame(out, "CONNECT\naccept-version:1.2\nhost:localhost\n\n\0");
+        writeTextFrame(out, "SUBSCRIBE\nid:0\ndestination:/topic/notifications/" + userId + "\n\n\0");
+        return socket;
+    }
+
+    private Socket openSse(String userId) throws IOException {
+        Socket socket = new Socket("localhost", port);
+        OutputStream out = socket.getOutputStream();
+        out.write(("GET /api/notifications/user/" + userId + "/stream HTTP/1.1\r\nHost: localhost:" + port
+                + "\r\nAccept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        readResponseHeaders(socket.getInputStream());
+        return socket;
+    }
+
+    private void awaitOnlineUsers(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (sessionRegistry.getOnlineUserCount() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    // 상태 줄과 헤더까지만 읽고 본문(STOMP CONNECTED, SSE 이벤트)은 소켓 버퍼에 둠
+    private static void readResponseHeaders(InputStream in) throws IOException {
+        int matched = 0;
+        while (matched < 4) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("응답 헤더 전에 연결 종료");
+            }
+            matched = (b == '\r' && matched % 2 == 0) || (b == '\n' && matched % 2 == 1) ? matched + 1 : 0;
+        }
+    }
+
+    // 클라이언트 프레임은 마스킹 필수 (RFC 6455)
+    private static void writeTextFrame(OutputStream out, String text) throws IOException {
+        byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream frame = new ByteArrayOutputStream(payload.length + 8);
+        frame.write(0x81);
+        if (payload.length < 126) {
+            frame.write(0x80 | payload.length);
+        } else {
+            frame.write(0x80 | 126);
+            frame.write(payload.length >>> 8);
+            frame.write(payload.length & 0xFF);
+        }
+        frame.write(MASK);
+        for (int i = 0; i < payload.length; i++) {
+            frame.write(payload[i] ^ MASK[i % MASK.length]);
+        }
+        out.write(frame.toByteArray());
+        out.flush();
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Socket open(String userId) throws IOException;
+    }
+}
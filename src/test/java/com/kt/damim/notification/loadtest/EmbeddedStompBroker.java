@@ -0,0 +1,32 @@
+package com.kt.damim.notification.loadtest;
+
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * RELAY 모드 부하 테스트용 내장 Artemis STOMP 브로커
+ * <p>
+ * {@code gradlew loadTestRelay} 로 실행하면 활성화된다.
+ * /topic/ 접두어를 멀티캐스트 주소로 매핑해 구독자 모두에게 전달한다.
+ */
+@TestConfiguration
+@ConditionalOnProperty(name = "loadtest.embedded-broker", havingValue = "true")
+class EmbeddedStompBroker {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    EmbeddedActiveMQ embeddedActiveMQ(@Value("${notification.broker.relay.port:61613}") int port) throws Exception {
+        ConfigurationImpl configuration = new ConfigurationImpl();
+        configuration.setPersistenceEnabled(false);
+        configuration.setSecurityEnabled(false);
+        configuration.addAcceptorConfiguration("stomp",
+                "tcp://127.0.0.1:" + port + "?protocols=STOMP;multicastPrefix=/topic/");
+
+        EmbeddedActiveMQ broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(configuration);
+        return broker;
+    }
+}
@@ -0,0 +1,132 @@
+package com.kt.damim.notification.loadtest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기동 시간 비교: 프로세스 시작부터 첫 /ws WebSocket 핸드셰이크(101) 성공까지
+ * <p>
+ * 일반 bootJar 와 압축 해제 + AppCDS(+AOT) + fast 프로필 실행을 각각 startup.runs 번 별도 프로세스로 띄워 비교한다.
+ * 기본 인자는 h2 프로필이라 인메모리 DB 스키마를 만들어야 하므로 Flyway 는 두 경우 모두 켜 두고,
+ * 스키마 조회 생략 효과까지 보려면 startup.args 로 마이그레이션된 PostgreSQL 을 지정한다.
+ * {@code gradlew startupBenchmark -Paot -Pstartup.runs=5} 로 실행한다.
+ */
+@Tag("startup")
+class StartupBenchmarkTest {
+
+    private final String java = System.getProperty("startup.java", "java");
+    private final String jar = System.getProperty("startup.jar");
+    private final String cdsDir = System.getProperty("startup.cds-dir");
+    private final boolean aot = Boolean.getBoolean("startup.aot");
+    private final int runs = Integer.getInteger("startup.runs", 3);
+    private final String appArgs = System.getProperty("startup.args",
+            "--spring.profiles.active=h2,fast --spring.flyway.enabled=true");
+
+    @Test
+    void timeToFirstWebSocketConnection() throws Exception {
+        File jarFile = new File(jar);
+        File cdsWorkingDir = new File(cdsDir);
+        List<String> fastJvmArgs = new ArrayList<>(List.of("-XX:SharedArchiveFile=application.jsa", "-Xshare:auto"));
+        if (aot) {
+            fastJvmArgs.add("-Dspring.aot.enabled=true");
+        }
+
+        long[] baseline = new long[runs];
+        long[] fast = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            baseline[i] = measure(jarFile.getParentFile(), List.of(), jarFile.getName(), "--spring.profiles.active=h2");
+            fast[i] = measure(cdsWorkingDir, fastJvmArgs, jarFile.getName(), appArgs);
+        }
+
+        System.out.println("===== 기동 시간 (첫 /ws 연결까지) =====");
+        System.out.printf("runs=%d, java=%s, aot=%s, args=%s%n", runs, Runtime.version().feature(), aot, appArgs);
+        System.out.printf("bootJar:       median=%dms min=%dms%n", median(baseline), Arrays.stream(baseline).min().orElse(0));
+        System.out.printf("CDS%s + fast: median=%dms min=%dms%n", aot ? "+AOT" : "", median(fast), Arrays.stream(fast).min().orElse(0));
+        System.out.println("=====================================");
+    }
+
+    /**
+     * @return 첫 핸드셰이크 성공까지 걸린 시간(ms)
+     */
+    private long measure(File workingDir, List<String> jvmArgs, String jarName, String args) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jarName);
+        command.add("--server.port=" + port);
+        command.addAll(Arrays.asList(args.split("\\s+")));
+
+        long startNanos = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(workingDir)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long deadline = startNanos + TimeUnit.SECONDS.toNanos(120);
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("애플리케이션이 기동 중 종료됨: exitCode=" + process.exitValue());
+                }
+                if (handshake(port)) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("120초 안에 /ws 연결 실패");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static boolean handshake(int port) {
+        try (Socket socket = new Socket("localhost", port)) {
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET /ws HTTP/1.1\r\nHost: localhost:" + port + "\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                    + "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\nSec-WebSocket-Version: 13\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            return statusLine(socket.getInputStream()).startsWith("HTTP/1.1 101");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static String statusLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) >= 0 && b != '\n') {
+            line.append((char) b);
+        }
+        return line.toString();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,226 @@
+package com.kt.damim.notification.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kt.damim.notification.service.SessionRegistry;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * STOMP 종단 간 부하 테스트
+ * <p>
+ * N 개의 STOMP 클라이언트가 /topic/notifications/{id} 를 구독한 상태에서
+ * /api/notifications/send 를 목표 속도로 호출하고, 발송부터 수신까지의 지연을 HDR 히스토그램으로 기록한다.
+ * 기본 test 태스크에서는 제외되며 {@code gradlew loadTest -Ploadtest.clients=1000 -Ploadtest.rate=500} 로 실행한다.
+ * {@code gradlew loadTestRelay} 는 내장 Artemis 브로커를 통한 RELAY 모드로 실행한다.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("h2")
+@Import(EmbeddedStompBroker.class)
+class StompLoadTest {
+
+    private static final String MESSAGE_PREFIX = "lt|";
+
+    private final int clients = Integer.getInteger("loadtest.clients", 200);
+    private final int ratePerSecond = Integer.getInteger("loadtest.rate", 200);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration", 30);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // 발송-수신 지연 (마이크로초, 최대 60초)
+    private final Histogram latencyHistogram = new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(60), 3);
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong transportErrors = new AtomicLong();
+    private final AtomicLong httpErrors = new AtomicLong();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SessionRegistry sessionRegistry;
+
+    @Autowired
+    private WebSocketMessageBrokerStats brokerStats;
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    void publishToReceiveLatency() throws Exception {
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new ByteArrayMessageConverter());
+
+        List<StompSession> sessions = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            String userId = userId(i);
+            StompSession session = stompClient
+                    .connectAsync("ws://localhost:" + port + "/ws", new ReceivingHandler(userId))
+                    .get(10, TimeUnit.SECONDS);
+            sessions.add(session);
+        }
+        awaitSubscriptions();
+
+        long sent = drive();
+        awaitDrain(sent);
+        report(sent);
+
+        sessions.forEach(session -> {
+            if (session.isConnected()) {
+                session.disconnect();
+            }
+        });
+        stompClient.stop();
+    }
+
+    private long drive() {
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        URI sendUri = URI.create("http://localhost:" + port + "/api/notifications/send");
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long total = (long) ratePerSecond * durationSeconds;
+        long nextSendNanos = System.nanoTime();
+
+        for (long i = 0; i < total; i++) {
+            long waitNanos = nextSendNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            String body = "{\"senderId\":\"loadtest\",\"receiverId\":\"" + userId((int) (i % clients)) + "\","
+                    + "\"message\":\"" + MESSAGE_PREFIX + System.nanoTime() + "\",\"type\":\"LOADTEST\"}";
+            HttpRequest request = HttpRequest.newBuilder(sendUri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (error != null || response.statusCode() != 200) {
+                            httpErrors.incrementAndGet();
+                        }
+                    });
+            nextSendNanos += intervalNanos;
+        }
+        return total;
+    }
+
+    private void awaitSubscriptions() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (sessionRegistry.getOnlineUserCount() < clients && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+    }
+
+    private void awaitDrain(long sent) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (received.get() + httpErrors.get() < sent && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+    }
+
+    private void report(long sent) {
+        System.out.println("===== STOMP 부하 테스트 결과 =====");
+        System.out.printf("clients=%d, rate=%d/s, duration=%ds, java=%s, threads=%s, broker=%s%n", clients, ratePerSecond, durationSeconds,
+                Runtime.version().feature(), Threading.VIRTUAL.isActive(environment) ? "virtual" : "platform",
+                environment.getProperty("notification.broker.mode", "SIMPLE"));
+        System.out.printf("sent=%d, received=%d, dropped=%d, httpErrors=%d, transportErrors=%d%n",
+                sent, received.get(), sent - received.get() - httpErrors.get(), httpErrors.get(), transportErrors.get());
+        System.out.printf("latency(ms) p50=%.2f p99=%.2f p999=%.2f max=%.2f%n",
+                latencyHistogram.getValueAtPercentile(50) / 1000.0,
+                latencyHistogram.getValueAtPercentile(99) / 1000.0,
+                latencyHistogram.getValueAtPercentile(99.9) / 1000.0,
+                latencyHistogram.getMaxValue() / 1000.0);
+        // 송신 버퍼/시간 제한 초과로 종료된 세션 수는 서버 통계의 "abnormally closed" 항목에 포함
+        System.out.println("server sessions: " + brokerStats.getWebSocketSessionStats());
+        System.out.println("outbound channel: " + brokerStats.getClientOutboundExecutorStatsInfo());
+        System.out.println("broker relay: " + brokerStats.getStompBrokerRelayStats());
+        System.out.println("==================================");
+    }
+
+    private void recordFrame(byte[] payload) {
+        long receivedNanos = System.nanoTime();
+        try {
+            JsonNode root = objectMapper.readTree(payload);
+            if (root.isArray()) {
+                root.forEach(node -> recordNotification(node, receivedNanos));
+            } else {
+                recordNotification(root, receivedNanos);
+            }
+        } catch (Exception e) {
+            transportErrors.incrementAndGet();
+        }
+    }
+
+    private void recordNotification(JsonNode notification, long receivedNanos) {
+        String message = notification.path("message").asText("");
+        if (message.startsWith(MESSAGE_PREFIX)) {
+            long sentNanos = Long.parseLong(message.substring(MESSAGE_PREFIX.length()));
+            latencyHistogram.recordValue(TimeUnit.NANOSECONDS.toMicros(receivedNanos - sentNanos));
+            received.incrementAndGet();
+        }
+    }
+
+    private static String userId(int index) {
+        return "lt-user-" + index;
+    }
+
+    private class ReceivingHandler extends StompSessionHandlerAdapter {
+
+        private final String userId;
+
+        ReceivingHandler(String userId) {
+            this.userId = userId;
+        }
+
+        @Override
+        public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+            session.subscribe("/topic/notifications/" + userId, this);
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return byte[].class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            recordFrame((byte[]) payload);
+        }
+
+        @Override
+        public void handleException(StompSession session, StompCommand command, StompHeaders headers, byte[] payload, Throwable exception) {
+            transportErrors.incrementAndGet();
+        }
+
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            transportErrors.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.kt.damim.notification.retention;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * H2(PostgreSQL 호환 모드)에서 보존 작업의 배치 삭제 경로 확인 (파티션 DDL 은 PostgreSQL 에서만 실행)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:retention;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "notification.retention.hot-months=2",
+        "notification.retention.read-ttl=30d",
+        "notification.retention.purge-batch-size=2",
+        "notification.outbox.retention=1d",
+        "notification.idempotency.ttl=24h"
+})
+@ActiveProfiles("h2")
+class NotificationRetentionJobTest {
+
+    @Autowired
+    private NotificationRetentionJob retentionJob;
+
+    @Autowired
+    private RetentionWindow retentionWindow;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long nextId = 1;
+
+    @BeforeEach
+    void clearTables() {
+        jdbcTemplate.update("DELETE FROM notification_outbox");
+        jdbcTemplate.update("DELETE FROM notification_idempotency_keys");
+        jdbcTemplate.update("DELETE FROM notifications");
+        jdbcTemplate.update("DELETE FROM broadcast_reads");
+        jdbcTemplate.update("DELETE FROM broadcast_notifications");
+    }
+
+    @Test
+    void purgesReadNotificationsPastTtlInBatches() {
+        LocalDateTime old = LocalDateTime.now().minusDays(40);
+        // 배치 크기(2)로 나누어 떨어지지 않는 5건
+        for (int i = 0; i < 5; i++) {
+            insertNotification(true, old);
+        }
+        long unreadOld = insertNotification(false, old);
+        long readRecent = insertNotification(true, LocalDateTime.now().minusDays(1));
+
+        int deleted = retentionJob.purgeReadNotifications();
+
+        assertThat(deleted).isEqualTo(5);
+        assertThat(notificationIds()).containsExactlyInAnyOrder(unreadOld, readRecent);
+    }
+
+    @Test
+    void boundsRetentionWindowToHotMonths() {
+        assertThat(retentionWindow.oldestHotMonth()).isEqualTo(YearMonth.now().minusMonths(1));
+        assertThat(retentionWindow.since()).isEqualTo(YearMonth.now().minusMonths(1).atDay(1).atStartOfDay());
+        assertThatThrownBy(() -> new RetentionWindow(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void purgesDeliveryRecordsByOutcomeAndRetentionWindow() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime outsideWindow = retentionWindow.since().minusDays(1);
+        insertOutbox(1, "DELIVERED", now.minusDays(2));
+        insertOutbox(2, "DELIVERED", now.minusDays(3));
+        insertOutbox(3, "DELIVERED", now.minusHours(1));
+        // 재접속 재전송 대상은 보존 기간 안이면 남김
+        insertOutbox(4, "OFFLINE", outsideWindow);
+        insertOutbox(5, "FAILED", outsideWindow);
+        insertOutbox(6, "OFFLINE", now.minusDays(1));
+        insertOutbox(7, "PENDING", outsideWindow);
+        insertIdempotencyKey("expired", now.minusDays(2));
+        insertIdempotencyKey("fresh", now.minusHours(1));
+
+        retentionJob.purgeDeliveryRecords();
+
+        assertThat(jdbcTemplate.queryForList("SELECT notification_id FROM notification_outbox", Long.class))
+                .containsExactlyInAnyOrder(3L, 6L, 7L);
+        assertThat(jdbcTemplate.queryForList("SELECT idempotency_key FROM notification_idempotency_keys", String.class))
+                .containsExactly("fresh");
+    }
+
+    @Test
+    void purgesBroadcastsAndReadsOutsideRetentionWindow() {
+        LocalDateTime outsideWindow = retentionWindow.since().minusDays(1);
+        for (long id = 1; id <= 3; id++) {
+            insertBroadcast(id, outsideWindow);
+            insertBroadcastRead(id, "alice");
+            insertBroadcastRead(id, "bob");
+        }
+        insertBroadcast(4, LocalDateTime.now());
+        insertBroadcastRead(4, "alice");
+
+        retentionJob.purgeBroadcasts();
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM broadcast_notifications", Long.class)).containsExactly(4L);
+        assertThat(jdbcTemplate.queryForList("SELECT broadcast_id FROM broadcast_reads", Long.class)).containsExactly(4L);
+    }
+
+    @Test
+    void runsWithoutPartitionMaintenanceOnH2() {
+        insertNotification(true, LocalDateTime.now().minusDays(40));
+        insertOutbox(1, "DELIVERED", LocalDateTime.now().minusDays(2));
+
+        retentionJob.prepareUpcomingPartitions();
+        retentionJob.run();
+
+        assertThat(notificationIds()).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notification_outbox", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_name LIKE 'notifications\\_%'", Integer.class))
+                .isZero();
+    }
+
+    private long insertNotification(boolean read, LocalDateTime createdAt) {
+        long id = nextId++;
+        jdbcTemplate.update("INSERT INTO notifications (id, sender_id, receiver_id, message, type, is_read, created_at) " +
+                        "VALUES (?, 'sender', 'receiver', 'message', 'chat', ?, ?)",
+                id, read, Timestamp.valueOf(createdAt));
+        return id;
+    }
+
+    private void insertOutbox(long notificationId, String status, LocalDateTime updatedAt) {
+        jdbcTemplate.update("INSERT INTO notification_outbox (notification_id, receiver_id, status, attempts, next_attempt_at, updated_at) " +
+                        "VALUES (?, 'receiver', ?, 0, ?, ?)",
+                notificationId, status, Timestamp.valueOf(updatedAt.plusYears(1)), Timestamp.valueOf(updatedAt));
+    }
+
+    private void insertIdempotencyKey(String key, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO notification_idempotency_keys (sender_id, idempotency_key, notification_id, created_at) " +
+                "VALUES ('sender', ?, 1, ?)", key, Timestamp.valueOf(createdAt));
+    }
+
+    private void insertBroadcast(long id, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO broadcast_notifications (id, segment_id, sender_id, message, type, created_at) " +
+                "VALUES (?, 'segment', 'sender', 'message', 'notice', ?)", id, Timestamp.valueOf(createdAt));
+    }
+
+    private void insertBroadcastRead(long broadcastId, String userId) {
+        jdbcTemplate.update("INSERT INTO broadcast_reads (broadcast_id, user_id, read_at) VALUES (?, ?, ?)",
+                broadcastId, userId, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private List<Long> notificationIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM notifications", Long.class);
+    }
+}
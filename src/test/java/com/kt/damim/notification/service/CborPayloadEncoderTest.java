@@ -0,0 +1,115 @@
+package com.kt.damim.notification.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.kt.damim.notification.dto.BroadcastNotificationResponse;
+import com.kt.damim.notification.dto.NotificationResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CborPayloadEncoderTest {
+
+    private static final String TOPIC = "/topic/notifications/alice";
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 9, 0, 0, 500_000_000);
+    private static final long CREATED_AT_MILLIS = CREATED_AT.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final CborPayloadEncoder encoder = new CborPayloadEncoder(jsonMapper, Jackson2ObjectMapperBuilder.json());
+    private final ObjectMapper cborReader = new ObjectMapper(new CBORFactory());
+
+    @Test
+    void transcodesNotificationToCborMapWithEpochMillis() throws IOException {
+        JsonNode decoded = cborReader.readTree(encoder.transcode(json(notification(1)), TOPIC, PayloadEncoding.CBOR));
+
+        assertThat(decoded.isObject()).isTrue();
+        assertThat(decoded.get("id").asLong()).isEqualTo(1L);
+        assertThat(decoded.get("read").asBoolean()).isFalse();
+        assertThat(decoded.get("createdAt").isNumber()).isTrue();
+        assertThat(decoded.get("createdAt").asLong()).isEqualTo(CREATED_AT_MILLIS);
+    }
+
+    @Test
+    void transcodesNotificationListToPositionalArrays() throws IOException {
+        byte[] json = json(List.of(notification(1), notification(2)));
+
+        JsonNode decoded = cborReader.readTree(encoder.transcode(json, TOPIC, PayloadEncoding.COMPACT_CBOR));
+
+        assertThat(decoded).hasSize(2);
+        JsonNode first = decoded.get(0);
+        // [id, senderId, receiverId, message, type, read, createdAt, groupKey, aggregateCount]
+        assertThat(first).hasSize(9);
+        assertThat(first.get(0).asLong()).isEqualTo(1L);
+        assertThat(first.get(2).asText()).isEqualTo("alice");
+        assertThat(first.get(6).asLong()).isEqualTo(CREATED_AT_MILLIS);
+        assertThat(first.get(7).isNull()).isTrue();
+        assertThat(first.get(8).asInt()).isEqualTo(1);
+        assertThat(decoded.get(1).get(0).asLong()).isEqualTo(2L);
+    }
+
+    @Test
+    void transcodesBroadcastInItsOwnFieldOrder() throws IOException {
+        BroadcastNotificationResponse broadcast = BroadcastNotificationResponse.builder()
+                .id(3L).segmentId("vip").senderId("admin").message("공지").type("notice").createdAt(CREATED_AT).build();
+
+        JsonNode decoded = cborReader.readTree(
+                encoder.transcode(json(broadcast), TOPIC + "/broadcasts", PayloadEncoding.COMPACT_CBOR));
+
+        assertThat(decoded).hasSize(7);
+        assertThat(decoded.get(1).asText()).isEqualTo("vip");
+        assertThat(decoded.get(6).asLong()).isEqualTo(CREATED_AT_MILLIS);
+    }
+
+    @Test
+    void copiesOtherPayloadsStructurally() throws IOException {
+        byte[] json = "{\"count\":3}".getBytes(StandardCharsets.UTF_8);
+
+        JsonNode decoded = cborReader.readTree(encoder.transcode(json, TOPIC + "/unread-count", PayloadEncoding.COMPACT_CBOR));
+
+        assertThat(decoded.isObject()).isTrue();
+        assertThat(decoded.get("count").asInt()).isEqualTo(3);
+    }
+
+    @Test
+    void leavesUntypedObjectsOnNotificationTopicAsMaps() throws IOException {
+        byte[] json = "[]".getBytes(StandardCharsets.UTF_8);
+        byte[] status = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(cborReader.readTree(encoder.transcode(json, TOPIC, PayloadEncoding.COMPACT_CBOR)).isEmpty()).isTrue();
+        assertThat(cborReader.readTree(encoder.transcode(status, TOPIC, PayloadEncoding.COMPACT_CBOR)).isObject()).isTrue();
+    }
+
+    @Test
+    void rejectsMalformedJson() {
+        byte[] json = "{".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> encoder.transcode(json, TOPIC, PayloadEncoding.CBOR))
+                .isInstanceOf(UncheckedIOException.class);
+    }
+
+    private byte[] json(Object payload) throws IOException {
+        return jsonMapper.writeValueAsBytes(payload);
+    }
+
+    private static NotificationResponse notification(long id) {
+        return NotificationResponse.builder()
+                .id(id)
+                .senderId("sender")
+                .receiverId("alice")
+                .message("message-" + id)
+                .type("chat")
+                .createdAt(CREATED_AT)
+                .aggregateCount(1)
+                .build();
+    }
+}
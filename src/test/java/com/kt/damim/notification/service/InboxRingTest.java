@@ -0,0 +1,169 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.dto.NotificationCursor;
+import com.kt.damim.notification.dto.NotificationResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InboxRingTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final LocalDateTime SINCE = BASE.minusYears(1);
+
+    @Test
+    void keepsNewestFirstWhenAddedOutOfOrder() {
+        InboxRing ring = new InboxRing(5, List.of(), false, 0);
+
+        ring.add(notification(2, 20, false));
+        ring.add(notification(1, 10, false));
+        ring.add(notification(3, 30, false));
+        // 같은 시각이면 ID 내림차순
+        ring.add(notification(4, 20, false));
+
+        assertThat(ids(ring.firstPage(10, false, SINCE))).containsExactly(3L, 4L, 2L, 1L);
+    }
+
+    @Test
+    void ignoresNotificationAlreadyLoaded() {
+        InboxRing ring = new InboxRing(5, List.of(notification(1, 10, false)), false, 0);
+
+        ring.add(notification(1, 10, false));
+
+        assertThat(ids(ring.firstPage(10, false, SINCE))).containsExactly(1L);
+    }
+
+    @Test
+    void pushesOldestOutWhenFull() {
+        InboxRing ring = new InboxRing(2, List.of(notification(2, 20, false), notification(1, 10, true)), false, 0);
+
+        ring.add(notification(3, 30, false));
+
+        assertThat(ids(ring.firstPage(1, false, SINCE))).containsExactly(3L, 2L);
+        // 밀려난 알림이 있어 링만으로는 전체 목록을 답할 수 없음
+        assertThat(ring.firstPage(5, false, SINCE)).isNull();
+        // 밀려난 알림은 읽은 알림이므로 읽지 않은 목록은 링으로 답함
+        assertThat(ids(ring.firstPage(5, true, SINCE))).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void countsUnreadPushedOutOfRing() {
+        InboxRing ring = new InboxRing(2, List.of(notification(2, 20, false), notification(1, 10, false)), false, 0);
+
+        ring.add(notification(3, 30, false));
+
+        assertThat(ring.firstPage(5, true, SINCE)).isNull();
+
+        ring.markAllRead();
+
+        assertThat(ids(ring.firstPage(5, true, SINCE))).isEmpty();
+    }
+
+    @Test
+    void treatsLateOlderNotificationAsOutsideFullRing() {
+        InboxRing ring = new InboxRing(2, List.of(notification(3, 30, false), notification(2, 20, true)), false, 0);
+
+        ring.add(notification(1, 10, false));
+
+        assertThat(ids(ring.firstPage(1, false, SINCE))).containsExactly(3L, 2L);
+        assertThat(ring.firstPage(5, false, SINCE)).isNull();
+        assertThat(ring.firstPage(5, true, SINCE)).isNull();
+    }
+
+    @Test
+    void answersFromLoadedOlderUnreadCount() {
+        InboxRing ring = new InboxRing(2, List.of(notification(3, 30, true), notification(2, 20, true)), true, 0);
+
+        assertThat(ring.firstPage(5, false, SINCE)).isNull();
+        assertThat(ids(ring.firstPage(5, true, SINCE))).isEmpty();
+    }
+
+    @Test
+    void flipsReadInPlaceWithoutTouchingHandedOutPages() {
+        InboxRing ring = new InboxRing(5, List.of(notification(2, 20, false), notification(1, 10, false)), false, 0);
+        List<NotificationResponse> before = ring.firstPage(5, false, SINCE);
+
+        assertThat(ring.markRead(List.of(1L), 1)).isTrue();
+
+        assertThat(ids(ring.firstPage(5, true, SINCE))).containsExactly(2L);
+        assertThat(ring.firstPage(5, false, SINCE)).extracting(NotificationResponse::isRead).containsExactly(false, true);
+        assertThat(before).extracting(NotificationResponse::isRead).containsExactly(false, false);
+    }
+
+    @Test
+    void reportsReadOutsideRing() {
+        InboxRing ring = new InboxRing(1, List.of(notification(2, 20, false)), true, 1);
+
+        // DB 에서는 링 밖 알림까지 두 건이 읽음으로 바뀜
+        assertThat(ring.markRead(List.of(2L, 1L), 2)).isFalse();
+    }
+
+    @Test
+    void marksReadUpToCursor() {
+        InboxRing ring = new InboxRing(5,
+                List.of(notification(3, 30, false), notification(2, 20, false), notification(1, 10, false)), true, 4);
+
+        // 커서가 링보다 오래되어 바뀐 행이 모두 링 밖
+        assertThat(ring.markReadUpTo(new NotificationCursor(BASE.plusSeconds(5), 0L), 2)).isFalse();
+        assertThat(ids(ring.firstPage(2, false, SINCE))).containsExactly(3L, 2L, 1L);
+
+        // 링의 가장 오래된 알림까지 덮으면 링 밖도 모두 읽음
+        assertThat(ring.markReadUpTo(new NotificationCursor(BASE.plusSeconds(20), 2L), 4)).isTrue();
+        assertThat(ids(ring.firstPage(5, true, SINCE))).containsExactly(3L);
+    }
+
+    @Test
+    void replacesAggregatedNotificationInPlace() {
+        InboxRing ring = new InboxRing(5, List.of(notification(2, 20, false), notification(1, 10, false)), false, 0);
+        NotificationResponse aggregated = NotificationResponse.builder()
+                .id(1L).receiverId("receiver").message("3건").createdAt(BASE.plusSeconds(10)).aggregateCount(3).build();
+
+        assertThat(ring.replace(aggregated)).isTrue();
+        assertThat(ring.replace(notification(9, 90, false))).isFalse();
+
+        List<NotificationResponse> page = ring.firstPage(5, false, SINCE);
+        assertThat(ids(page)).containsExactly(2L, 1L);
+        assertThat(page.get(1).getAggregateCount()).isEqualTo(3);
+    }
+
+    @Test
+    void dropsNotificationsOutsideRetentionWindow() {
+        InboxRing ring = new InboxRing(5, List.of(notification(2, 20, false), notification(1, 10, false)), true, 3);
+
+        List<NotificationResponse> page = ring.firstPage(5, true, BASE.plusSeconds(15));
+
+        assertThat(ids(page)).containsExactly(2L);
+        assertThat(ids(ring.firstPage(5, false, BASE.plusSeconds(15)))).containsExactly(2L);
+    }
+
+    @Test
+    void tracksWeightOfHeldNotifications() {
+        InboxRing ring = new InboxRing(5, List.of(), false, 0);
+        int empty = ring.bytes();
+
+        ring.add(notification(1, 10, false));
+
+        assertThat(ring.bytes()).isGreaterThan(empty);
+    }
+
+    private static NotificationResponse notification(long id, int secondsAfterBase, boolean read) {
+        return NotificationResponse.builder()
+                .id(id)
+                .senderId("sender")
+                .receiverId("receiver")
+                .message("message-" + id)
+                .type("chat")
+                .isRead(read)
+                .createdAt(BASE.plusSeconds(secondsAfterBase))
+                .aggregateCount(1)
+                .build();
+    }
+
+    private static List<Long> ids(List<NotificationResponse> page) {
+        assertThat(page).isNotNull();
+        return page.stream().map(NotificationResponse::getId).toList();
+    }
+}
@@ -0,0 +1,214 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.dto.NotificationRequest;
+import com.kt.damim.notification.dto.NotificationResponse;
+import com.kt.damim.notification.event.NotificationCreatedEvent;
+import com.kt.damim.notification.event.NotificationsAggregatedEvent;
+import com.kt.damim.notification.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationAggregatorTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final List<Object> events = new ArrayList<>();
+
+    @Test
+    void mergesIntoOpenWindowOnly() {
+        NotificationAggregator aggregator = aggregator(Duration.ofMinutes(1));
+
+        // 첫 알림이 커밋되기 전에는 창이 없어 새 행으로 저장
+        assertThat(aggregator.merge(request("bob", "post-1"), id -> true)).isNull();
+
+        aggregator.onNotificationCreated(new NotificationCreatedEvent(origin(1L, "post-1")));
+        NotificationResponse merged = aggregator.merge(request("bob", "post-1"), id -> true);
+
+        assertThat(merged.getId()).isEqualTo(1L);
+        assertThat(merged.getAggregateCount()).isEqualTo(2);
+        assertThat(merged.getSenderId()).isEqualTo("bob");
+        assertThat(merged.getCreatedAt()).isEqualTo(CREATED_AT);
+        assertThat(aggregator.merge(request("bob", "post-2"), id -> true)).isNull();
+    }
+
+    @Test
+    void leavesCountWhenAdmitRejects() {
+        NotificationAggregator aggregator = aggregator(Duration.ofMinutes(1));
+        aggregator.onNotificationCreated(new NotificationCreatedEvent(origin(1L, "post-1")));
+        List<Long> admitted = new ArrayList<>();
+
+        NotificationResponse rejected = aggregator.merge(request("bob", "post-1"), id -> {
+            admitted.add(id);
+            return false;
+        });
+
+        assertThat(rejected).isNull();
+
+        assertThat(admitted).containsExactly(1L);
+        assertThat(aggregator.merge(request("carol", "post-1"), id -> true).getAggregateCount()).isEqualTo(2);
+    }
+
+    @Test
+    void flushesMergedStateOnceAndPublishesAppliedUpdates() {
+        NotificationAggregator aggregator = aggregator(Duration.ofMinutes(1));
+        when(notificationRepository.updateAggregate(anyLong(), any(), anyInt(), anyString(), anyString())).thenReturn(1);
+        aggregator.onNotificationCreated(new NotificationCreatedEvent(origin(1L, "post-1")));
+        aggregator.merge(request("bob", "post-1"), id -> true);
+        aggregator.merge(request("carol", "post-1"), id -> true);
+
+        aggregator.flush();
+
+        verify(notificationRepository).updateAggregate(1L, CREATED_AT, 3, "carol", "carol 님이 좋아합니다");
+        assertThat(events).singleElement()
+                .isInstanceOfSatisfying(NotificationsAggregatedEvent.class, event ->
+                        assertThat(event.notifications()).extracting(NotificationResponse::getAggregateCount).containsExactly(3));
+
+        // 새로 합친 것이 없으면 다시 갱신하지 않음
+        aggregator.flush();
+
+        verify(notificationRepository).updateAggregate(anyLong(), any(), anyInt(), anyString(), anyString());
+        assertThat(events).hasSize(1);
+    }
+
+    @Test
+    void dropsUpdateForDeletedRow() {
+        NotificationAggregator aggregator = aggregator(Duration.ofMinutes(1));
+        when(notificationRepository.updateAggregate(anyLong(), any(), anyInt(), anyString(), anyString())).thenReturn(0);
+        aggregator.onNotificationCreated(new NotificationCreatedEvent(origin(1L, "post-1")));
+        aggregator.merge(request("bob", "post-1"), id -> true);
+
+        aggregator.flush();
+
+        assertThat(events).singleElement()
+                .isInstanceOfSatisfying(NotificationsAggregatedEvent.class, event -> assertThat(event.notifications()).isEmpty());
+    }
+
+    @Test
+    void closesWindowAfterExpiry() throws InterruptedException {
+        NotificationAggregator aggregator = aggregator(Duration.ofMillis(500));
+        when(notificationRepository.updateAggregate(anyLong(), any(), anyInt(), anyString(), anyString())).thenReturn(1);
+        aggregator.onNotificationCreated(new NotificationCreatedEvent(origin(1L, "post-1")));
+        assertThat(aggregator.merge(request("bob", "post-1"), id -> true)).isNotNull();
+
+        Thread.sleep(600);
+
+        assertThat(aggregator.merge(request("carol", "post-1"), id -> true)).isNull();
+
+        // 만료된 창도 남은 합친 상태는 갱신하고 닫음
+        aggregator.flush();
+
+        verify(notificationRepository).updateAggregate(eq(1L), any(), eq(2), eq("bob"), anyString());
+
+        // 닫힌 뒤 커밋된 새 알림으로 다음 창이 열림
+        aggregator.onNotificationCreated(new NotificationCreatedEvent(origin(2L, "post-1")));
+        assertThat(aggregator.merge(request("carol", "post-1"), id -> true).getId()).isEqualTo(2L);
+    }
+
+    @Test
+    void countsMergeOnlyAfterCallerCommits() {
+        NotificationAggregator aggregator = aggregator(Duration.ofMinutes(1));
+        when(notificationRepository.updateAggregate(anyLong(), any(), anyInt(), anyString(), anyString())).thenReturn(1);
+        aggregator.onNotificationCreated(new NotificationCreatedEvent(origin(1L, "post-1")));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(aggregator.merge(request("bob", "post-1"), id -> true).getAggregateCount()).isEqualTo(2);
+            // 커밋 전에는 갱신하지 않음
+            aggregator.flush();
+            verify(notificationRepository, never()).updateAggregate(anyLong(), any(), anyInt(), anyString(), anyString());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // 롤백된 요청의 재시도는 한 번만 셈
+        assertThat(aggregator.merge(request("bob", "post-1"), id -> true).getAggregateCount()).isEqualTo(2);
+        aggregator.flush();
+
+        verify(notificationRepository).updateAggregate(1L, CREATED_AT, 2, "bob", "bob 님이 좋아합니다");
+    }
+
+    @Test
+    void keepsMergedStateWhenUpdateFails() {
+        NotificationAggregator aggregator = aggregator(Duration.ofMinutes(1));
+        when(notificationRepository.updateAggregate(anyLong(), any(), anyInt(), anyString(), anyString()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(1);
+        aggregator.onNotificationCreated(new NotificationCreatedEvent(origin(1L, "post-1")));
+        aggregator.merge(request("bob", "post-1"), id -> true);
+
+        aggregator.flush();
+        aggregator.flush();
+
+        verify(notificationRepository, times(2)).updateAggregate(1L, CREATED_AT, 2, "bob", "bob 님이 좋아합니다");
+        assertThat(events).singleElement()
+                .isInstanceOfSatisfying(NotificationsAggregatedEvent.class, event ->
+                        assertThat(event.notifications()).extracting(NotificationResponse::getAggregateCount).containsExactly(2));
+    }
+
+    @Test
+    void ignoresTypesOutsideAggregation() {
+        NotificationAggregator aggregator = aggregator(Duration.ofMinutes(1));
+        NotificationResponse chat = NotificationResponse.builder()
+                .id(1L).senderId("alice").receiverId("receiver").message("hi").type("chat")
+                .createdAt(CREATED_AT).groupKey("post-1").aggregateCount(1).build();
+
+        aggregator.onNotificationCreated(new NotificationCreatedEvent(chat));
+        aggregator.flush();
+
+        assertThat(aggregator.isAggregatable(new NotificationRequest("bob", "receiver", "hi", "chat", "post-1", null, null, null))).isFalse();
+        verify(notificationRepository, never()).updateAggregate(anyLong(), any(), anyInt(), anyString(), anyString());
+        assertThat(events).isEmpty();
+    }
+
+    private NotificationAggregator aggregator(Duration window) {
+        return new NotificationAggregator(notificationRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                events::add,
+                new SimpleMeterRegistry(),
+                Set.of("LIKE"),
+                window);
+    }
+
+    private static NotificationRequest request(String senderId, String groupKey) {
+        return new NotificationRequest(senderId, "receiver", senderId + " 님이 좋아합니다", "LIKE", groupKey, null, null, null);
+    }
+
+    private static NotificationResponse origin(long id, String groupKey) {
+        return NotificationResponse.builder()
+                .id(id)
+                .senderId("alice")
+                .receiverId("receiver")
+                .message("alice 님이 좋아합니다")
+                .type("LIKE")
+                .createdAt(CREATED_AT)
+                .groupKey(groupKey)
+                .aggregateCount(1)
+                .build();
+    }
+}
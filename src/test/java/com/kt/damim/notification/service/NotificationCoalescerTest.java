@@ -0,0 +1,143 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.dto.NotificationResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationCoalescerTest {
+
+    private final BlockingQueue<Flushed> flushed = new LinkedBlockingQueue<>();
+    private final List<Long> superseded = new ArrayList<>();
+    private NotificationCoalescer coalescer;
+
+    @AfterEach
+    void shutdown() {
+        if (coalescer != null) {
+            coalescer.shutdown();
+        }
+    }
+
+    @Test
+    void flushesOnCallerThreadWhenBatchIsFull() {
+        coalescer = coalescer(60_000, 3, false);
+
+        coalescer.submit(notification(1, "alice", "chat"));
+        coalescer.submit(notification(2, "alice", "chat"));
+        assertThat(flushed).isEmpty();
+
+        coalescer.submit(notification(3, "alice", "chat"));
+
+        Flushed batch = flushed.poll();
+        assertThat(batch.receiverId()).isEqualTo("alice");
+        assertThat(ids(batch)).containsExactly(1L, 2L, 3L);
+        assertThat(batch.thread()).isEqualTo(Thread.currentThread().getName());
+        assertThat(batch.handedOff()).isFalse();
+    }
+
+    @Test
+    void handsOffPartialBatchAfterMaxDelay() throws InterruptedException {
+        coalescer = coalescer(50, 100, false);
+
+        coalescer.submit(notification(1, "alice", "chat"));
+        coalescer.submit(notification(2, "bob", "chat"));
+        coalescer.submit(notification(3, "alice", "chat"));
+
+        List<Flushed> batches = List.of(poll(), poll());
+        assertThat(batches).extracting(Flushed::thread).containsOnly("notification-coalescer");
+        assertThat(batches).extracting(Flushed::handedOff).containsOnly(true);
+        assertThat(batches).filteredOn(batch -> batch.receiverId().equals("alice"))
+                .singleElement().satisfies(batch -> assertThat(ids(batch)).containsExactly(1L, 3L));
+        assertThat(batches).filteredOn(batch -> batch.receiverId().equals("bob"))
+                .singleElement().satisfies(batch -> assertThat(ids(batch)).containsExactly(2L));
+    }
+
+    @Test
+    void ignoresTimerOfBatchAlreadyFlushedBySize() throws InterruptedException {
+        coalescer = coalescer(50, 1, false);
+
+        coalescer.submit(notification(1, "alice", "chat"));
+
+        assertThat(ids(flushed.poll())).containsExactly(1L);
+        assertThat(flushed.poll(150, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void collapsesSameTypeToLatestAndReportsSuperseded() {
+        coalescer = coalescer(60_000, 100, true);
+
+        coalescer.submit(notification(1, "alice", "unread"));
+        coalescer.submit(notification(2, "alice", "chat"));
+        coalescer.submit(notification(3, "alice", "unread"));
+
+        assertThat(superseded).containsExactly(1L);
+
+        coalescer.shutdown();
+
+        // 합쳐진 알림은 배치 끝으로 이동
+        assertThat(ids(flushed.poll())).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void keepsEveryNotificationWithoutCollapse() {
+        coalescer = coalescer(60_000, 100, false);
+
+        coalescer.submit(notification(1, "alice", "unread"));
+        coalescer.submit(notification(2, "alice", "unread"));
+        coalescer.shutdown();
+
+        assertThat(superseded).isEmpty();
+        assertThat(ids(flushed.poll())).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void countsCollapsedItemsOnceTowardsBatchSize() {
+        coalescer = coalescer(60_000, 2, true);
+
+        coalescer.submit(notification(1, "alice", "unread"));
+        coalescer.submit(notification(2, "alice", "unread"));
+        assertThat(flushed).isEmpty();
+
+        coalescer.submit(notification(3, "alice", "chat"));
+
+        assertThat(ids(flushed.poll())).containsExactly(2L, 3L);
+    }
+
+    private NotificationCoalescer coalescer(long maxDelayMillis, int maxBatchSize, boolean collapseByType) {
+        return new NotificationCoalescer(maxDelayMillis, maxBatchSize, collapseByType,
+                (receiverId, items) -> flushed.add(new Flushed(receiverId, items, Thread.currentThread().getName(), false)),
+                (receiverId, items) -> flushed.add(new Flushed(receiverId, items, Thread.currentThread().getName(), true)),
+                notification -> superseded.add(notification.getId()));
+    }
+
+    private Flushed poll() throws InterruptedException {
+        Flushed batch = flushed.poll(5, TimeUnit.SECONDS);
+        assertThat(batch).isNotNull();
+        return batch;
+    }
+
+    private static NotificationResponse notification(long id, String receiverId, String type) {
+        return NotificationResponse.builder()
+                .id(id)
+                .senderId("sender")
+                .receiverId(receiverId)
+                .message("message-" + id)
+                .type(type)
+                .aggregateCount(1)
+                .build();
+    }
+
+    private static List<Long> ids(Flushed batch) {
+        return batch.items().stream().map(NotificationResponse::getId).toList();
+    }
+
+    private record Flushed(String receiverId, List<NotificationResponse> items, String thread, boolean handedOff) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.kt.damim.notification.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kt.damim.notification.dto.NotificationResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationPayloadEncoderTest {
+
+    // Spring Boot 기본 설정과 같이 날짜를 ISO 문자열로 직렬화
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final NotificationPayloadEncoder encoder = new NotificationPayloadEncoder(objectMapper);
+
+    @Test
+    void multicastPayloadMatchesSingleSerialization() throws Exception {
+        NotificationResponse template = notification(1L, "bob", LocalDateTime.of(2024, 1, 1, 9, 0));
+        NotificationResponse carol = notification(2L, "carol \"c\"", LocalDateTime.of(2024, 1, 1, 9, 0, 1, 5_000_000));
+
+        byte[] payload = encoder.prepareMulticast(template).forReceiver(carol.getId(), carol.getReceiverId(), carol.getCreatedAt());
+
+        assertThat(new String(payload, StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(carol));
+    }
+
+    @Test
+    void keepsFieldOrderWithNullReceiverFields() throws Exception {
+        NotificationResponse template = notification(null, "bob", null);
+
+        byte[] payload = encoder.prepareMulticast(template).forReceiver(null, "bob", null);
+
+        assertThat(new String(payload, StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(template));
+    }
+
+    private static NotificationResponse notification(Long id, String receiverId, LocalDateTime createdAt) {
+        return NotificationResponse.builder()
+                .id(id)
+                .senderId("alice")
+                .receiverId(receiverId)
+                .message("새 댓글: \"안녕\"")
+                .type("comment")
+                .createdAt(createdAt)
+                .groupKey("post-1")
+                .aggregateCount(1)
+                .build();
+    }
+}
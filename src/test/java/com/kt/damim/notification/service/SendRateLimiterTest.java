@@ -0,0 +1,88 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SendRateLimiterTest {
+
+    // 초당 1개라 테스트 중에는 토큰이 다시 채워지지 않음
+    private final SendRateLimiter limiter = new SendRateLimiter(
+            new NotificationPriorityClassifier(Set.of("urgent"), Set.of()),
+            new SimpleMeterRegistry(),
+            true, 1, 5, 1, 3, 1000, Duration.ofMinutes(5));
+
+    @Test
+    void rejectsOnceBurstIsSpent() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("sender-" + i, "receiver", "chat");
+        }
+
+        assertThatThrownBy(() -> limiter.acquire("sender-3", "receiver", "chat"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessageContaining("receiverId=receiver");
+    }
+
+    @Test
+    void keepsBucketsPerSender() {
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("sender", "receiver-" + i, "chat");
+        }
+
+        assertThatThrownBy(() -> limiter.acquire("sender", "receiver-5", "chat"))
+                .hasMessageContaining("senderId=sender");
+        assertThatCode(() -> limiter.acquire("other", "receiver-5", "chat")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void admitsBatchLargerThanBurstOnFullBucketAndChargesTheRest() {
+        assertThatCode(() -> limiter.acquireAll(Map.of("sender", 500), Map.of()))
+                .doesNotThrowAnyException();
+
+        assertThatThrownBy(() -> limiter.acquire("sender", "receiver", "chat"))
+                .hasMessageContaining("senderId=sender");
+    }
+
+    @Test
+    void rejectsBatchLargerThanBurstOnPartiallySpentBucket() {
+        limiter.acquire("sender", "receiver", "chat");
+
+        assertThatThrownBy(() -> limiter.acquireAll(Map.of("sender", 500), Map.of()))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void skipsHighPriorityTypes() {
+        assertThat(limiter.isLimited("urgent")).isFalse();
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire("sender", "receiver", "urgent");
+        }
+        assertThat(limiter.isLimited("chat")).isTrue();
+    }
+
+    @Test
+    void refillsAfterInterval() throws InterruptedException {
+        SendRateLimiter.BucketSpec spec = new SendRateLimiter.BucketSpec(TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(2));
+        AtomicLong bucket = new AtomicLong();
+        // 첫 두 번 사이에 1ms 가 지나 세 번째도 통과할 수 있으므로 거부될 때까지 소진
+        int admitted = 0;
+        while (SendRateLimiter.tryAcquire(bucket, spec, 1)) {
+            admitted++;
+        }
+        assertThat(admitted).isGreaterThanOrEqualTo(2);
+
+        Thread.sleep(5);
+
+        assertThat(SendRateLimiter.tryAcquire(bucket, spec, 1)).isTrue();
+    }
+}
@@ -0,0 +1,43 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.event.UserPresenceChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionRegistryTest {
+
+    private final List<Object> events = new ArrayList<>();
+    private final SessionRegistry registry = new SessionRegistry(events::add);
+
+    @Test
+    void publishesPresenceOnFirstAndLastSession() {
+        registry.bind("s1", "user");
+        registry.bind("s2", "user");
+        registry.bind("s1", "user");
+        registry.disconnect("s1");
+
+        assertThat(registry.isOnline("user")).isTrue();
+        assertThat(registry.getSessionIds("user")).containsExactly("s2");
+
+        registry.disconnect("s2");
+
+        assertThat(registry.isOnline("user")).isFalse();
+        assertThat(events).containsExactly(
+                new UserPresenceChangedEvent("user", true),
+                new UserPresenceChangedEvent("user", false));
+    }
+
+    @Test
+    void movesSessionWhenReboundToAnotherUser() {
+        registry.bind("s1", "a");
+        registry.bind("s1", "b");
+
+        assertThat(registry.isOnline("a")).isFalse();
+        assertThat(registry.getSessionIds("b")).containsExactly("s1");
+        assertThat(registry.getUserId("s1")).isEqualTo("b");
+    }
+}
@@ -0,0 +1,100 @@
+package com.kt.damim.notification.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final long TICK = 100;
+
+    @Test
+    void expiresOnDeadlineTickAtEveryLevel() {
+        TimingWheel wheel = new TimingWheel(TICK, 0);
+        // 레벨 0, 1, 2, 3 에 들어가는 지연
+        long[] deadlines = {5 * TICK, 100 * TICK, 5_000 * TICK, 300_000 * TICK};
+        for (int i = 0; i < deadlines.length; i++) {
+            assertThat(wheel.add(i, deadlines[i])).isTrue();
+        }
+
+        for (int i = 0; i < deadlines.length; i++) {
+            assertThat(advance(wheel, deadlines[i] - TICK)).isEmpty();
+            assertThat(advance(wheel, deadlines[i])).containsExactly((long) i);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cascadesTimerWhoseSlotWasAlreadyPassed() {
+        // 현재 레벨 1 칸과 같은 칸에 들어가 한 바퀴 뒤에 다시 내려와야 하는 타이머
+        TimingWheel wheel = new TimingWheel(TICK, 65 * TICK);
+        long deadline = (65 + 4_095) * TICK;
+        wheel.add(1, deadline);
+
+        assertThat(advance(wheel, deadline - TICK)).isEmpty();
+        assertThat(advance(wheel, deadline)).containsExactly(1L);
+    }
+
+    @Test
+    void roundsDeadlineUpToNextTick() {
+        TimingWheel wheel = new TimingWheel(TICK, 0);
+        wheel.add(1, 3 * TICK + 1);
+
+        assertThat(advance(wheel, 3 * TICK + 50)).isEmpty();
+        assertThat(advance(wheel, 4 * TICK)).containsExactly(1L);
+    }
+
+    @Test
+    void acceptsDeadlinesUpToHorizon() {
+        TimingWheel wheel = new TimingWheel(TICK, 0);
+
+        assertThat(wheel.add(1, wheel.horizonMillis())).isTrue();
+        assertThat(wheel.add(2, wheel.horizonMillis() + TICK)).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        assertThat(advance(wheel, wheel.horizonMillis() - TICK)).isEmpty();
+        assertThat(advance(wheel, wheel.horizonMillis())).containsExactly(1L);
+    }
+
+    @Test
+    void expiresPastDeadlineOnNextTick() {
+        TimingWheel wheel = new TimingWheel(TICK, 10 * TICK);
+        wheel.add(1, 2 * TICK);
+
+        assertThat(advance(wheel, 10 * TICK)).isEmpty();
+        assertThat(advance(wheel, 11 * TICK)).containsExactly(1L);
+    }
+
+    @Test
+    void cancelsTimerWithoutDisturbingSlotNeighbours() {
+        TimingWheel wheel = new TimingWheel(TICK, 0);
+        wheel.add(1, 200 * TICK);
+        wheel.add(2, 200 * TICK);
+        wheel.add(3, 200 * TICK);
+
+        assertThat(wheel.cancel(2)).isTrue();
+        assertThat(wheel.cancel(2)).isFalse();
+        assertThat(wheel.size()).isEqualTo(2);
+
+        assertThat(advance(wheel, 200 * TICK)).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(wheel.cancel(1)).isFalse();
+    }
+
+    @Test
+    void keepsFirstDeadlineForDuplicateId() {
+        TimingWheel wheel = new TimingWheel(TICK, 0);
+        wheel.add(1, 5 * TICK);
+
+        assertThat(wheel.add(1, 50 * TICK)).isFalse();
+        assertThat(advance(wheel, 5 * TICK)).containsExactly(1L);
+    }
+
+    private static List<Long> advance(TimingWheel wheel, long nowMillis) {
+        List<Long> expired = new ArrayList<>();
+        wheel.advance(nowMillis, expired::add);
+        return expired;
+    }
+}
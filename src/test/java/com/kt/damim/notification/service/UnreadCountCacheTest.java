@@ -0,0 +1,107 @@
+package com.kt.damim.notification.service;
+
+import com.kt.damim.notification.dto.NotificationResponse;
+import com.kt.damim.notification.dto.UnreadCountResponse;
+import com.kt.damim.notification.event.NotificationCreatedEvent;
+import com.kt.damim.notification.event.NotificationsReadEvent;
+import com.kt.damim.notification.repository.NotificationRepository;
+import com.kt.damim.notification.retention.RetentionWindow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UnreadCountCacheTest {
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final NotificationSessionService notificationSessionService = mock(NotificationSessionService.class);
+    private final NotificationDispatcher notificationDispatcher = mock(NotificationDispatcher.class);
+    // 전송 워커에 넘긴 push 작업, run 하기 전까지 요청 스레드에서 보내지 않음
+    private final List<Runnable> pushes = new ArrayList<>();
+    private final UnreadCountCache cache = new UnreadCountCache(notificationRepository, notificationSessionService, notificationDispatcher,
+            new RetentionWindow(12), new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void adjustsCountLoadedBeforeCommitAndPushesOnWorker() {
+        when(notificationRepository.countUnreadNotifications(eq("bob"), any())).thenReturn(3L);
+        when(notificationSessionService.isOnline("bob")).thenReturn(true);
+        doAnswer(invocation -> pushes.add(invocation.getArgument(0))).when(notificationDispatcher).execute(any(Runnable.class));
+        assertThat(cache.get("bob")).isEqualTo(3L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.onNotificationCreated(new NotificationCreatedEvent(List.of(notification(1L, "bob"), notification(2L, "bob"))));
+        commit();
+
+        assertThat(cache.get("bob")).isEqualTo(5L);
+        verify(notificationSessionService, never()).sendMessageToUser(any(), any(), any());
+
+        pushes.forEach(Runnable::run);
+
+        verify(notificationSessionService).sendMessageToUser("bob", "/topic/notifications/bob/unread-count", new UnreadCountResponse("bob", 5L));
+    }
+
+    @Test
+    void recountsInsteadOfAdjustingCountLoadedDuringCommit() {
+        when(notificationRepository.countUnreadNotifications(eq("bob"), any())).thenReturn(5L, 4L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.onNotificationsRead(new NotificationsReadEvent("bob", 1));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        // 커밋 직전 이후에 센 값은 이미 읽음이 반영됐을 수 있음
+        assertThat(cache.get("bob")).isEqualTo(5L);
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(cache.get("bob")).isEqualTo(4L);
+    }
+
+    @Test
+    void ignoresRolledBackChanges() {
+        when(notificationRepository.countUnreadNotifications(eq("bob"), any())).thenReturn(3L);
+        assertThat(cache.get("bob")).isEqualTo(3L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.onNotificationCreated(new NotificationCreatedEvent(notification(1L, "bob")));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(cache.get("bob")).isEqualTo(3L);
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static NotificationResponse notification(long id, String receiverId) {
+        return NotificationResponse.builder()
+                .id(id)
+                .senderId("alice")
+                .receiverId(receiverId)
+                .message("message-" + id)
+                .type("chat")
+                .build();
+    }
+}
@@ -0,0 +1,260 @@
+package com.kt.damim.notification.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.kt.damim.notification.dto.NotificationSummaryResponse;
+import com.kt.damim.notification.service.CborPayloadEncoder;
+import com.kt.damim.notification.service.PayloadEncoding;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BackpressureSessionDecoratorTest {
+
+    private static final String NOTIFICATIONS = "/topic/notifications/alice";
+    private static final String UNREAD_COUNT = "/topic/notifications/alice/unread-count";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NativeWebSocketSession session = mock(NativeWebSocketSession.class);
+    private final RemoteEndpoint.Async asyncRemote = mock(RemoteEndpoint.Async.class);
+    // 보낸 프레임과 완료 콜백, complete 를 호출하기 전까지 전송 중으로 남음
+    private final List<String> sent = new ArrayList<>();
+    private final List<SendHandler> handlers = new ArrayList<>();
+    private OutboundBackpressure backpressure;
+
+    @BeforeEach
+    void recordSends() {
+        doAnswer(invocation -> {
+            sent.add(invocation.getArgument(0));
+            handlers.add(invocation.getArgument(1));
+            return null;
+        }).when(asyncRemote).sendText(anyString(), any());
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (backpressure != null) {
+            backpressure.shutdown();
+        }
+    }
+
+    @Test
+    void sendsOneFrameAtATime() throws IOException {
+        BackpressureSessionDecorator decorator = decorator(10, SlowConsumerPolicy.DROP_OLDEST);
+
+        decorator.sendMessage(message(NOTIFICATIONS, "sub-1", "1"));
+        decorator.sendMessage(message(NOTIFICATIONS, "sub-1", "2"));
+
+        assertThat(sent).hasSize(1);
+        assertThat(decorator.backlog()).isEqualTo(2);
+        assertThat(decorator.lagNanos(System.nanoTime())).isPositive();
+
+        complete(0);
+        complete(1);
+
+        assertThat(bodies()).containsExactly("1", "2");
+        assertThat(decorator.backlog()).isZero();
+        assertThat(meterRegistry.get("notification.websocket.outbound.lag").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void drainsInlineWhenContainerCompletesOnCallerThread() throws IOException {
+        doAnswer(invocation -> {
+            sent.add(invocation.getArgument(0));
+            invocation.<SendHandler>getArgument(1).onResult(new SendResult());
+            return null;
+        }).when(asyncRemote).sendText(anyString(), any());
+        BackpressureSessionDecorator decorator = decorator(10, SlowConsumerPolicy.DROP_OLDEST);
+
+        for (int i = 0; i < 3; i++) {
+            decorator.sendMessage(message(NOTIFICATIONS, "sub-1", String.valueOf(i)));
+        }
+
+        assertThat(bodies()).containsExactly("0", "1", "2");
+        assertThat(decorator.backlog()).isZero();
+    }
+
+    @Test
+    void dropsOldestMessageFrameButKeepsControlFrames() throws IOException {
+        BackpressureSessionDecorator decorator = decorator(2, SlowConsumerPolicy.DROP_OLDEST);
+        decorator.sendMessage(message(NOTIFICATIONS, "sub-1", "in-flight"));
+
+        decorator.sendMessage(new TextMessage("RECEIPT\nreceipt-id:r-1\n\n\0"));
+        decorator.sendMessage(message(NOTIFICATIONS, "sub-1", "1"));
+        decorator.sendMessage(message(NOTIFICATIONS, "sub-1", "2"));
+
+        assertThat(decorator.backlog()).isEqualTo(3);
+        assertThat(meterRegistry.get("notification.websocket.outbound.overflow").tag("outcome", "dropped").counter().count())
+                .isEqualTo(1);
+
+        complete(0);
+        complete(1);
+        complete(2);
+
+        // RECEIPT 는 본문 없음
+        assertThat(sent.get(1)).startsWith("RECEIPT");
+        assertThat(bodies()).containsExactly("in-flight", "", "2");
+    }
+
+    @Test
+    void collapsesNotificationsIntoSummaryAndKeepsLatestCount() throws IOException {
+        BackpressureSessionDecorator decorator = decorator(3, SlowConsumerPolicy.COLLAPSE);
+        decorator.sendMessage(message(NOTIFICATIONS, "sub-1", "in-flight"));
+
+        decorator.sendMessage(message(NOTIFICATIONS, "sub-1", "1"));
+        decorator.sendMessage(message(UNREAD_COUNT, "sub-2", "{\"count\":1}"));
+        decorator.sendMessage(message(NOTIFICATIONS, "sub-1", "2"));
+        decorator.sendMessage(message(UNREAD_COUNT, "sub-2", "{\"count\":2}"));
+
+        assertThat(decorator.backlog()).isEqualTo(3);
+        assertThat(meterRegistry.get("notification.websocket.outbound.overflow").tag("outcome", "collapsed").counter().count())
+                .isEqualTo(2);
+
+        complete(0);
+        complete(1);
+
+        assertThat(bodies().get(1)).isEqualTo("{\"count\":2}");
+        StompHeaderAccessor summary = backpressure.decodeHeaders(sent.get(2).getBytes(StandardCharsets.UTF_8));
+        assertThat(summary.getSubscriptionId()).isEqualTo("sub-1");
+        assertThat(summary.getDestination()).isEqualTo(NOTIFICATIONS);
+        assertThat(summary.getFirstNativeHeader(OutboundBackpressure.SUMMARY_HEADER)).isEqualTo("2");
+    }
+
+    @Test
+    void encodesSummaryWithSubscriptionEncoding() throws IOException {
+        List<ByteBuffer> binaries = new ArrayList<>();
+        doAnswer(invocation -> {
+            binaries.add(invocation.getArgument(0));
+            handlers.add(invocation.getArgument(1));
+            return null;
+        }).when(asyncRemote).sendBinary(any(), any());
+        BackpressureSessionDecorator decorator = decorator(1, SlowConsumerPolicy.COLLAPSE);
+        decorator.sendMessage(message(NOTIFICATIONS, "sub-1", "in-flight"));
+
+        decorator.sendMessage(cborMessage(NOTIFICATIONS, "sub-1", "1"));
+        decorator.sendMessage(cborMessage(NOTIFICATIONS, "sub-1", "2"));
+
+        complete(0);
+
+        byte[] frame = new byte[binaries.get(0).remaining()];
+        binaries.get(0).get(frame);
+        StompHeaderAccessor summary = backpressure.decodeHeaders(frame);
+        assertThat(summary.getContentType()).isEqualTo(PayloadEncoding.CBOR.getMediaType());
+        assertThat(summary.getFirstNativeHeader(OutboundBackpressure.SUMMARY_HEADER)).isEqualTo("2");
+        // 헤더 뒤 빈 줄부터 끝의 NULL 전까지가 본문
+        int bodyStart = new String(frame, StandardCharsets.ISO_8859_1).indexOf("\n\n") + 2;
+        NotificationSummaryResponse body = new ObjectMapper(new CBORFactory()).readValue(frame, bodyStart, frame.length - 1 - bodyStart, NotificationSummaryResponse.class);
+        assertThat(body.getMissedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void closesSessionWhenQueueOverflowsUnderDisconnectPolicy() throws IOException {
+        BackpressureSessionDecorator decorator = decorator(1, SlowConsumerPolicy.DISCONNECT);
+        decorator.sendMessage(message(NOTIFICATIONS, "sub-1", "in-flight"));
+        decorator.sendMessage(message(NOTIFICATIONS, "sub-1", "1"));
+
+        decorator.sendMessage(message(NOTIFICATIONS, "sub-1", "2"));
+
+        verify(session, timeout(1000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        // 닫힌 뒤 들어온 프레임은 버림
+        decorator.sendMessage(message(NOTIFICATIONS, "sub-1", "3"));
+        assertThat(decorator.backlog()).isEqualTo(1);
+        assertThat(sent).hasSize(1);
+    }
+
+    @Test
+    void closesOpenSessionWhenSendFails() throws IOException {
+        when(session.isOpen()).thenReturn(true);
+        BackpressureSessionDecorator decorator = decorator(10, SlowConsumerPolicy.DROP_OLDEST);
+        decorator.sendMessage(message(NOTIFICATIONS, "sub-1", "1"));
+        decorator.sendMessage(message(NOTIFICATIONS, "sub-1", "2"));
+
+        handlers.get(0).onResult(new SendResult(new IOException("timeout")));
+
+        verify(session, timeout(1000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(decorator.backlog()).isZero();
+        assertThat(sent).hasSize(1);
+    }
+
+    @Test
+    void sendsSynchronouslyWithoutNativeSession() throws IOException {
+        backpressure = backpressure(10, SlowConsumerPolicy.DROP_OLDEST);
+        BackpressureSessionDecorator decorator = new BackpressureSessionDecorator(session, backpressure);
+        TextMessage message = message(NOTIFICATIONS, "sub-1", "1");
+
+        decorator.sendMessage(message);
+
+        verify(session).sendMessage(message);
+        verify(asyncRemote, never()).sendText(anyString(), any());
+    }
+
+    private BackpressureSessionDecorator decorator(int queueLimit, SlowConsumerPolicy policy) {
+        Session nativeSession = mock(Session.class);
+        when(nativeSession.getAsyncRemote()).thenReturn(asyncRemote);
+        when(session.getNativeSession(Session.class)).thenReturn(nativeSession);
+        backpressure = backpressure(queueLimit, policy);
+        BackpressureSessionDecorator decorator = new BackpressureSessionDecorator(session, backpressure);
+        verify(asyncRemote).setSendTimeout(10_000L);
+        return decorator;
+    }
+
+    private OutboundBackpressure backpressure(int queueLimit, SlowConsumerPolicy policy) {
+        return new OutboundBackpressure(new CborPayloadEncoder(new ObjectMapper(), Jackson2ObjectMapperBuilder.json()), meterRegistry, true, queueLimit, policy, Duration.ofSeconds(10));
+    }
+
+    private void complete(int index) {
+        handlers.get(index).onResult(new SendResult());
+    }
+
+    private List<String> bodies() {
+        return sent.stream().map(frame -> frame.substring(frame.indexOf("\n\n") + 2, frame.length() - 1)).toList();
+    }
+
+    private static BinaryMessage cborMessage(String destination, String subscriptionId, String body) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setDestination(destination);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setMessageId(body);
+        accessor.setContentType(PayloadEncoding.CBOR.getMediaType());
+        return new BinaryMessage(new StompEncoder().encode(accessor.getMessageHeaders(), body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static TextMessage message(String destination, String subscriptionId, String body) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setDestination(destination);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setMessageId(body);
+        byte[] frame = new StompEncoder().encode(accessor.getMessageHeaders(), body.getBytes(StandardCharsets.UTF_8));
+        return new TextMessage(frame);
+    }
+}